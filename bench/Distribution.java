@@ -0,0 +1,96 @@
+package bench;
+
+import java.util.Random;
+
+/**
+ * The Distribution enum, the orders the benchmark inputs can come in.
+ *
+ * SORTED and RANDOM are the two kinds of data files of the HeapDriver class
+ * (data_sorted.txt and data_random.txt), scaled up to any size. REVERSED is
+ * the worst case of the optimal build method, and the best case of the
+ * sequential one. DUPLICATES draws every value from a small range, so most
+ * comparisons are ties.
+ *
+ * The inputs are generated from a fixed seed, so every run of a benchmark sees
+ * the same values.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public enum Distribution {
+
+    /**
+     * 1, 2, 3, ..., n, like data_sorted.txt.
+     */
+    SORTED,
+
+    /**
+     * n, n - 1, ..., 1.
+     */
+    REVERSED,
+
+    /**
+     * Random values between 1 and 1000 (for 100 values) or up to 10 times the
+     * size, like data_random.txt.
+     */
+    RANDOM,
+
+    /**
+     * Random values between 0 and DUPLICATE_RANGE.
+     */
+    DUPLICATES;
+
+    /**
+     * The number of different values of the DUPLICATES distribution.
+     */
+    private static final int DUPLICATE_RANGE = 16;
+
+    /**
+     * The seed of every generated input.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * Generates an input of this distribution.
+     *
+     * @param size the number of values.
+     * @return the values.
+     */
+    public int[] generate(int size) {
+        Random random = new Random(SEED);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            switch (this) {
+                case SORTED:
+                    values[i] = i + 1;
+                    break;
+                case REVERSED:
+                    values[i] = size - i;
+                    break;
+                case RANDOM:
+                    values[i] = 1 + random.nextInt(Math.max(1000, size * 10));
+                    break;
+                default:
+                    values[i] = random.nextInt(DUPLICATE_RANGE);
+                    break;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Generates an input of this distribution, boxed for the generic heaps and
+     * lists.
+     *
+     * @param size the number of values.
+     * @return the values.
+     */
+    public Integer[] generateBoxed(int size) {
+        int[] values = generate(size);
+        Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            boxed[i] = values[i];
+        }
+        return boxed;
+    }
+}
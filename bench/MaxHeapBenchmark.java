@@ -0,0 +1,267 @@
+package bench;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import src.BuildMethod;
+import src.MaxHeap;
+
+/**
+ * The MaxHeapBenchmark class, the JMH benchmarks of the MaxHeap class next to
+ * java.util.PriorityQueue.
+ *
+ * Every benchmark runs for every size and every Distribution of the input, and
+ * reports the average time of one call of the benchmark method:
+ * - buildSequential, buildOptimal and buildPriorityQueue build a heap from the
+ * whole input (the two MaxHeap constructors, and the O(n) heapify of a
+ * PriorityQueue built from a Collection).
+ * - addAll and addAllPriorityQueue add the input one entry at a time.
+ * - removeAll and removeAllPriorityQueue empty a heap of the whole input.
+ * - removeTenth and removeTenthPriorityQueue remove a tenth of the heap, with
+ * MaxHeap.remove(int).
+ * - addRemove and addRemovePriorityQueue add one entry and remove the max from
+ * a heap that stays at its size, the steady state of a priority queue.
+ *
+ * PriorityQueue keeps the smallest entry at the top, so it is given a reversed
+ * Comparator to behave like a MaxHeap.
+ *
+ * The remove benchmarks need a full heap for every call, so their heaps are
+ * rebuilt before every call (Level.Invocation). That is only precise for calls
+ * that take well over a microsecond, which is why the smallest size is 1000.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MaxHeapBenchmark {
+
+    /**
+     * The number of entries of the input.
+     */
+    @Param({ "1000", "100000", "1000000" })
+    public int size;
+
+    /**
+     * The order of the input.
+     */
+    @Param({ "SORTED", "REVERSED", "RANDOM", "DUPLICATES" })
+    public Distribution distribution;
+
+    /**
+     * The input.
+     */
+    private Integer[] items;
+
+    /**
+     * The heap of the steady state benchmark.
+     */
+    private MaxHeap<Integer> steadyHeap;
+
+    /**
+     * The PriorityQueue of the steady state benchmark.
+     */
+    private PriorityQueue<Integer> steadyQueue;
+
+    /**
+     * The index of the next entry the steady state benchmarks add.
+     */
+    private int next;
+
+    /**
+     * Generates the input, and the heaps of the steady state benchmarks.
+     */
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        items = distribution.generateBoxed(size);
+        steadyHeap = new MaxHeap<>(items, BuildMethod.OPTIMAL);
+        steadyQueue = new PriorityQueue<>(size, Collections.reverseOrder());
+        steadyQueue.addAll(Arrays.asList(items));
+        next = 0;
+    }
+
+    /**
+     * The full heaps the remove benchmarks empty. They are a separate State, so
+     * only the remove benchmarks pay for rebuilding them before every call.
+     */
+    @State(Scope.Thread)
+    public static class FullHeaps {
+
+        /**
+         * The heap the remove benchmarks empty.
+         */
+        MaxHeap<Integer> heap;
+
+        /**
+         * The PriorityQueue the remove benchmarks empty.
+         */
+        PriorityQueue<Integer> queue;
+
+        /**
+         * Builds both heaps from the input.
+         *
+         * @param input the benchmark, which holds the input.
+         */
+        @Setup(Level.Invocation)
+        public void fill(MaxHeapBenchmark input) {
+            heap = new MaxHeap<>(input.items, BuildMethod.OPTIMAL);
+            queue = new PriorityQueue<>(input.size, Collections.reverseOrder());
+            queue.addAll(Arrays.asList(input.items));
+        }
+    }
+
+    /**
+     * Builds a MaxHeap with the sequential method.
+     *
+     * @return the heap.
+     */
+    @Benchmark
+    public MaxHeap<Integer> buildSequential() {
+        return new MaxHeap<>(items, BuildMethod.SEQUENTIAL);
+    }
+
+    /**
+     * Builds a MaxHeap with the optimal method.
+     *
+     * @return the heap.
+     */
+    @Benchmark
+    public MaxHeap<Integer> buildOptimal() {
+        return new MaxHeap<>(items, BuildMethod.OPTIMAL);
+    }
+
+    /**
+     * Builds a PriorityQueue from a List, which heapifies it in O(n) (in the
+     * natural order, since that constructor doesn't take a Comparator).
+     *
+     * @return the PriorityQueue.
+     */
+    @Benchmark
+    public PriorityQueue<Integer> buildPriorityQueue() {
+        return new PriorityQueue<>(Arrays.asList(items));
+    }
+
+    /**
+     * Adds the input to an empty MaxHeap, one entry at a time.
+     *
+     * @return the heap.
+     */
+    @Benchmark
+    public MaxHeap<Integer> addAll() {
+        MaxHeap<Integer> heap = new MaxHeap<>(size);
+        for (Integer item : items) {
+            heap.add(item);
+        }
+        return heap;
+    }
+
+    /**
+     * Adds the input to an empty PriorityQueue, one entry at a time.
+     *
+     * @return the PriorityQueue.
+     */
+    @Benchmark
+    public PriorityQueue<Integer> addAllPriorityQueue() {
+        PriorityQueue<Integer> queue = new PriorityQueue<>(size, Collections.reverseOrder());
+        for (Integer item : items) {
+            queue.add(item);
+        }
+        return queue;
+    }
+
+    /**
+     * Removes every entry of a full MaxHeap.
+     *
+     * @param full      the full heaps.
+     * @param blackhole consumes the removed entries.
+     */
+    @Benchmark
+    public void removeAll(FullHeaps full, Blackhole blackhole) {
+        while (!full.heap.isEmpty()) {
+            blackhole.consume(full.heap.remove());
+        }
+    }
+
+    /**
+     * Removes every entry of a full PriorityQueue.
+     *
+     * @param full      the full heaps.
+     * @param blackhole consumes the removed entries.
+     */
+    @Benchmark
+    public void removeAllPriorityQueue(FullHeaps full, Blackhole blackhole) {
+        while (!full.queue.isEmpty()) {
+            blackhole.consume(full.queue.poll());
+        }
+    }
+
+    /**
+     * Removes a tenth of a full MaxHeap with remove(int).
+     *
+     * @param full the full heaps.
+     * @return the heap.
+     */
+    @Benchmark
+    public MaxHeap<Integer> removeTenth(FullHeaps full) {
+        full.heap.remove(size / 10);
+        return full.heap;
+    }
+
+    /**
+     * Removes a tenth of a full PriorityQueue.
+     *
+     * @param full the full heaps.
+     * @return the PriorityQueue.
+     */
+    @Benchmark
+    public PriorityQueue<Integer> removeTenthPriorityQueue(FullHeaps full) {
+        for (int i = 0; i < size / 10; i++) {
+            full.queue.poll();
+        }
+        return full.queue;
+    }
+
+    /**
+     * Adds an entry of the input to a MaxHeap and removes its max.
+     *
+     * @return the removed entry.
+     */
+    @Benchmark
+    public Integer addRemove() {
+        steadyHeap.add(items[next]);
+        next = next + 1 == size ? 0 : next + 1;
+        return steadyHeap.remove();
+    }
+
+    /**
+     * Adds an entry of the input to a PriorityQueue and removes its max.
+     *
+     * @return the removed entry.
+     */
+    @Benchmark
+    public Integer addRemovePriorityQueue() {
+        steadyQueue.add(items[next]);
+        next = next + 1 == size ? 0 : next + 1;
+        return steadyQueue.poll();
+    }
+}
@@ -0,0 +1,267 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import src.ResizeableList;
+
+/**
+ * The ResizeableListBenchmark class, the JMH benchmarks of the ResizeableList
+ * class next to java.util.ArrayList.
+ *
+ * Every benchmark runs for every size and every Distribution of the entries:
+ * - append adds every entry to the end of an empty list (with the default
+ * capacity, so the list grows along the way).
+ * - insertFront adds every entry at the start of an empty list, which shifts
+ * the whole list each time.
+ * - getAll reads every entry by index.
+ * - removeAll removes the last entry until the list is empty.
+ * - contains looks for an entry in the middle of the list, and for one that
+ * isn't in it.
+ * Each has an ArrayList twin, with the same name followed by ArrayList.
+ *
+ * The sizes stay under ResizeableList.MAX_CAPACITY.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ResizeableListBenchmark {
+
+    /**
+     * The number of entries.
+     */
+    @Param({ "100", "1000", "5000" })
+    public int size;
+
+    /**
+     * The order of the entries.
+     */
+    @Param({ "SORTED", "RANDOM", "DUPLICATES" })
+    public Distribution distribution;
+
+    /**
+     * The entries.
+     */
+    private Integer[] items;
+
+    /**
+     * A full ResizeableList, for the benchmarks that only read.
+     */
+    private ResizeableList<Integer> fullList;
+
+    /**
+     * A full ArrayList, for the benchmarks that only read.
+     */
+    private List<Integer> fullArrayList;
+
+    /**
+     * An entry in the middle of the lists.
+     */
+    private Integer middle;
+
+    /**
+     * An entry that isn't in the lists.
+     */
+    private Integer missing;
+
+    /**
+     * Generates the entries and the full lists.
+     */
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        items = distribution.generateBoxed(size);
+        fullList = new ResizeableList<>(size);
+        fullArrayList = new ArrayList<>(size);
+        for (Integer item : items) {
+            fullList.add(item);
+            fullArrayList.add(item);
+        }
+        middle = items[size / 2];
+        missing = -1;
+    }
+
+    /**
+     * The full lists the removeAll benchmarks empty. They are a separate State,
+     * so only those benchmarks pay for refilling them before every call.
+     */
+    @State(Scope.Thread)
+    public static class FullLists {
+
+        /**
+         * The ResizeableList the benchmark empties.
+         */
+        ResizeableList<Integer> list;
+
+        /**
+         * The ArrayList the benchmark empties.
+         */
+        List<Integer> arrayList;
+
+        /**
+         * Fills both lists with the entries.
+         *
+         * @param input the benchmark, which holds the entries.
+         */
+        @Setup(Level.Invocation)
+        public void fill(ResizeableListBenchmark input) {
+            list = new ResizeableList<>(input.size);
+            arrayList = new ArrayList<>(input.size);
+            for (Integer item : input.items) {
+                list.add(item);
+                arrayList.add(item);
+            }
+        }
+    }
+
+    /**
+     * Adds every entry to the end of an empty ResizeableList.
+     *
+     * @return the list.
+     */
+    @Benchmark
+    public ResizeableList<Integer> append() {
+        ResizeableList<Integer> list = new ResizeableList<>();
+        for (Integer item : items) {
+            list.add(item);
+        }
+        return list;
+    }
+
+    /**
+     * Adds every entry to the end of an empty ArrayList.
+     *
+     * @return the list.
+     */
+    @Benchmark
+    public List<Integer> appendArrayList() {
+        List<Integer> list = new ArrayList<>();
+        for (Integer item : items) {
+            list.add(item);
+        }
+        return list;
+    }
+
+    /**
+     * Adds every entry to the start of an empty ResizeableList.
+     *
+     * @return the list.
+     */
+    @Benchmark
+    public ResizeableList<Integer> insertFront() {
+        ResizeableList<Integer> list = new ResizeableList<>(size);
+        for (Integer item : items) {
+            list.add(1, item);
+        }
+        return list;
+    }
+
+    /**
+     * Adds every entry to the start of an empty ArrayList.
+     *
+     * @return the list.
+     */
+    @Benchmark
+    public List<Integer> insertFrontArrayList() {
+        List<Integer> list = new ArrayList<>(size);
+        for (Integer item : items) {
+            list.add(0, item);
+        }
+        return list;
+    }
+
+    /**
+     * Reads every entry of a ResizeableList by index.
+     *
+     * @return the sum of the entries.
+     */
+    @Benchmark
+    public long getAll() {
+        long sum = 0;
+        for (int i = 1; i <= size; i++) {
+            sum += fullList.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Reads every entry of an ArrayList by index.
+     *
+     * @return the sum of the entries.
+     */
+    @Benchmark
+    public long getAllArrayList() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += fullArrayList.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Removes the last entry of a ResizeableList until it is empty.
+     *
+     * @param full the full lists.
+     * @return the list.
+     */
+    @Benchmark
+    public ResizeableList<Integer> removeAll(FullLists full) {
+        while (!full.list.isEmpty()) {
+            full.list.remove();
+        }
+        return full.list;
+    }
+
+    /**
+     * Removes the last entry of an ArrayList until it is empty.
+     *
+     * @param full the full lists.
+     * @return the list.
+     */
+    @Benchmark
+    public List<Integer> removeAllArrayList(FullLists full) {
+        while (!full.arrayList.isEmpty()) {
+            full.arrayList.remove(full.arrayList.size() - 1);
+        }
+        return full.arrayList;
+    }
+
+    /**
+     * Looks for an entry in the middle of a ResizeableList, and for a missing one.
+     *
+     * @return true if both answers are right.
+     */
+    @Benchmark
+    public boolean contains() {
+        return fullList.contains(middle) && !fullList.contains(missing);
+    }
+
+    /**
+     * Looks for an entry in the middle of an ArrayList, and for a missing one.
+     *
+     * @return true if both answers are right.
+     */
+    @Benchmark
+    public boolean containsArrayList() {
+        return fullArrayList.contains(middle) && !fullArrayList.contains(missing);
+    }
+}
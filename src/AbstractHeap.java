@@ -0,0 +1,1215 @@
+package src;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The AbstractHeap class that implements the ArrayHeapInterface interface.
+ *
+ * This class holds the sift engine shared by the MaxHeap and MinHeap classes.
+ * Every comparison goes through a Comparator, and the heap keeps the entry that
+ * compares greatest under the Comparator at the top. A MaxHeap keeps the largest
+ * entry at the top and a MinHeap passes a reversed Comparator to keep the
+ * smallest entry at the top, so both use the same code and no entry ever needs
+ * to be wrapped in an adapter object to change the order.
+ *
+ * Under the hood, the heap is represented as a ResizeableList. The first time
+ * a heap has to grow past what a ResizeableList holds (add, addAll or meld),
+ * it switches to large-capacity mode on its own, which is represented as a
+ * SegmentedList instead. Heaps that are known to be large can be created in
+ * large-capacity mode directly, to skip the switch.
+ *
+ * By default every node has two children, but a heap can be created with a
+ * larger arity (such as 4 or 8). A wider heap is shallower, and the children
+ * of a node sit next to each other in memory, so removals visit fewer levels.
+ *
+ * The sift loops (used by add, remove and the optimal build) don't go through
+ * the checked get/set/swap methods of the list. Each operation checks its
+ * preconditions once, and then the loops read and write the backing storage
+ * directly, moving a hole up or down the tree instead of swapping entries at
+ * every level.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @author Pierlorenzo Peruzzo
+ * @version 1.0
+ */
+public abstract class AbstractHeap<T> implements ArrayHeapInterface<T> {
+
+    /**
+     * The default/minimum capacity of any heap. For this implementation, the default capacity is 25.
+     */
+    protected static final int DEFAULT_CAPACITY = 25;
+
+    /**
+     * The default number of children of each node (a binary heap).
+     */
+    protected static final int DEFAULT_ARITY = 2;
+
+    /**
+     * The smallest heap the parallel build splits into tasks. Smaller heaps are
+     * built on one thread, since the tasks would cost more than they save.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * The number of subtrees the parallel build aims for per thread of the pool,
+     * so that threads that finish early can steal more work.
+     */
+    private static final int SUBTREES_PER_THREAD = 4;
+
+    /**
+     * The most entries a ResizeableList holds, since it always keeps one slot
+     * past its last entry.
+     */
+    private static final int LIST_ENTRIES = ResizeableList.MAX_CAPACITY - 1;
+
+    /**
+     * The list of the heap we will be populating. This is a ResizeableList, or a
+     * SegmentedList in large-capacity mode.
+     */
+    private ListInterface<T> heap;
+
+    /**
+     * The backing array of the ResizeableList (the entry at index i lives at
+     * array[i - 1]), or null in large-capacity mode. It has to be refreshed
+     * whenever the list may have grown.
+     */
+    private Object[] array;
+
+    /**
+     * The SegmentedList in large-capacity mode, or null otherwise.
+     */
+    private SegmentedList<T> segments;
+
+    /**
+     * The number of children of each node of this heap.
+     */
+    private int arity;
+
+    /**
+     * The order of the heap. The entry that compares greatest is kept at the top.
+     */
+    private Comparator<? super T> comparator;
+
+    /**
+     * The number of swaps this heap has made (the levels its holes moved, in every
+     * operation, including creating the heap).
+     */
+    private long numSwaps;
+
+    /**
+     * Counts the comparisons this heap has made (this includes creating the heap).
+     */
+    private SiftCounter counter;
+
+    /**
+     * The detailed counters of the heap, or null while they are disabled (see
+     * enableMetrics).
+     */
+    private HeapMetrics metrics;
+
+    /**
+     * A boolean that keeps track of whether or not the constructor was properly called
+     */
+    private boolean initialized = false;
+
+    /**
+     * Initialize the Heap with a specific capacity, arity and order, in
+     * large-capacity mode or not.
+     *
+     * @param initialCapacity the initial capacity for the Heap.
+     * @param largeCapacity   if the heap should start in large-capacity mode
+     *                        (it switches on its own once it grows past
+     *                        ResizeableList.MAX_CAPACITY entries).
+     * @param arity           the number of children of each node (2, 4 and 8 are
+     *                        the usual choices).
+     * @param comparator      the order of the heap. The entry that compares
+     *                        greatest is kept at the top.
+     * @throws IllegalArgumentException if the arity is less than 2 or the
+     *                                  comparator is null.
+     */
+    protected AbstractHeap(int initialCapacity, boolean largeCapacity, int arity, Comparator<? super T> comparator) {
+        if (arity < 2)
+            throw new IllegalArgumentException("Attempted to create a heap with an arity (" + arity
+                    + ") which is too small");
+        if (comparator == null)
+            throw new IllegalArgumentException("Attempted to create a heap without a comparator");
+        if (initialCapacity < DEFAULT_CAPACITY)
+            initialCapacity = DEFAULT_CAPACITY;
+
+        this.arity = arity;
+        this.comparator = comparator;
+
+        if (largeCapacity) {
+            segments = new SegmentedList<T>(initialCapacity);
+            heap = segments;
+        } else {
+            heap = new ResizeableList<T>(initialCapacity);
+            refreshArray();
+        }
+        initialized = true;
+        numSwaps = 0;
+        counter = new SiftCounter();
+    }
+
+    /**
+     * Initialize the Heap from an array using one of the build methods.
+     *
+     * @param items      the array used to create the heap.
+     * @param method     the method used to create the heap.
+     * @param arity      the number of children of each node.
+     * @param comparator the order of the heap. The entry that compares greatest is
+     *                   kept at the top.
+     * @throws IllegalArgumentException if the method is null.
+     */
+    protected AbstractHeap(T[] items, BuildMethod method, int arity, Comparator<? super T> comparator) {
+        this(items.length, items.length > LIST_ENTRIES, arity, comparator);
+
+        if (method == null)
+            throw new IllegalArgumentException("Attempted to create a heap without a build method");
+
+        // If we want the non-optimal method. O(nlog(n))
+        if (method == BuildMethod.SEQUENTIAL) {
+            for (int i = 0; i < items.length; i++) {
+                this.add(items[i]);
+            }
+            return;
+        }
+
+        // Optimal method O(n)
+
+        // Copy items to the ResizableList, in one block
+        heap.addAll(items);
+        refreshArray();
+
+        // Begin heapifying at the last parent
+        if (method == BuildMethod.PARALLEL) {
+            heapifyParallel(ForkJoinPool.commonPool());
+        } else {
+            numSwaps += heapify(1, method == BuildMethod.BOTTOM_UP);
+        }
+    }
+
+    /**
+     * Gets a Comparator that uses the natural order of the entries.
+     *
+     * The entries must implement Comparable. Otherwise, a ClassCastException is
+     * thrown the first time two entries are compared (just like a TreeMap or a
+     * PriorityQueue without a comparator).
+     *
+     * @param <T> the type of the entries.
+     * @return the natural order Comparator.
+     */
+    @SuppressWarnings("unchecked")
+    protected static <T> Comparator<? super T> naturalOrder() {
+        return (first, second) -> ((Comparable<? super T>) first).compareTo(second);
+    }
+
+    /**
+     * Checks if the heap is initialized.
+     */
+    private void checkInitialization() {
+        if (!initialized) {
+            throw new SecurityException(getClass().getSimpleName() + " object is corrupt or was not initialized properly.");
+        }
+    }
+
+    /**
+     * Checks if we can add an entry to a given index.
+     *
+     * @param index The index we want to place the entry at.
+     * @param entry The entry we want to add
+     * @return true if we can add the entry, false if we cannot
+     */
+    @Override
+    public boolean canAdd(int index, T entry) {
+        checkInitialization();
+
+        // Check if the entry we want to add comes before the item at the index we want to place the entry at
+        return comparator.compare(entry, heap.get(index)) > 0;
+    }
+
+    /**
+     * Gets the index of a parent given the index of the child.
+     *
+     * @param childIndex The index of a child node.
+     * @return The index of the child's parent, -1 if there is no parent.
+     */
+    @Override
+    public int getParentIndex(int childIndex) {
+        checkInitialization();
+
+        // If the index doesn't have a parent (because it's at the start of the heap) return -1
+        if (childIndex <= 1) {
+            return -1;
+        }
+
+        // The children of parent p sit at arity * (p - 1) + 2 through arity * p + 1
+        return (childIndex - 2) / arity + 1;
+    }
+
+    /**
+     * Gets the index of a child given the index of the parent.
+     *
+     * @param parentIndex The index of a parent node.
+     * @return The index of the first child of the parent (the other children
+     *         follow it, up to arity - 1 more), -1 if there is no child.
+     */
+    @Override
+    public int getChildIndex(int parentIndex) {
+        checkInitialization();
+
+        // The first child sits right after the children of the previous parent
+        long childIndex = (long) arity * (parentIndex - 1) + 2;
+
+        // if we're larger than the number of entries, then there's no child
+        if (parentIndex < 1 || childIndex > heap.getNumEntries()) {
+            return -1;
+        }
+
+        // Return the index
+        return (int) childIndex;
+    }
+
+    /**
+     * Gets the arity of the heap (how many children each node can have)
+     *
+     * @return The arity of the heap
+     */
+    public int getArity() {
+        checkInitialization();
+        return arity;
+    }
+
+    /**
+     * Adds an entry to the Heap
+     *
+     * @param entry The entry we want to add to the Heap
+     */
+    @Override
+    public void add(T entry) {
+        checkInitialization();
+
+        // Add the entry to the last index (this is the only checked call)
+        ensureRoom(heap.count() + 1L);
+        heap.add(entry);
+        refreshArray();
+
+        // Move the entry up from the last index
+        int moves = siftUp(heap.count(), entry, counter);
+        numSwaps += moves;
+        if (metrics != null) {
+            metrics.recordAdd(moves);
+        }
+    }
+
+    /**
+     * Checks if the Heap is empty
+     *
+     * @return true if the heap is empty, false if it isn't
+     */
+    @Override
+    public boolean isEmpty() {
+        checkInitialization();
+        return heap.isEmpty();
+    }
+
+    /**
+     * Gets the size of the heap (how many entries are in the heap)
+     *
+     * @return The size of the heap
+     */
+    @Override
+    public int getSize() {
+        checkInitialization();
+        return heap.getNumEntries();
+    }
+
+    /**
+     * Clears a heap of all its entries
+     */
+    @Override
+    public void clear() {
+        checkInitialization();
+        heap.clear();
+        refreshArray();
+    }
+
+    /**
+     * Sets how the list of the heap grows, and if it shrinks once the heap
+     * drains (see GrowthPolicy). A heap that spikes during a burst can then give
+     * its memory back.
+     *
+     * In large-capacity mode, the list grows one fixed-size segment at a time,
+     * so only the shrinking part of the policy applies.
+     *
+     * @param policy how the list grows and shrinks.
+     * @throws IllegalArgumentException if the policy is null.
+     */
+    public void setGrowthPolicy(GrowthPolicy policy) {
+        checkInitialization();
+        if (policy == null)
+            throw new IllegalArgumentException("Attempted to set a null growth policy");
+
+        if (segments != null) {
+            segments.setShrinking(policy.isShrinking());
+        } else {
+            ((ResizeableList<T>) heap).setGrowthPolicy(policy);
+        }
+    }
+
+    /**
+     * Shrinks the list of the heap to its entries, to give back the memory a
+     * burst left unused.
+     */
+    public void trimToSize() {
+        checkInitialization();
+
+        if (segments != null) {
+            segments.trimToSize();
+        } else {
+            ((ResizeableList<T>) heap).trimToSize();
+            refreshArray();
+        }
+    }
+
+    /**
+     * Represents the heap as a string.
+     * @return The string representation of the heap
+     */
+    @Override
+    public String toString() {
+        checkInitialization();
+        return heap.toString();
+    }
+
+    /**
+     * Returns a preview of the first 10 items of the heap
+     *
+     * @return The string preview of the heap
+     */
+    public String preview(){
+        checkInitialization();
+        return heap.preview();
+    }
+
+    /**
+     * Get the number of swaps this heap has made. Right after a heap is created,
+     * this is the number of swaps it took to create the heap.
+     *
+     * @return the number of swaps.
+     */
+    public long getNumSwaps() {
+        checkInitialization();
+        return numSwaps;
+    }
+
+    /**
+     * Get the number of comparisons this heap has made. Right after a heap is
+     * created, this is the number of comparisons it took to create the heap.
+     *
+     * @return the number of comparisons.
+     */
+    public long getNumComparisons() {
+        checkInitialization();
+        return counter.comparisons;
+    }
+
+    /**
+     * Turns on the detailed metrics of this heap (see HeapMetrics), if they are
+     * not on already. They only count what happens from now on.
+     *
+     * @return the metrics of the heap.
+     */
+    public HeapMetrics enableMetrics() {
+        checkInitialization();
+
+        if (metrics == null) {
+            metrics = new HeapMetrics(() -> counter.comparisons);
+            setListMetrics(metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * Turns off the detailed metrics of this heap. A snapshot taken before keeps
+     * its values.
+     */
+    public void disableMetrics() {
+        checkInitialization();
+
+        metrics = null;
+        setListMetrics(null);
+    }
+
+    /**
+     * Gets the detailed metrics of this heap.
+     *
+     * @return the metrics, or null if they are disabled.
+     */
+    public HeapMetrics getMetrics() {
+        checkInitialization();
+        return metrics;
+    }
+
+    /**
+     * Checks that the heap order holds everywhere: no entry comes before its
+     * parent. This looks at every entry (and doesn't count its comparisons), so it
+     * is meant for tests, not for normal use.
+     *
+     * @return true if the heap is a valid heap, false if it isn't
+     */
+    public boolean isValid() {
+        checkInitialization();
+
+        int size = heap.count();
+        for (int child = 2; child <= size; child++) {
+            int parent = (child - 2) / arity + 1;
+            if (comparator.compare(elementAt(child), elementAt(parent)) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the top item in the heap (the item that comes first in the heap's order).
+     *
+     * @return the heap's top item, null if the heap is empty.
+     */
+    protected T peek() {
+        checkInitialization();
+
+        // Check if we have a heap
+        if(isEmpty()){
+            return null;
+        }
+
+        // Return the first item in he heap
+        return heap.get(1);
+    }
+
+    /**
+     * Removes and returns the heap's top item.
+     * For a MaxHeap, it is the largest item. For a MinHeap, it is the smallest item.
+     *
+     * @return the heap's top item, null if the heap is empty.
+     */
+    @Override
+    public T remove() {
+        checkInitialization();
+
+        if(isEmpty()){
+            return null;
+        }
+
+        // Remove the last item of the heap (removing the last index never shifts entries)
+        T last = heap.remove();
+        refreshArray();
+        int size = heap.count();
+
+        // If it was the only item, it was also the top item
+        if (size == 0) {
+            if (metrics != null) {
+                metrics.recordRemove(0);
+            }
+            return last;
+        }
+
+        // Get the top item of the heap
+        T top = elementAt(1);
+
+        // Reheap the heap, sinking the last item from the root, to make sure we maintain its heap-ness
+        int moves = siftDown(1, last, size, counter);
+        numSwaps += moves;
+        if (metrics != null) {
+            metrics.recordRemove(moves);
+        }
+
+        // Return the previously top item of the heap
+        return top;
+    }
+
+    /**
+     * Replaces the heap's top item with a new entry, and returns the old top item.
+     *
+     * This does the same as a remove followed by an add, but the new entry is sunk
+     * from the root in a single pass, so it costs one O(log(n)) sift instead of
+     * two. It is the main operation of a bounded heap (see the TopK class).
+     *
+     * @param entry The entry that takes the place of the top item
+     * @return the heap's previous top item, null if the heap was empty (in which
+     *         case the entry is simply added).
+     */
+    public T replaceTop(T entry) {
+        checkInitialization();
+
+        if (isEmpty()) {
+            add(entry);
+            return null;
+        }
+
+        // Sink the new entry from the root, in place of the top item
+        T top = elementAt(1);
+        int moves = siftDown(1, entry, heap.count(), counter);
+        numSwaps += moves;
+        if (metrics != null) {
+            metrics.recordReplaceTop(moves);
+        }
+
+        return top;
+    }
+
+    /**
+     * Adds every entry of an array to the Heap.
+     *
+     * The entries are appended first, and then the heap order is restored either
+     * by sifting each new entry up or by re-heapifying the part of the heap above
+     * them, whichever costs less for the current heap size and batch size.
+     *
+     * @param entries The entries we want to add to the Heap
+     */
+    public void addAll(T[] entries) {
+        checkInitialization();
+
+        // Append every entry to the end of the list, in one block
+        int from = heap.count() + 1;
+        ensureRoom((long) heap.count() + entries.length);
+        heap.addAll(entries);
+        refreshArray();
+
+        restoreAfterAppend(from);
+    }
+
+    /**
+     * Adds every entry of an Iterable (such as any Collection) to the Heap.
+     *
+     * This works the same way as addAll(T[]).
+     *
+     * @param entries The entries we want to add to the Heap
+     */
+    public void addAll(Iterable<? extends T> entries) {
+        checkInitialization();
+
+        // Append every entry to the end of the list (in one block for a Collection)
+        int from = heap.count() + 1;
+        if (entries instanceof Collection) {
+            Collection<? extends T> collection = (Collection<? extends T>) entries;
+            ensureRoom((long) heap.count() + collection.size());
+            heap.addAll(collection);
+        } else {
+            for (T entry : entries) {
+                ensureRoom(heap.count() + 1L);
+                heap.add(entry);
+            }
+        }
+        refreshArray();
+
+        restoreAfterAppend(from);
+    }
+
+    /**
+     * Melds another heap into this one. The other heap is emptied.
+     *
+     * The entries of the other heap are appended to this one and the heap order
+     * is restored like addAll does, so the meld is O(n) instead of one O(log(n))
+     * add per entry. The entries are put in this heap's order, so the other heap
+     * can be of any kind (a MinHeap can be melded into a MaxHeap).
+     *
+     * @param other The heap to meld into this one
+     * @throws IllegalArgumentException if the other heap is this heap.
+     */
+    public void meld(AbstractHeap<? extends T> other) {
+        checkInitialization();
+        other.checkInitialization();
+        if (other == this)
+            throw new IllegalArgumentException("Attempted to meld a heap into itself");
+
+        // Append every entry of the other heap straight from its storage
+        int from = heap.count() + 1;
+        int otherSize = other.heap.count();
+        ensureRoom((long) heap.count() + otherSize);
+        for (int i = 1; i <= otherSize; i++) {
+            heap.add(other.elementAt(i));
+        }
+        refreshArray();
+        other.clear();
+
+        restoreAfterAppend(from);
+    }
+
+    /**
+     * Removes n items from the heap
+     *
+     * @param n the number of times to call `remove` on this heap
+     */
+    public void remove(int n){
+        // Loop through until n
+        for(int i = 0; i < n; i++){
+            // Run the remove method
+            this.remove();
+        }
+    }
+
+    /**
+     * Removes the n top items of the heap and puts them, in order, at the start of
+     * an array. For a MaxHeap, they are the n largest items, largest first.
+     *
+     * Unlike remove(int), the items are extracted in bulk (see extractTop(int,
+     * Object[])) instead of one remove at a time.
+     *
+     * @param n           the number of items to remove.
+     * @param destination the array the items are put in.
+     * @return the number of items removed (less than n if the heap had fewer
+     *         items).
+     * @throws IllegalArgumentException if the array is too small for the items.
+     */
+    public int removeTop(int n, T[] destination) {
+        checkInitialization();
+
+        int count = Math.max(0, Math.min(n, heap.count()));
+        if (destination.length < count)
+            throw new IllegalArgumentException("Attempted to remove " + count + " items into an array ("
+                    + destination.length + ") which is too small");
+
+        extractTop(count, destination);
+        return count;
+    }
+
+    /**
+     * Removes the n top items of the heap and adds them, in order, to a Collection
+     * (such as a List). For a MaxHeap, they are the n largest items, largest first.
+     *
+     * @param n           the number of items to remove.
+     * @param destination the Collection the items are added to.
+     * @return the number of items removed (less than n if the heap had fewer
+     *         items).
+     */
+    @SuppressWarnings("unchecked")
+    public int removeTop(int n, Collection<? super T> destination) {
+        checkInitialization();
+
+        int count = Math.max(0, Math.min(n, heap.count()));
+        Object[] removed = new Object[count];
+        extractTop(count, removed);
+        for (Object item : removed) {
+            destination.add((T) item);
+        }
+        return count;
+    }
+
+    /**
+     * Switches the heap to large-capacity mode if it is about to hold more
+     * entries than a ResizeableList can. A growth policy with a lower cap (see
+     * GrowthPolicy.withCap) is kept, and the list rejects the entries instead.
+     *
+     * @param entries the number of entries the heap is about to hold.
+     */
+    private void ensureRoom(long entries) {
+        if (segments != null || entries <= LIST_ENTRIES) {
+            return;
+        }
+        ResizeableList<T> list = (ResizeableList<T>) heap;
+        if (list.getGrowthPolicy().getCap() < ResizeableList.MAX_CAPACITY) {
+            return;
+        }
+
+        // Copy the entries to a SegmentedList once, in order, so the heap order holds
+        SegmentedList<T> large = new SegmentedList<T>(list.getCapacity());
+        large.setShrinking(list.getGrowthPolicy().isShrinking());
+        large.addAll(list.toArray(newArray(list.count())));
+        list.setMetrics(null);
+        segments = large;
+        heap = large;
+        array = null;
+        setListMetrics(metrics);
+    }
+
+    /**
+     * Creates an array for the entries of the heap. The entries are only ever
+     * read back as T, so an Object[] is enough.
+     *
+     * @param length the length of the array.
+     * @return the array.
+     */
+    @SuppressWarnings("unchecked")
+    private T[] newArray(int length) {
+        return (T[]) new Object[length];
+    }
+
+    /**
+     * Refreshes the cached backing array after the list may have grown.
+     */
+    private void refreshArray() {
+        if (segments == null) {
+            array = heap.getArray();
+        }
+    }
+
+    /**
+     * Reads the entry at an index without any checks.
+     *
+     * @param index The index of the entry (starting at 1).
+     * @return The entry at the index.
+     */
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        if (array != null) {
+            return (T) array[index - 1];
+        }
+        return segments.elementAt(index - 1);
+    }
+
+    /**
+     * Writes the entry at an index without any checks.
+     *
+     * @param index The index of the entry (starting at 1).
+     * @param entry The entry to write.
+     */
+    private void setElementAt(int index, T entry) {
+        if (array != null) {
+            array[index - 1] = entry;
+        } else {
+            segments.setElementAt(index - 1, entry);
+        }
+    }
+
+    /**
+     * Moves a hole up the heap until the entry fits in it, then fills the hole
+     * with the entry.
+     *
+     * @param hole  the index of the hole.
+     * @param entry the entry that will fill the hole.
+     * @param count the counter of the comparisons.
+     * @return the number of levels the hole moved (the number of swaps it
+     *         replaces).
+     */
+    private int siftUp(int hole, T entry, SiftCounter count) {
+        int moves = 0;
+
+        // While the entry comes before the parent of the hole, move the parent down
+        while (hole > 1) {
+            int parent = (hole - 2) / arity + 1;
+            T parentEntry = elementAt(parent);
+            count.comparisons++;
+            if (comparator.compare(entry, parentEntry) <= 0) {
+                break;
+            }
+            setElementAt(hole, parentEntry);
+            hole = parent;
+            moves++;
+        }
+
+        // Fill the hole with the entry
+        setElementAt(hole, entry);
+        return moves;
+    }
+
+    /**
+     * Moves a hole down the heap until the entry fits in it, then fills the hole
+     * with the entry. This turns a semiheap into a heap.
+     *
+     * @param hole  the index of the hole.
+     * @param entry the entry that will fill the hole.
+     * @param size  the number of entries in the heap.
+     * @param count the counter of the comparisons.
+     * @return the number of levels the hole moved (the number of swaps it
+     *         replaces).
+     */
+    private int siftDown(int hole, T entry, int size, SiftCounter count) {
+        int moves = 0;
+        // The last index that has at least one child
+        int lastParent = size < 2 ? 0 : (size - 2) / arity + 1;
+
+        while (hole <= lastParent) {
+            // Find the child that comes first (in heap order) among the (up to arity) children
+            int child = arity * (hole - 1) + 2;
+            int lastChild = size - child < arity ? size : child + arity - 1;
+            count.comparisons += lastChild - child + 1;
+            T larger = elementAt(child);
+            for (int sibling = child + 1; sibling <= lastChild; sibling++) {
+                T candidate = elementAt(sibling);
+                if (comparator.compare(candidate, larger) > 0) {
+                    child = sibling;
+                    larger = candidate;
+                }
+            }
+
+            // If the entry doesn't come after the larger child, it fits in the hole
+            if (comparator.compare(entry, larger) >= 0) {
+                break;
+            }
+
+            // Otherwise, move the child up and the hole down
+            setElementAt(hole, larger);
+            hole = child;
+            moves++;
+        }
+
+        // Fill the hole with the entry
+        setElementAt(hole, entry);
+        return moves;
+    }
+
+    /**
+     * Moves a hole down the heap the way Floyd's bottom-up build does, then fills
+     * the hole with the entry.
+     *
+     * The hole first walks all the way down to a leaf along the larger children,
+     * without comparing them with the entry. Then it climbs back up until the
+     * entry fits. Most entries belong near the leaves, so the climb is usually
+     * short, and we save the comparison with the entry at every level.
+     *
+     * @param hole  the index of the hole.
+     * @param entry the entry that will fill the hole.
+     * @param size  the number of entries in the heap.
+     * @param count the counter of the comparisons.
+     * @return the number of levels the entry ended up below the starting index
+     *         (the number of swaps it replaces).
+     */
+    private int siftDownBottomUp(int hole, T entry, int size, SiftCounter count) {
+        int start = hole;
+        int moves = 0;
+        // The last index that has at least one child
+        int lastParent = size < 2 ? 0 : (size - 2) / arity + 1;
+
+        // Walk down to a leaf, moving the larger child up at every level
+        while (hole <= lastParent) {
+            int child = arity * (hole - 1) + 2;
+            int lastChild = size - child < arity ? size : child + arity - 1;
+            count.comparisons += lastChild - child;
+            T larger = elementAt(child);
+            for (int sibling = child + 1; sibling <= lastChild; sibling++) {
+                T candidate = elementAt(sibling);
+                if (comparator.compare(candidate, larger) > 0) {
+                    child = sibling;
+                    larger = candidate;
+                }
+            }
+
+            setElementAt(hole, larger);
+            hole = child;
+            moves++;
+        }
+
+        // Climb back up while the entry comes before the parent of the hole
+        while (hole > start) {
+            int parent = (hole - 2) / arity + 1;
+            T parentEntry = elementAt(parent);
+            count.comparisons++;
+            if (comparator.compare(entry, parentEntry) <= 0) {
+                break;
+            }
+
+            // Move the parent back down into the hole
+            setElementAt(hole, parentEntry);
+            hole = parent;
+            moves--;
+        }
+
+        // Fill the hole with the entry
+        setElementAt(hole, entry);
+        return moves;
+    }
+
+    /**
+     * Heapify the list, assuming everything before index from already is a heap.
+     *
+     * Only the parents whose subtrees hold an entry at or after index from need to
+     * be sunk. At each level those parents form one range of indices, so we sink
+     * each range from its last index to its first, then move on to the range of
+     * their parents, until we reach the root. With from == 1, this sinks every
+     * parent starting at the last one.
+     *
+     * @param from     the first index that may break the heap order.
+     * @param bottomUp if the parents should be sunk with Floyd's bottom-up
+     *                 method instead of the usual sift down.
+     * @return the number of levels the holes moved (the number of swaps it
+     *         replaces).
+     */
+    private long heapify(int from, boolean bottomUp) {
+        int size = heap.count();
+        long moves = 0;
+        if (size < 2 || from > size) {
+            return moves;
+        }
+
+        // The range of parents on the lowest level we need to sink
+        int last = (size - 2) / arity + 1;
+        int first = from < 2 ? 1 : (from - 2) / arity + 1;
+
+        while (first <= last) {
+            for (int i = last; i >= first; i--) {
+                if (bottomUp) {
+                    moves += siftDownBottomUp(i, elementAt(i), size, counter);
+                } else {
+                    moves += siftDown(i, elementAt(i), size, counter);
+                }
+            }
+
+            // We reached the root
+            if (first == 1) {
+                return moves;
+            }
+
+            // Move on to their parents, skipping any we already sank
+            last = Math.min((last - 2) / arity + 1, first - 1);
+            first = (first - 2) / arity + 1;
+        }
+        return moves;
+    }
+
+    /**
+     * Heapify the whole list on a ForkJoinPool.
+     *
+     * The subtrees below a given level don't share any entries, so they can be
+     * heapified at the same time. We pick the shallowest level with at least
+     * SUBTREES_PER_THREAD subtrees per thread, heapify the subtrees rooted on
+     * that level in parallel (see SubtreeTask), then sink the few parents above
+     * them on this thread. Every parent is sunk exactly like heapify(1, false)
+     * would sink it, so the heap, the swaps and the comparisons all come out the
+     * same.
+     *
+     * @param pool the pool the subtrees are heapified on.
+     */
+    private void heapifyParallel(ForkJoinPool pool) {
+        int size = heap.count();
+        if (size < PARALLEL_THRESHOLD) {
+            numSwaps += heapify(1, false);
+            return;
+        }
+
+        // Find the first level with enough subtrees, without going past the parents
+        int lastParent = (size - 2) / arity + 1;
+        long target = (long) SUBTREES_PER_THREAD * pool.getParallelism();
+        int firstRoot = 1;
+        long roots = 1;
+        while (roots < target) {
+            long nextFirst = (long) arity * (firstRoot - 1) + 2;
+            if (nextFirst > lastParent) {
+                break;
+            }
+            firstRoot = (int) nextFirst;
+            roots *= arity;
+        }
+        int lastRoot = (int) Math.min(firstRoot + roots - 1, lastParent);
+
+        // Heapify the subtrees in parallel, each task with its own counter
+        SubtreeTask task = new SubtreeTask(firstRoot, lastRoot, size);
+        pool.invoke(task);
+        numSwaps += task.moves;
+        counter.comparisons += task.count.comparisons;
+
+        // Sink the parents above the subtrees
+        for (int i = firstRoot - 1; i >= 1; i--) {
+            numSwaps += siftDown(i, elementAt(i), size, counter);
+        }
+    }
+
+    /**
+     * Removes the count top items of the heap, in order, into an array.
+     *
+     * Each item is popped straight from the backing storage: the last entry
+     * takes the place of the top and sinks with Floyd's bottom-up method. That
+     * entry came from the bottom of the heap, so it almost always sinks back to
+     * the bottom, and walking down first saves close to half of the comparisons
+     * of the usual sift down. The list itself is only shrunk once, at the end,
+     * instead of once per item.
+     *
+     * @param count       the number of items to remove (at most the size).
+     * @param destination the array the items are put in.
+     */
+    private void extractTop(int count, Object[] destination) {
+        int size = heap.count();
+        for (int k = 0; k < count; k++) {
+            destination[k] = elementAt(1);
+
+            // The last entry takes the place of the top, one entry from the end
+            T last = elementAt(size);
+            size--;
+            int moves = size > 0 ? siftDownBottomUp(1, last, size, counter) : 0;
+            numSwaps += moves;
+            if (metrics != null) {
+                metrics.recordRemove(moves);
+            }
+        }
+        truncate(size);
+    }
+
+    /**
+     * Counts the levels of a heap with a given number of entries.
+     *
+     * @param size the number of entries.
+     * @return the number of levels.
+     */
+    private int levels(int size) {
+        int levels = 0;
+        for (long capacity = 0, levelSize = 1; capacity < size; capacity += levelSize, levelSize *= arity) {
+            levels++;
+        }
+        return levels;
+    }
+
+    /**
+     * Attaches metrics to the list of the heap, so it records its growth.
+     *
+     * @param listMetrics the metrics, or null to detach them.
+     */
+    private void setListMetrics(HeapMetrics listMetrics) {
+        if (segments != null) {
+            segments.setMetrics(listMetrics);
+        } else {
+            ((ResizeableList<T>) heap).setMetrics(listMetrics);
+        }
+    }
+
+    /**
+     * Drops every entry after the first count entries of the list at once.
+     *
+     * @param count the number of entries to keep.
+     */
+    private void truncate(int count) {
+        if (segments != null) {
+            segments.truncate(count);
+        } else {
+            ((ResizeableList<T>) heap).truncate(count);
+            refreshArray();
+        }
+    }
+
+    /**
+     * Restores the heap order after entries were appended at index from onward.
+     *
+     * Sifting each new entry up costs up to one level per entry, for every level
+     * of the heap. Sinking the parents of the new entries (see heapify(int,
+     * boolean)) costs at most a few comparisons per entry of the whole heap. We
+     * pick whichever bound is smaller, so small batches are sifted up and large
+     * batches rebuild the part of the heap above them.
+     *
+     * @param from the index of the first appended entry.
+     */
+    private void restoreAfterAppend(int from) {
+        int size = heap.count();
+        long batchSize = size - from + 1;
+        long moves = 0;
+
+        if (batchSize * levels(size) > size) {
+            moves = heapify(from, false);
+        } else {
+            for (int i = from; i <= size; i++) {
+                moves += siftUp(i, elementAt(i), counter);
+            }
+        }
+
+        numSwaps += moves;
+        if (metrics != null) {
+            metrics.recordBulkAdd(batchSize, moves);
+        }
+    }
+
+    /**
+     * Counts the comparisons of the sift loops. The heap has one, and every task
+     * of a parallel build has its own, so no two threads ever update the same
+     * counter.
+     */
+    private static final class SiftCounter {
+
+        /**
+         * The number of comparisons.
+         */
+        private long comparisons;
+    }
+
+    /**
+     * Heapifies the subtrees rooted at a range of indices on one level, splitting
+     * the range in half until each task has a single subtree.
+     *
+     * In the subtree of a root, the descendants at each depth form one range of
+     * indices, so a subtree is heapified a range at a time, from its deepest
+     * parents up to its root.
+     */
+    private final class SubtreeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The first root of the range.
+         */
+        private final int first;
+
+        /**
+         * The last root of the range.
+         */
+        private final int last;
+
+        /**
+         * The number of entries in the heap.
+         */
+        private final int size;
+
+        /**
+         * The number of levels the holes moved in this task.
+         */
+        private long moves;
+
+        /**
+         * The comparisons of this task.
+         */
+        private final SiftCounter count = new SiftCounter();
+
+        /**
+         * Initialize the task for a range of roots.
+         *
+         * @param first the first root of the range.
+         * @param last  the last root of the range.
+         * @param size  the number of entries in the heap.
+         */
+        private SubtreeTask(int first, int last, int size) {
+            this.first = first;
+            this.last = last;
+            this.size = size;
+        }
+
+        /**
+         * Heapifies the subtrees of the range.
+         */
+        @Override
+        protected void compute() {
+            if (first < last) {
+                int middle = (first + last) >>> 1;
+                SubtreeTask left = new SubtreeTask(first, middle, size);
+                SubtreeTask right = new SubtreeTask(middle + 1, last, size);
+                invokeAll(left, right);
+                moves = left.moves + right.moves;
+                count.comparisons = left.count.comparisons + right.count.comparisons;
+                return;
+            }
+
+            // Collect the range of parents at each depth of the subtree
+            int lastParent = (size - 2) / arity + 1;
+            int[] lows = new int[Integer.SIZE];
+            int[] highs = new int[Integer.SIZE];
+            int depth = 0;
+            long low = first;
+            long high = first;
+            while (low <= lastParent) {
+                lows[depth] = (int) low;
+                highs[depth] = (int) Math.min(high, lastParent);
+                depth++;
+                low = (long) arity * (low - 1) + 2;
+                high = (long) arity * (high - 1) + arity + 1;
+            }
+
+            // Sink the parents, deepest first
+            for (int d = depth - 1; d >= 0; d--) {
+                for (int i = highs[d]; i >= lows[d]; i--) {
+                    moves += siftDown(i, elementAt(i), size, count);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package src;
+
+/**
+ * The ArrayHeapInterface that hosts definitions for methods of heaps that keep
+ * their entries in an array.
+ *
+ * Heaps that implement this interface store their tree level by level, so
+ * every entry has an index, and the index of its parent and children can be
+ * computed. The index starts at 1, like the ResizeableList.
+ *
+ * We use the canAdd(int, T) method to check where an entry can be added, which
+ * returns a boolean denoting whether or not an entry can be added at that
+ * position. So, for a maxHeap, we would check if the entry is less than its
+ * parent.
+ *
+ * Heaps made of linked nodes (such as the PairingHeap and the LeftistHeap)
+ * have no indices, so they only implement the BinaryHeapInterface.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public interface ArrayHeapInterface<T> extends BinaryHeapInterface<T> {
+
+    /**
+     * Checks if we can add an entry to a given index.
+     *
+     * @param index The index we want to place the entry at.
+     * @param entry The entry we want to add
+     * @return true if we can add the entry, false if we cannot
+     */
+    public boolean canAdd(int index, T entry);
+
+    /**
+     * Gets the index of a parent given the index of the child.
+     *
+     * @param childIndex The index of a child node.
+     * @return THe index of the child's parent.
+     */
+    public int getParentIndex(int childIndex);
+
+    /**
+     * Gets the index of a child given the index of the parent.
+     *
+     * @param parentIndex The index of a parent node.
+     * @return The index of the first child of the parent (the other children,
+     *         if any, follow it).
+     */
+    public int getChildIndex(int parentIndex);
+}
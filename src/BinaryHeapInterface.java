@@ -8,12 +8,12 @@ package src;
  * special type of tree that places
  * a restriction on where entries can be added.
  *
- * We achieve this by using the canAdd(int, T) method which returns a boolean
- * denoting whether or not an entry can be
- * added at that position. So, for a maxHeap, we would check if the entry is
- * less than its parent.
+ * The tree can be kept in an array or made of linked nodes. Heaps that keep
+ * it in an array, and so have indices, implement the ArrayHeapInterface,
+ * which adds canAdd(int, T), getParentIndex and getChildIndex.
  *
- * We also define that the generic type T is comparable.
+ * The generic type T does not need to be comparable. Implementations decide
+ * how entries are ordered, either by their natural order or by a Comparator.
  *
  * Each method is documented separately.
  *
@@ -21,7 +21,7 @@ package src;
  * @author George Matta
  * @version 2.0
  */
-public interface BinaryHeapInterface<T extends Comparable<? super T>> {
+public interface BinaryHeapInterface<T> {
 
     /**
      * Adds an entry to the Heap
@@ -35,36 +35,10 @@ public interface BinaryHeapInterface<T extends Comparable<? super T>> {
      * For a MaxHeap, it would be the largest value in the heap
      * For a MinHeap, it would be the smallest value in the heap
      *
-     * @return the item removed from the heap
+     * @return the item removed from the heap, null if the heap is empty
      */
     public T remove();
 
-    /**
-     * Checks if we can add an entry to a given index.
-     *
-     * @param index The index we want to place the entry at.
-     * @param entry The entry we want to add
-     * @return true if we can add the entry, false if we cannot
-     */
-    public boolean canAdd(int index, T entry);
-
-    /**
-     * Gets the index of a parent given the index of the child.
-     *
-     * @param childIndex The index of a child node.
-     * @return THe index of the child's parent.
-     */
-    public int getParentIndex(int childIndex);
-
-    /**
-     * Gets the index of a child given the index of the parent.
-     *
-     * @param parentIndex The index of a parent node.
-     * @return The index of the first child of the parent (add 1 for the second
-     *         child).
-     */
-    public int getChildIndex(int parentIndex);
-
     /**
      * Checks if the Heap is empty
      *
@@ -0,0 +1,98 @@
+package src;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The BuildDriver class that compares the parallel build of a MaxHeap with
+ * the optimal build on one thread.
+ *
+ * For each size, both builds run on the same random array. The parallel heap
+ * must be a valid heap, and since it sinks every parent exactly like the
+ * optimal build, it must also have the same number of swaps and comparisons
+ * and give back the same entries in the same order.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class BuildDriver {
+
+    /**
+     * The sizes of the arrays we build heaps from.
+     */
+    private static final int[] SIZES = { 1_000_000, 4_000_000, 16_000_000 };
+
+    /**
+     * The number of times each build runs (the first runs warm up the JIT, the
+     * fastest run is reported).
+     */
+    private static final int RUNS = 3;
+
+    /**
+     * The number of entries we remove from both heaps to compare them.
+     */
+    private static final int COMPARED_REMOVALS = 10_000;
+
+    /**
+     * Runs both builds for every size and prints the times and the checks.
+     *
+     * @param args The basic String[] args for any main method in Java.
+     */
+    public static void main(String[] args) {
+        System.out.println("*** PARALLEL BUILD TEST (" + ForkJoinPool.commonPool().getParallelism()
+                + " pool threads) ***");
+        System.out.printf("%12s %14s %14s %9s %8s%n", "entries", "optimal ms", "parallel ms", "speedup", "checks");
+
+        Random random = new Random();
+        for (int size : SIZES) {
+            Integer[] items = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                items[i] = random.nextInt();
+            }
+
+            long optimalNanos = Long.MAX_VALUE;
+            long parallelNanos = Long.MAX_VALUE;
+            MaxHeap<Integer> optimal = null;
+            MaxHeap<Integer> parallel = null;
+            for (int run = 0; run < RUNS; run++) {
+                // Drop the previous heaps first, so they don't use up the memory
+                optimal = null;
+                parallel = null;
+
+                long start = System.nanoTime();
+                optimal = new MaxHeap<>(items, BuildMethod.OPTIMAL);
+                optimalNanos = Math.min(optimalNanos, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                parallel = new MaxHeap<>(items, BuildMethod.PARALLEL);
+                parallelNanos = Math.min(parallelNanos, System.nanoTime() - start);
+            }
+
+            System.out.printf("%12d %14.1f %14.1f %8.2fx %8s%n", size, optimalNanos / 1e6, parallelNanos / 1e6,
+                    (double) optimalNanos / parallelNanos, check(optimal, parallel) ? "PASSED" : "FAILED");
+        }
+    }
+
+    /**
+     * Checks that the parallel heap is valid and matches the optimal heap.
+     *
+     * @param optimal  the heap built with the optimal method.
+     * @param parallel the heap built with the parallel method.
+     * @return true if every check passed, false if any failed
+     */
+    private static boolean check(MaxHeap<Integer> optimal, MaxHeap<Integer> parallel) {
+        if (!parallel.isValid() || !optimal.isValid()) {
+            return false;
+        }
+        if (parallel.getNumSwaps() != optimal.getNumSwaps()
+                || parallel.getNumComparisons() != optimal.getNumComparisons()) {
+            return false;
+        }
+        for (int i = 0; i < COMPARED_REMOVALS && !optimal.isEmpty(); i++) {
+            if (!optimal.remove().equals(parallel.remove())) {
+                return false;
+            }
+        }
+        return parallel.isValid();
+    }
+}
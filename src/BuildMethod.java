@@ -0,0 +1,45 @@
+package src;
+
+/**
+ * The BuildMethod enum that lists the ways a heap can be built from an array.
+ *
+ * Each constant is documented separately.
+ *
+ * @author George Matta
+ * @author Pierlorenzo Peruzzo
+ * @version 1.0
+ */
+public enum BuildMethod {
+
+    /**
+     * The non-optimal method: every item is added to the heap one at a time.
+     * O(nlog(n))
+     */
+    SEQUENTIAL,
+
+    /**
+     * The optimal method: the items are copied into the heap, then every parent
+     * is sunk, starting at the last one. Each level of a sink compares the
+     * sinking item with its children. O(n)
+     */
+    OPTIMAL,
+
+    /**
+     * Floyd's bottom-up method: like the optimal method, but each sink first
+     * walks all the way down to a leaf along the larger children (without
+     * comparing against the sinking item), then climbs back up until the item
+     * fits. Since most items end up near the leaves, this saves close to one
+     * comparison per level (out of arity), so it pays off most for binary heaps
+     * whose comparisons are expensive. O(n)
+     */
+    BOTTOM_UP,
+
+    /**
+     * The optimal method on several threads: the subtrees below a level are
+     * independent, so they are heapified in parallel on the common ForkJoinPool,
+     * and then the few levels above them are finished on one thread. It builds
+     * exactly the same heap as the optimal method, and small arrays are simply
+     * built with the optimal method. O(n) work
+     */
+    PARALLEL
+}
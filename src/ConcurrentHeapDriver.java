@@ -0,0 +1,363 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The ConcurrentHeapDriver class that stress tests the ConcurrentMaxHeap class
+ * and measures how it and the MultiQueue class scale with the number of threads.
+ *
+ * The stress test has several threads add and remove entries at the same time,
+ * and then checks that every entry that was added was removed exactly once and
+ * that the heap is still a valid heap. The scaling test times a mixed workload
+ * from 1 thread up to twice the number of processors, next to a MaxHeap
+ * guarded by a single lock. The rank error test measures how far from the
+ * largest entry the removals of a MultiQueue are, since it trades exactness
+ * for throughput.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class ConcurrentHeapDriver {
+
+    /**
+     * The number of entries each thread adds during the stress test.
+     */
+    private static final int STRESS_ENTRIES_PER_THREAD = 100_000;
+
+    /**
+     * The number of operations each thread runs during the scaling test.
+     */
+    private static final int SCALING_OPS_PER_THREAD = 1_000_000;
+
+    /**
+     * The largest number of threads the stress test runs.
+     */
+    private static final int MAX_STRESS_THREADS = 8;
+
+    /**
+     * The number of entries in the heap before the scaling test starts.
+     */
+    private static final int SCALING_PREFILL = 100_000;
+
+    /**
+     * The number of distinct keys the rank error test uses.
+     */
+    private static final int RANK_KEYS = 1_000_000;
+
+    /**
+     * The number of entries in the queue before the rank error test starts.
+     */
+    private static final int RANK_PREFILL = 100_000;
+
+    /**
+     * A simple interface for the heaps we time in the scaling test.
+     */
+    private interface IntQueue {
+        /**
+         * Adds a value.
+         *
+         * @param value the value to add.
+         */
+        void add(int value);
+
+        /**
+         * Removes the largest value.
+         */
+        void remove();
+    }
+
+    /**
+     * Runs the stress test and the scaling test.
+     *
+     * @param args The basic String[] args for any main method in Java.
+     * @throws InterruptedException if the main thread is interrupted while waiting
+     *                              for the worker threads.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("*** STRESS TEST ***");
+        stressTest(Math.min(Math.max(4, processors), MAX_STRESS_THREADS));
+
+        System.out.println();
+
+        System.out.println("*** SCALING TEST (" + processors + " processors, "
+                + SCALING_OPS_PER_THREAD + " ops per thread, alternating add / remove) ***");
+        System.out.printf("%8s %22s %22s %22s%n", "threads", "ConcurrentMaxHeap", "locked MaxHeap", "MultiQueue");
+        for (int threads = 1; threads <= 2 * processors; threads *= 2) {
+            ConcurrentMaxHeap<Integer> concurrent = new ConcurrentMaxHeap<>(SCALING_PREFILL + threads);
+            MaxHeap<Integer> locked = new MaxHeap<>(SCALING_PREFILL, true);
+            MultiQueue<Integer> multi = new MultiQueue<>(threads);
+
+            double concurrentOps = timeWorkload(threads, new IntQueue() {
+                public void add(int value) {
+                    concurrent.add(value);
+                }
+
+                public void remove() {
+                    concurrent.remove();
+                }
+            });
+            double lockedOps = timeWorkload(threads, new IntQueue() {
+                public synchronized void add(int value) {
+                    locked.add(value);
+                }
+
+                public synchronized void remove() {
+                    locked.remove();
+                }
+            });
+
+            double multiOps = timeWorkload(threads, new IntQueue() {
+                public void add(int value) {
+                    multi.add(value);
+                }
+
+                public void remove() {
+                    multi.remove();
+                }
+            });
+
+            System.out.printf("%8d %15.0f ops/s %15.0f ops/s %15.0f ops/s%n", threads, concurrentOps, lockedOps,
+                    multiOps);
+        }
+
+        System.out.println();
+
+        System.out.println("*** MULTIQUEUE RANK ERROR (" + RANK_PREFILL + " entries, alternating add / remove) ***");
+        System.out.println("The expected rank error is on the order of the number of queues.");
+        System.out.printf("%8s %8s %12s %12s %12s%n", "threads", "queues", "mean rank", "max rank", "mean/queues");
+        for (int threads = 1; threads <= Math.max(8, 2 * processors); threads *= 2) {
+            MultiQueue<Integer> multi = new MultiQueue<>(threads);
+            long[] errors = rankErrors(multi);
+            double mean = (double) errors[0] / errors[2];
+            System.out.printf("%8d %8d %12.2f %12d %12.2f%n", threads, multi.getNumQueues(), mean, errors[1],
+                    mean / multi.getNumQueues());
+        }
+    }
+
+    /**
+     * Has several threads add distinct values and remove values at the same time,
+     * then checks that no value was lost or duplicated and that the heap order holds.
+     *
+     * @param threads the number of threads to run.
+     * @throws InterruptedException if the main thread is interrupted while waiting
+     *                              for the worker threads.
+     */
+    private static void stressTest(int threads) throws InterruptedException {
+        int total = threads * STRESS_ENTRIES_PER_THREAD;
+        ConcurrentMaxHeap<Integer> heap = new ConcurrentMaxHeap<>(total);
+        List<int[]> removedPerThread = new ArrayList<>();
+        int[] removedCounts = new int[threads];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            int[] removed = new int[STRESS_ENTRIES_PER_THREAD];
+            removedPerThread.add(removed);
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int count = 0;
+                // Thread t adds the values t, t + threads, t + 2 * threads, ...
+                for (int i = 0; i < STRESS_ENTRIES_PER_THREAD; i++) {
+                    heap.add(i * threads + thread);
+                    // Remove about half as many entries as we add
+                    if (random.nextBoolean()) {
+                        Integer value = heap.remove();
+                        if (value != null) {
+                            removed[count++] = value;
+                        }
+                    }
+                }
+                removedCounts[thread] = count;
+            });
+            workers[t].start();
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Every removal from here on is sequential, so it must come out in order
+        boolean ordered = true;
+        int remaining = heap.getSize();
+        int[] drained = new int[remaining];
+        for (int i = 0; i < remaining; i++) {
+            drained[i] = heap.remove();
+            if (i > 0 && drained[i] > drained[i - 1]) {
+                ordered = false;
+            }
+        }
+
+        // Every value 0..total-1 must have been removed exactly once
+        boolean[] seen = new boolean[total];
+        int duplicates = 0;
+        int seenCount = 0;
+        for (int t = 0; t < threads; t++) {
+            int[] removed = Arrays.copyOf(removedPerThread.get(t), removedCounts[t]);
+            for (int value : removed) {
+                duplicates += seen[value] ? 1 : 0;
+                seenCount += seen[value] ? 0 : 1;
+                seen[value] = true;
+            }
+        }
+        for (int value : drained) {
+            duplicates += seen[value] ? 1 : 0;
+            seenCount += seen[value] ? 0 : 1;
+            seen[value] = true;
+        }
+
+        System.out.println("Threads: " + threads + ", values added: " + total);
+        System.out.println("Removed concurrently: " + (total - remaining) + ", drained afterwards: " + remaining);
+        System.out.println("Lost values: " + (total - seenCount) + ", duplicated values: " + duplicates);
+        System.out.println("Drained in order: " + ordered + ", heap empty afterwards: " + heap.isEmpty());
+        System.out.println((total == seenCount && duplicates == 0 && ordered && heap.isEmpty()) ? "PASSED" : "FAILED");
+    }
+
+    /**
+     * Times a mixed add/remove workload on a heap that starts with SCALING_PREFILL entries.
+     *
+     * Every thread alternates between adding and removing, so the heap never holds
+     * more than SCALING_PREFILL + threads entries.
+     *
+     * @param threads the number of threads to run.
+     * @param queue   the heap to run the workload on.
+     * @return the number of operations per second over all threads.
+     * @throws InterruptedException if the main thread is interrupted while waiting
+     *                              for the worker threads.
+     */
+    private static double timeWorkload(int threads, IntQueue queue) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < SCALING_PREFILL; i++) {
+            queue.add(random.nextInt());
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ThreadLocalRandom threadRandom = ThreadLocalRandom.current();
+                for (int i = 0; i < SCALING_OPS_PER_THREAD; i += 2) {
+                    queue.add(threadRandom.nextInt());
+                    queue.remove();
+                }
+            });
+            workers[t].start();
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        return (double) threads * SCALING_OPS_PER_THREAD * 1e9 / elapsed;
+    }
+
+    /**
+     * Measures the rank error of the removals of a MultiQueue.
+     *
+     * The rank error of a removal is the number of entries in the queue that are
+     * larger than the removed one, so an exact priority queue always has a rank
+     * error of 0. The keys are distinct, and a Fenwick tree over them counts the
+     * larger entries still in the queue in O(log n).
+     *
+     * The operations run on one thread, since the rank error comes from the random
+     * choice of queues and not from the threads themselves.
+     *
+     * @param queue the empty queue to measure.
+     * @return the sum of the rank errors, the largest rank error and the number of
+     *         removals.
+     */
+    private static long[] rankErrors(MultiQueue<Integer> queue) {
+        // Shuffle the keys so every add gets a distinct, random key
+        int[] keys = new int[RANK_KEYS];
+        for (int i = 0; i < RANK_KEYS; i++) {
+            keys[i] = i;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = RANK_KEYS - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int key = keys[i];
+            keys[i] = keys[j];
+            keys[j] = key;
+        }
+
+        // present[k] counts the keys in the queue, as a 1-based Fenwick tree
+        int[] present = new int[RANK_KEYS + 1];
+        int next = 0;
+        int inQueue = 0;
+        for (; next < RANK_PREFILL; next++) {
+            queue.add(keys[next]);
+            fenwickAdd(present, keys[next], 1);
+            inQueue++;
+        }
+
+        long sum = 0;
+        long max = 0;
+        long removals = 0;
+        while (next < RANK_KEYS) {
+            queue.add(keys[next]);
+            fenwickAdd(present, keys[next], 1);
+            inQueue++;
+            next++;
+
+            int removed = queue.remove();
+            fenwickAdd(present, removed, -1);
+            inQueue--;
+
+            // The entries larger than the removed one are the ones not at or below it
+            long rank = inQueue - fenwickCount(present, removed);
+            sum += rank;
+            max = Math.max(max, rank);
+            removals++;
+        }
+
+        return new long[] { sum, max, removals };
+    }
+
+    /**
+     * Adds a delta to the count of a key in a Fenwick tree.
+     *
+     * @param tree  the Fenwick tree.
+     * @param key   the 0-based key.
+     * @param delta the value to add to its count.
+     */
+    private static void fenwickAdd(int[] tree, int key, int delta) {
+        for (int i = key + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Counts the keys at or below a key in a Fenwick tree.
+     *
+     * @param tree the Fenwick tree.
+     * @param key  the 0-based key.
+     * @return the sum of the counts of the keys 0..key.
+     */
+    private static int fenwickCount(int[] tree, int key) {
+        int count = 0;
+        for (int i = key + 1; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+}
@@ -0,0 +1,494 @@
+package src;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The ConcurrentMaxHeap class, a thread-safe max heap that implements the
+ * ArrayHeapInterface interface.
+ *
+ * Instead of one lock around the whole heap, every node has its own lock, and
+ * one small heap lock only protects the size (this is the algorithm of Hunt,
+ * Michael, Parthasarathy and Scott, "An Efficient Algorithm for Concurrent
+ * Priority Queue Heaps", 1996). An add or a remove holds the heap lock just
+ * long enough to claim a slot, and then sifts while locking at most two nodes
+ * at a time, so producers and consumers working in different parts of the tree
+ * don't block each other.
+ *
+ * A few details make this work:
+ * - Every node has a tag: EMPTY, AVAILABLE, or the id of the add that is still
+ * sifting the node's entry up. A remove may move an entry that an add is
+ * sifting up, and the tag lets the add find its entry again.
+ * - New entries are placed in bit-reversed order along the bottom level, so
+ * consecutive adds start in different subtrees and rarely meet on the way up.
+ * - Locks are always taken parent before child (and the heap lock before any
+ * node), so there can be no deadlock.
+ *
+ * The heap has a fixed capacity, given to the constructor. The index of a
+ * ConcurrentMaxHeap starts at 1, like the MaxHeap class.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class ConcurrentMaxHeap<T> implements ArrayHeapInterface<T> {
+
+    /**
+     * The tag of a node that holds no entry.
+     */
+    private static final int EMPTY = 0;
+
+    /**
+     * The tag of a node whose entry is not being sifted up by an add.
+     */
+    private static final int AVAILABLE = -1;
+
+    /**
+     * The default capacity of any ConcurrentMaxHeap.
+     */
+    private static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * The entries of the heap. Index 0 is unused.
+     */
+    private final Object[] items;
+
+    /**
+     * The tags of the nodes (EMPTY, AVAILABLE, or the id of an add in progress).
+     */
+    private final int[] tags;
+
+    /**
+     * The lock of every node.
+     */
+    private final ReentrantLock[] locks;
+
+    /**
+     * The lock that protects the size.
+     */
+    private final ReentrantLock heapLock = new ReentrantLock();
+
+    /**
+     * The number of entries in the heap. Only changed while holding the heap lock.
+     */
+    private volatile int size;
+
+    /**
+     * The largest number of entries the heap can hold.
+     */
+    private final int capacity;
+
+    /**
+     * The order of the heap. The entry that compares greatest is kept at the top.
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Hands out a unique id to every add, used to tag the entry it is sifting up.
+     */
+    private final AtomicInteger addIds = new AtomicInteger();
+
+    /**
+     * Default Constructor.
+     */
+    public ConcurrentMaxHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initialize the Heap with a specific capacity.
+     *
+     * @param capacity the largest number of entries the heap can hold.
+     */
+    public ConcurrentMaxHeap(int capacity) {
+        this(capacity, AbstractHeap.naturalOrder());
+    }
+
+    /**
+     * Initialize the Heap with a specific capacity and a Comparator.
+     *
+     * @param capacity   the largest number of entries the heap can hold.
+     * @param comparator the order of the heap. The entry that compares greatest is
+     *                   kept at the top.
+     * @throws IllegalArgumentException if the capacity is less than 1 or too
+     *                                  large, or the comparator is null.
+     */
+    public ConcurrentMaxHeap(int capacity, Comparator<? super T> comparator) {
+        if (capacity < 1 || capacity > 1 << 29)
+            throw new IllegalArgumentException("Attempted to create a heap with a capacity (" + capacity
+                    + ") which is too " + (capacity < 1 ? "small" : "large"));
+        if (comparator == null)
+            throw new IllegalArgumentException("Attempted to create a heap without a comparator");
+
+        // Bit-reversed order can place the last entry anywhere on the bottom level,
+        // so we need room for every node of that level
+        int length = Integer.highestOneBit(capacity) * 2;
+
+        this.capacity = capacity;
+        this.comparator = comparator;
+        this.items = new Object[length];
+        this.tags = new int[length];
+        this.locks = new ReentrantLock[length];
+        for (int i = 1; i < length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.size = 0;
+    }
+
+    /**
+     * Gets the node index of the n-th entry in bit-reversed order.
+     *
+     * The n-th entry lives on level floor(log2(n)). Its offset inside the level
+     * is reversed bit by bit, so entries that are added one after the other
+     * land in different subtrees.
+     *
+     * @param n the number of the entry (starting at 1).
+     * @return the index of the node of the entry.
+     */
+    private static int bitReversedIndex(int n) {
+        int levelStart = Integer.highestOneBit(n);
+        int bits = Integer.numberOfTrailingZeros(levelStart);
+        if (bits == 0) {
+            return n;
+        }
+        int offset = n - levelStart;
+        return levelStart | (Integer.reverse(offset) >>> (32 - bits));
+    }
+
+    /**
+     * Gets a fresh id for an add, never EMPTY or AVAILABLE.
+     *
+     * @return the id.
+     */
+    private int nextAddId() {
+        int id = addIds.incrementAndGet() & Integer.MAX_VALUE;
+        return id == EMPTY ? 1 : id;
+    }
+
+    /**
+     * Swaps the entries (and tags) of two locked nodes.
+     *
+     * @param first  the index of the first node.
+     * @param second the index of the second node.
+     */
+    private void swapNodes(int first, int second) {
+        Object tempItem = items[first];
+        items[first] = items[second];
+        items[second] = tempItem;
+
+        int tempTag = tags[first];
+        tags[first] = tags[second];
+        tags[second] = tempTag;
+    }
+
+    /**
+     * Compares the entries of two nodes.
+     *
+     * @param first  the index of the first node.
+     * @param second the index of the second node.
+     * @return true if the first entry comes before the second one.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean comesBefore(int first, int second) {
+        return comparator.compare((T) items[first], (T) items[second]) > 0;
+    }
+
+    /**
+     * Adds an entry to the Heap.
+     *
+     * @param entry The entry we want to add to the Heap
+     * @throws IllegalStateException if the heap is full.
+     */
+    @Override
+    public void add(T entry) {
+        int id = nextAddId();
+
+        // Claim the next slot while holding the heap lock
+        heapLock.lock();
+        int i;
+        try {
+            if (size == capacity) {
+                throw new IllegalStateException("ConcurrentMaxHeap has reached its capacity (" + capacity + ").");
+            }
+            i = bitReversedIndex(size + 1);
+            locks[i].lock();
+            size++;
+        } finally {
+            heapLock.unlock();
+        }
+
+        // Place the entry, tagged with our id
+        items[i] = entry;
+        tags[i] = id;
+        locks[i].unlock();
+
+        // Sift the entry up, locking the parent and then the child
+        while (i > 1) {
+            int parent = i / 2;
+            int child = i;
+            boolean retry = false;
+            locks[parent].lock();
+            locks[child].lock();
+            try {
+                if (tags[parent] == AVAILABLE && tags[child] == id) {
+                    // Our entry is still here, compare it with its parent
+                    if (comesBefore(child, parent)) {
+                        swapNodes(child, parent);
+                        i = parent;
+                    } else {
+                        tags[child] = AVAILABLE;
+                        i = 0;
+                    }
+                } else if (tags[parent] == EMPTY) {
+                    // A remove took our entry to the root and already settled it
+                    i = 0;
+                } else if (tags[child] != id) {
+                    // A remove moved our entry up, follow it
+                    i = parent;
+                } else {
+                    // The parent is being sifted up by another add, try again
+                    retry = true;
+                }
+            } finally {
+                locks[child].unlock();
+                locks[parent].unlock();
+            }
+
+            // Give the other add a chance to take the locks we just released
+            if (retry) {
+                Thread.yield();
+            }
+        }
+
+        // Our entry reached the root
+        if (i == 1) {
+            locks[1].lock();
+            try {
+                if (tags[1] == id) {
+                    tags[1] = AVAILABLE;
+                }
+            } finally {
+                locks[1].unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the heap's largest item.
+     *
+     * @return the heap's largest item, null if the heap is empty.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T remove() {
+        // Release the last slot while holding the heap lock
+        heapLock.lock();
+        int bottom;
+        try {
+            if (size == 0) {
+                return null;
+            }
+            bottom = bitReversedIndex(size);
+            locks[bottom].lock();
+            size--;
+        } finally {
+            heapLock.unlock();
+        }
+
+        // Take the entry out of the last slot
+        T last = (T) items[bottom];
+        items[bottom] = null;
+        tags[bottom] = EMPTY;
+        locks[bottom].unlock();
+
+        locks[1].lock();
+        // If the last slot was the root, its entry was the largest
+        if (tags[1] == EMPTY) {
+            locks[1].unlock();
+            return last;
+        }
+
+        // Swap the last entry in for the root
+        T max = (T) items[1];
+        items[1] = last;
+        tags[1] = AVAILABLE;
+
+        // Sift it down, holding the lock of the node we are at
+        int i = 1;
+        while (2 * i + 1 < items.length) {
+            int left = 2 * i;
+            int right = left + 1;
+            locks[left].lock();
+            locks[right].lock();
+
+            int child;
+            if (tags[left] == EMPTY) {
+                locks[right].unlock();
+                locks[left].unlock();
+                break;
+            } else if (tags[right] == EMPTY || comesBefore(left, right)) {
+                locks[right].unlock();
+                child = left;
+            } else {
+                locks[left].unlock();
+                child = right;
+            }
+
+            if (comesBefore(child, i)) {
+                swapNodes(child, i);
+                locks[i].unlock();
+                i = child;
+            } else {
+                locks[child].unlock();
+                break;
+            }
+        }
+        locks[i].unlock();
+
+        return max;
+    }
+
+    /**
+     * Get the max item in the heap.
+     *
+     * @return the heap's largest item, null if the heap is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T getMax() {
+        locks[1].lock();
+        try {
+            return tags[1] == EMPTY ? null : (T) items[1];
+        } finally {
+            locks[1].unlock();
+        }
+    }
+
+    /**
+     * Checks if we can add an entry to a given index, as of the moment we look.
+     *
+     * @param index The index we want to place the entry at.
+     * @param entry The entry we want to add
+     * @return true if we can add the entry, false if we cannot
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean canAdd(int index, T entry) {
+        if (index < 1 || index >= items.length) {
+            throw new IndexOutOfBoundsException("The index provided (" + index
+                    + ") does not fall within the range of the heap [1-" + (items.length - 1) + "].");
+        }
+
+        locks[index].lock();
+        try {
+            return tags[index] != EMPTY && comparator.compare(entry, (T) items[index]) > 0;
+        } finally {
+            locks[index].unlock();
+        }
+    }
+
+    /**
+     * Gets the index of a parent given the index of the child.
+     *
+     * @param childIndex The index of a child node.
+     * @return The index of the child's parent, -1 if there is no parent.
+     */
+    @Override
+    public int getParentIndex(int childIndex) {
+        return childIndex <= 1 ? -1 : childIndex / 2;
+    }
+
+    /**
+     * Gets the index of a child given the index of the parent, as of the moment we
+     * look.
+     *
+     * Since new entries are placed in bit-reversed order, the children of a node
+     * are not always the last entries of the heap, so we check the tag of the
+     * first child instead of comparing with the size.
+     *
+     * @param parentIndex The index of a parent node.
+     * @return The index of the first child of the parent (add 1 for the second
+     *         child), -1 if there is no child.
+     */
+    @Override
+    public int getChildIndex(int parentIndex) {
+        if (parentIndex < 1 || 2L * parentIndex >= items.length) {
+            return -1;
+        }
+
+        int childIndex = 2 * parentIndex;
+        locks[childIndex].lock();
+        try {
+            return tags[childIndex] == EMPTY ? -1 : childIndex;
+        } finally {
+            locks[childIndex].unlock();
+        }
+    }
+
+    /**
+     * Checks if the Heap is empty
+     *
+     * @return true if the heap is empty, false if it isn't
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the size of the heap (how many entries are in the heap)
+     *
+     * @return The size of the heap
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the largest number of entries the heap can hold.
+     *
+     * @return The capacity of the heap
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Clears a heap of all its entries.
+     *
+     * Entries are removed one at a time, so this is safe to call while other
+     * threads use the heap (entries they add meanwhile may or may not be removed).
+     */
+    @Override
+    public void clear() {
+        int toRemove = size;
+        for (int i = 0; i < toRemove && remove() != null; i++)
+            ;
+    }
+
+    /**
+     * Returns a preview of the first 10 nodes of the heap, as of the moment we
+     * look at each node.
+     *
+     * @return The string preview of the heap
+     */
+    public String preview() {
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 1; i <= 10 && i < items.length; i++) {
+            locks[i].lock();
+            try {
+                if (tags[i] != EMPTY) {
+                    output.append(items[i]).append(", ");
+                }
+            } finally {
+                locks[i].unlock();
+            }
+        }
+
+        output.append("...]");
+
+        return output.toString();
+    }
+}
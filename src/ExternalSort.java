@@ -0,0 +1,550 @@
+package src;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * The ExternalSort class, which sorts files of integers that are too large to
+ * fit in memory.
+ *
+ * The sort has two phases, and never holds more integers in memory than the
+ * memory budget allows:
+ * - the run phase reads the input with an IntFileLoader into a chunk as large
+ * as the budget. Every time the chunk is full, it is heapsorted with the
+ * HeapSort class and written to a temporary run file.
+ * - the merge phase opens every run with a cursor that reads it through its
+ * own buffer, and keeps the cursors in a MaxHeap ordered so the cursor with
+ * the smallest next integer is at the top. The top integer is written to the
+ * output and its cursor moves forward, with one replaceTop. If there are more
+ * runs than the budget has buffers for, groups of runs are first merged into
+ * longer runs, until they all fit.
+ *
+ * The input can be any file the IntFileLoader reads (like the data files of the
+ * HeapDriver class). The output has one integer per line, from the smallest to
+ * the largest. The runs are binary, and every file is read and written
+ * sequentially through a FileChannel and a ByteBuffer.
+ *
+ * An ExternalSort is not thread-safe.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class ExternalSort {
+
+    /**
+     * The default memory budget, in bytes.
+     */
+    private static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+    /**
+     * The smallest memory budget, in bytes.
+     */
+    private static final long MIN_MEMORY_BUDGET = 64L << 10;
+
+    /**
+     * The smallest buffer of a run during the merge phase, in bytes.
+     */
+    private static final int MIN_BUFFER_SIZE = 4 << 10;
+
+    /**
+     * The largest buffer of a file, in bytes.
+     */
+    private static final int MAX_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The largest number of runs merged at once, whatever the budget.
+     */
+    private static final int MAX_FAN_IN = 1024;
+
+    /**
+     * The number of bytes of an integer in a run.
+     */
+    private static final int INT_BYTES = Integer.BYTES;
+
+    /**
+     * The largest number of bytes of an integer in the output, with its sign and
+     * its line break.
+     */
+    private static final int MAX_TEXT_BYTES = 12;
+
+    /**
+     * The memory budget, in bytes.
+     */
+    private final long memoryBudget;
+
+    /**
+     * The directory the runs are written to.
+     */
+    private final Path tempDirectory;
+
+    /**
+     * The number of integers of the last file sorted.
+     */
+    private long numValues;
+
+    /**
+     * The number of runs the run phase of the last sort wrote.
+     */
+    private int numRuns;
+
+    /**
+     * The number of passes the merge phase of the last sort took.
+     */
+    private int numMergePasses;
+
+    /**
+     * The time the run phase of the last sort took, in nanoseconds.
+     */
+    private long runNanos;
+
+    /**
+     * The time the merge phase of the last sort took, in nanoseconds.
+     */
+    private long mergeNanos;
+
+    /**
+     * Default Constructor. Uses a 64 MB budget and the default temporary
+     * directory.
+     */
+    public ExternalSort() {
+        this(DEFAULT_MEMORY_BUDGET, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Initialize the sort with a specific memory budget, and the default
+     * temporary directory.
+     *
+     * @param memoryBudget the memory budget, in bytes.
+     */
+    public ExternalSort(long memoryBudget) {
+        this(memoryBudget, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Initialize the sort with a specific memory budget and temporary directory.
+     *
+     * @param memoryBudget  the memory budget, in bytes. It bounds the chunk of
+     *                      the run phase and the buffers of the merge phase.
+     * @param tempDirectory the directory the runs are written to.
+     * @throws IllegalArgumentException if the budget is too small or the
+     *                                  directory is null.
+     */
+    public ExternalSort(long memoryBudget, Path tempDirectory) {
+        if (memoryBudget < MIN_MEMORY_BUDGET)
+            throw new IllegalArgumentException("Attempted to create a sort with a memory budget (" + memoryBudget
+                    + ") which is too small");
+        if (tempDirectory == null)
+            throw new IllegalArgumentException("Attempted to create a sort without a temporary directory");
+
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Sorts a file of integers into another file, one integer per line, from the
+     * smallest to the largest.
+     *
+     * @param input  the file to sort.
+     * @param output the sorted file. It is replaced if it exists.
+     * @throws IOException           if a file can't be read or written.
+     * @throws NumberFormatException if the input has something other than
+     *                               integers.
+     */
+    public void sort(Path input, Path output) throws IOException {
+        // Every run we create, so they are all deleted even if the sort fails
+        List<Path> created = new ArrayList<>();
+        try {
+            long start = System.nanoTime();
+            writeRuns(input, created);
+            runNanos = System.nanoTime() - start;
+            numRuns = created.size();
+
+            start = System.nanoTime();
+            numMergePasses = 0;
+            int fanIn = fanIn();
+            List<Path> runs = new ArrayList<>(created);
+            while (runs.size() > fanIn) {
+                // Merge the runs a group at a time into longer runs
+                List<Path> merged = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += fanIn) {
+                    List<Path> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+                    Path run = newRun();
+                    created.add(run);
+                    merged.add(run);
+                    merge(group, run, false);
+                    for (Path used : group) {
+                        Files.deleteIfExists(used);
+                    }
+                }
+                runs = merged;
+                numMergePasses++;
+            }
+            merge(runs, output, true);
+            numMergePasses++;
+            mergeNanos = System.nanoTime() - start;
+        } finally {
+            for (Path run : created) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Reads the input in chunks, and writes every chunk as a sorted run.
+     *
+     * @param input the file to sort.
+     * @param runs  the list the runs are added to.
+     * @throws IOException if a file can't be read or written.
+     */
+    private void writeRuns(Path input, List<Path> runs) throws IOException {
+        RunWriter writer = new RunWriter(runs);
+        try {
+            numValues = new IntFileLoader().forEach(input, writer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (writer.size > 0) {
+            writer.spill();
+        }
+    }
+
+    /**
+     * Collects the integers of the input into a chunk, and writes the chunk as a
+     * run every time it is full.
+     */
+    private final class RunWriter implements IntConsumer {
+
+        /**
+         * The list the runs are added to.
+         */
+        private final List<Path> runs;
+
+        /**
+         * The largest chunk the budget allows. The chunk takes the whole budget,
+         * the loader and the run buffer are small next to it.
+         */
+        private final int maxChunk = (int) Math.min(memoryBudget / INT_BYTES, Integer.MAX_VALUE - 8);
+
+        /**
+         * The chunk. It starts small and doubles up to maxChunk, so a small input
+         * doesn't allocate the whole budget.
+         */
+        private int[] chunk = new int[Math.min(maxChunk, MAX_BUFFER_SIZE)];
+
+        /**
+         * The number of integers in the chunk.
+         */
+        private int size;
+
+        /**
+         * The buffer the runs are written through.
+         */
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(MAX_BUFFER_SIZE);
+
+        /**
+         * Initialize the writer.
+         *
+         * @param runs the list the runs are added to.
+         */
+        private RunWriter(List<Path> runs) {
+            this.runs = runs;
+        }
+
+        /**
+         * Adds an integer to the chunk, growing it or writing it first if it is
+         * full.
+         *
+         * @param value the integer.
+         * @throws UncheckedIOException if a run can't be written (an IntConsumer
+         *                              can't throw an IOException).
+         */
+        @Override
+        public void accept(int value) {
+            if (size == chunk.length) {
+                if (chunk.length < maxChunk) {
+                    chunk = Arrays.copyOf(chunk, (int) Math.min((long) chunk.length * 2, maxChunk));
+                } else {
+                    spill();
+                }
+            }
+            chunk[size++] = value;
+        }
+
+        /**
+         * Heapsorts the chunk, writes it as a new run and empties it.
+         *
+         * @throws UncheckedIOException if the run can't be written.
+         */
+        private void spill() {
+            HeapSort.sort(chunk, 0, size);
+            try {
+                Path run = newRun();
+                runs.add(run);
+                try (FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+                    buffer.clear();
+                    for (int i = 0; i < size; i++) {
+                        if (buffer.remaining() < INT_BYTES) {
+                            drain(channel, buffer);
+                        }
+                        buffer.putInt(chunk[i]);
+                    }
+                    drain(channel, buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            size = 0;
+        }
+    }
+
+    /**
+     * Merges sorted runs into a run or into the text output.
+     *
+     * @param runs   the runs.
+     * @param target the file the result is written to.
+     * @param text   if the result is the text output (one integer per line)
+     *               instead of a binary run.
+     * @throws IOException if a file can't be read or written.
+     */
+    private void merge(List<Path> runs, Path target, boolean text) throws IOException {
+        int bufferSize = bufferSize(runs.size());
+
+        // The cursor with the smallest next integer compares greatest, so it stays at the top
+        MaxHeap<RunCursor> cursors = new MaxHeap<>(runs.size(),
+                (first, second) -> Integer.compare(second.value, first.value));
+        List<RunCursor> opened = new ArrayList<>(runs.size());
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Path run : runs) {
+                RunCursor cursor = new RunCursor(run, bufferSize);
+                opened.add(cursor);
+                if (cursor.next()) {
+                    cursors.add(cursor);
+                }
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(MAX_BUFFER_SIZE);
+            while (!cursors.isEmpty()) {
+                RunCursor cursor = cursors.getMax();
+                if (buffer.remaining() < MAX_TEXT_BYTES) {
+                    drain(out, buffer);
+                }
+                if (text) {
+                    putText(buffer, cursor.value);
+                } else {
+                    buffer.putInt(cursor.value);
+                }
+
+                // The cursor moved forward, so sink it back into place (or drop it if it ran out)
+                if (cursor.next()) {
+                    cursors.replaceTop(cursor);
+                } else {
+                    cursors.remove();
+                }
+            }
+            drain(out, buffer);
+        } finally {
+            for (RunCursor cursor : opened) {
+                cursor.close();
+            }
+        }
+    }
+
+    /**
+     * Writes an integer and a line break into a buffer, as ASCII digits.
+     *
+     * @param buffer the buffer, with room for MAX_TEXT_BYTES bytes.
+     * @param value  the integer.
+     */
+    private static void putText(ByteBuffer buffer, int value) {
+        // Work with the negative value, so Integer.MIN_VALUE doesn't overflow
+        int negative = value < 0 ? value : -value;
+        if (value < 0) {
+            buffer.put((byte) '-');
+        }
+
+        // Write the digits backwards at the end of the room, then move them forward
+        int start = buffer.position();
+        int end = start + MAX_TEXT_BYTES - 1;
+        int digit = end;
+        do {
+            buffer.put(--digit, (byte) ('0' - negative % 10));
+            negative /= 10;
+        } while (negative != 0);
+        for (int i = digit; i < end; i++) {
+            buffer.put(buffer.get(i));
+        }
+        buffer.put((byte) '\n');
+    }
+
+    /**
+     * Writes everything in a buffer to a channel, and clears the buffer.
+     *
+     * @param channel the channel.
+     * @param buffer  the buffer.
+     * @throws IOException if the channel can't be written.
+     */
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Creates an empty run file in the temporary directory.
+     *
+     * @return the run file.
+     * @throws IOException if the file can't be created.
+     */
+    private Path newRun() throws IOException {
+        return Files.createTempFile(tempDirectory, "run-", ".bin");
+    }
+
+    /**
+     * Gets the largest number of runs the budget has buffers for.
+     *
+     * @return the number of runs merged at once.
+     */
+    private int fanIn() {
+        // Keep one buffer's worth of the budget for the output
+        long buffers = memoryBudget / MIN_BUFFER_SIZE - 1;
+        return (int) Math.max(2, Math.min(buffers, MAX_FAN_IN));
+    }
+
+    /**
+     * Gets the size of the buffer of every run when merging a number of runs.
+     *
+     * @param runs the number of runs.
+     * @return the size of the buffer, in bytes (a multiple of INT_BYTES).
+     */
+    private int bufferSize(int runs) {
+        long share = memoryBudget / (runs + 1);
+        int size = (int) Math.max(MIN_BUFFER_SIZE, Math.min(share, MAX_BUFFER_SIZE));
+        return size - size % INT_BYTES;
+    }
+
+    /**
+     * Reads the integers of a run, in order, through its own buffer.
+     */
+    private static final class RunCursor implements AutoCloseable {
+
+        /**
+         * The run.
+         */
+        private final FileChannel channel;
+
+        /**
+         * The buffer the run is read into.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * The current integer of the run.
+         */
+        private int value;
+
+        /**
+         * Opens a run.
+         *
+         * @param run        the run.
+         * @param bufferSize the size of the buffer, in bytes.
+         * @throws IOException if the run can't be opened.
+         */
+        private RunCursor(Path run, int bufferSize) throws IOException {
+            channel = FileChannel.open(run, StandardOpenOption.READ);
+            buffer = ByteBuffer.allocate(bufferSize);
+            // Start with an empty buffer, so the first next() reads
+            buffer.flip();
+        }
+
+        /**
+         * Moves to the next integer of the run.
+         *
+         * @return true if there was one, false if the run ran out.
+         * @throws IOException if the run can't be read.
+         */
+        private boolean next() throws IOException {
+            if (buffer.remaining() < INT_BYTES) {
+                buffer.compact();
+                while (buffer.position() < INT_BYTES) {
+                    if (channel.read(buffer) < 0) {
+                        buffer.flip();
+                        return false;
+                    }
+                }
+                buffer.flip();
+            }
+            value = buffer.getInt();
+            return true;
+        }
+
+        /**
+         * Closes the run.
+         *
+         * @throws IOException if the run can't be closed.
+         */
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Gets the number of integers of the last file sorted.
+     *
+     * @return the number of integers.
+     */
+    public long getNumValues() {
+        return numValues;
+    }
+
+    /**
+     * Gets the number of runs the last sort wrote before merging.
+     *
+     * @return the number of runs.
+     */
+    public int getNumRuns() {
+        return numRuns;
+    }
+
+    /**
+     * Gets the number of passes over the data the merge phase of the last sort
+     * took (1 if every run fit in a single merge).
+     *
+     * @return the number of passes.
+     */
+    public int getNumMergePasses() {
+        return numMergePasses;
+    }
+
+    /**
+     * Gets the time the run phase of the last sort took.
+     *
+     * @return the time, in nanoseconds.
+     */
+    public long getRunNanos() {
+        return runNanos;
+    }
+
+    /**
+     * Gets the time the merge phase of the last sort took.
+     *
+     * @return the time, in nanoseconds.
+     */
+    public long getMergeNanos() {
+        return mergeNanos;
+    }
+}
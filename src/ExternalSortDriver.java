@@ -0,0 +1,92 @@
+package src;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The ExternalSortDriver class that sorts a file of integers with the
+ * ExternalSort class under several memory budgets.
+ *
+ * The smaller the budget, the more runs the sort writes, and the smallest
+ * budget needs more than one merge pass. Every sorted file is checked against
+ * the input sorted in memory with Arrays.sort.
+ *
+ * The file to sort can be passed as the first argument. Otherwise, a temporary
+ * file of GENERATED_VALUES random integers is generated and deleted afterwards.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class ExternalSortDriver {
+
+    /**
+     * The number of integers in the generated file.
+     */
+    private static final int GENERATED_VALUES = 5_000_000;
+
+    /**
+     * The memory budgets we try, in bytes.
+     */
+    private static final long[] BUDGETS = { 64L << 20, 4L << 20, 256L << 10, 64L << 10 };
+
+    /**
+     * Sorts the file under every budget and prints the phases and the check.
+     *
+     * @param args The basic String[] args for any main method in Java. The
+     *             first one, if any, is the file to sort.
+     * @throws IOException if a file can't be generated, read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        boolean generated = args.length == 0;
+        Path input = generated ? generateFile(GENERATED_VALUES) : Path.of(args[0]);
+        Path output = Files.createTempFile("sorted", ".txt");
+
+        try {
+            int[] expected = new IntFileLoader().readAll(input);
+            Arrays.sort(expected);
+
+            System.out.println("*** EXTERNAL SORT TEST (" + expected.length + " integers, "
+                    + Files.size(input) / (1 << 20) + " MB) ***");
+            System.out.printf("%12s %8s %8s %10s %10s %8s%n", "budget KB", "runs", "passes", "run ms", "merge ms",
+                    "checks");
+
+            for (long budget : BUDGETS) {
+                ExternalSort sort = new ExternalSort(budget);
+                sort.sort(input, output);
+
+                int[] sorted = new IntFileLoader().readAll(output);
+                System.out.printf("%12d %8d %8d %10.1f %10.1f %8s%n", budget >> 10, sort.getNumRuns(),
+                        sort.getNumMergePasses(), sort.getRunNanos() / 1e6, sort.getMergeNanos() / 1e6,
+                        Arrays.equals(sorted, expected) ? "PASSED" : "FAILED");
+            }
+        } finally {
+            Files.deleteIfExists(output);
+            if (generated) {
+                Files.deleteIfExists(input);
+            }
+        }
+    }
+
+    /**
+     * Generates a temporary file of random integers, one on each line.
+     *
+     * @param count the number of integers.
+     * @return the file.
+     * @throws IOException if the file can't be written.
+     */
+    private static Path generateFile(int count) throws IOException {
+        Path file = Files.createTempFile("unsorted", ".txt");
+        Random random = new Random();
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(Integer.toString(random.nextInt()));
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+}
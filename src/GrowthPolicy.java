@@ -0,0 +1,205 @@
+package src;
+
+/**
+ * The GrowthPolicy class, the way a ResizeableList grows and shrinks.
+ *
+ * A policy grows the capacity either by a factor (the default doubles it) or
+ * by a fixed increment, and never past a cap. Each resize allocates the new
+ * array once and copies the entries with System.arraycopy.
+ *
+ * A policy can also shrink the list, so a list that spiked during a burst gives
+ * its memory back once it drains. The list shrinks when its entries fall to
+ * SHRINK_DIVISOR-th of its capacity, and then only down to twice its entries.
+ * The list that just shrank is half full: it has to double before it grows
+ * again, or halve before it shrinks again, so a list that hovers around a size
+ * never resizes back and forth. A list never shrinks below the capacity it was
+ * created with (trimToSize can still trim it further).
+ *
+ * Policies are immutable. The withCap and withShrinking methods return a new
+ * policy:
+ * GrowthPolicy.byIncrement(1024).withCap(8192).withShrinking()
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public final class GrowthPolicy {
+
+    /**
+     * The fraction of its capacity a shrinking list has to fall to before it
+     * shrinks (a quarter).
+     */
+    static final int SHRINK_DIVISOR = 4;
+
+    /**
+     * The policy of every list that isn't given one: double the capacity, up to
+     * ResizeableList.MAX_CAPACITY, and never shrink.
+     */
+    public static final GrowthPolicy DEFAULT = new GrowthPolicy(2.0, 0, ResizeableList.MAX_CAPACITY, false);
+
+    /**
+     * The factor the capacity is multiplied by, or 0 for a fixed increment.
+     */
+    private final double factor;
+
+    /**
+     * The fixed number of slots added to the capacity, or 0 for a factor.
+     */
+    private final int increment;
+
+    /**
+     * The largest capacity the policy grows to.
+     */
+    private final int cap;
+
+    /**
+     * If the list shrinks once it drains.
+     */
+    private final boolean shrinking;
+
+    /**
+     * Initialize a policy. Use the factory methods.
+     *
+     * @param factor    the growth factor, or 0.
+     * @param increment the growth increment, or 0.
+     * @param cap       the largest capacity.
+     * @param shrinking if the list shrinks once it drains.
+     */
+    private GrowthPolicy(double factor, int increment, int cap, boolean shrinking) {
+        this.factor = factor;
+        this.increment = increment;
+        this.cap = cap;
+        this.shrinking = shrinking;
+    }
+
+    /**
+     * Gets a policy that multiplies the capacity by a factor, up to
+     * ResizeableList.MAX_CAPACITY.
+     *
+     * Smaller factors waste less memory but copy the entries more often: a
+     * factor of 1.5 leaves at most a third of the array unused, and copies each
+     * entry about twice on average instead of once.
+     *
+     * @param factor the factor.
+     * @return the policy.
+     * @throws IllegalArgumentException if the factor is not greater than 1.
+     */
+    public static GrowthPolicy byFactor(double factor) {
+        if (!(factor > 1.0))
+            throw new IllegalArgumentException("Attempted to create a growth policy with a factor (" + factor
+                    + ") which is too small");
+        return new GrowthPolicy(factor, 0, ResizeableList.MAX_CAPACITY, false);
+    }
+
+    /**
+     * Gets a policy that adds a fixed number of slots to the capacity, up to
+     * ResizeableList.MAX_CAPACITY.
+     *
+     * This wastes at most the increment, but filling a list of n entries copies
+     * O(n^2 / increment) references, so it suits lists whose final size is
+     * roughly known.
+     *
+     * @param increment the number of slots.
+     * @return the policy.
+     * @throws IllegalArgumentException if the increment is less than 1.
+     */
+    public static GrowthPolicy byIncrement(int increment) {
+        if (increment < 1)
+            throw new IllegalArgumentException("Attempted to create a growth policy with an increment ("
+                    + increment + ") which is too small");
+        return new GrowthPolicy(0, increment, ResizeableList.MAX_CAPACITY, false);
+    }
+
+    /**
+     * Gets the same policy with a lower cap. The list throws an
+     * IllegalArgumentException when it has to grow past the cap.
+     *
+     * @param newCap the largest capacity (at most ResizeableList.MAX_CAPACITY).
+     * @return the policy.
+     * @throws IllegalArgumentException if the cap is less than 1 or greater than
+     *                                  ResizeableList.MAX_CAPACITY.
+     */
+    public GrowthPolicy withCap(int newCap) {
+        if (newCap < 1 || newCap > ResizeableList.MAX_CAPACITY)
+            throw new IllegalArgumentException("Attempted to create a growth policy with a cap (" + newCap
+                    + ") which is out of the range [1-" + ResizeableList.MAX_CAPACITY + "]");
+        return new GrowthPolicy(factor, increment, newCap, shrinking);
+    }
+
+    /**
+     * Gets the same policy, but shrinking the list once it drains.
+     *
+     * @return the policy.
+     */
+    public GrowthPolicy withShrinking() {
+        return new GrowthPolicy(factor, increment, cap, true);
+    }
+
+    /**
+     * Gets the largest capacity the policy grows to.
+     *
+     * @return the cap.
+     */
+    public int getCap() {
+        return cap;
+    }
+
+    /**
+     * Checks if the list shrinks once it drains.
+     *
+     * @return true if it shrinks, false if it doesn't.
+     */
+    public boolean isShrinking() {
+        return shrinking;
+    }
+
+    /**
+     * Computes the capacity to grow to, applying the policy as many times as
+     * needed at once so the entries are only copied once.
+     *
+     * @param capacity the current capacity.
+     * @param required the smallest capacity that is enough.
+     * @return the new capacity, or the cap if it isn't enough (the caller then
+     *         rejects it).
+     */
+    int grow(int capacity, int required) {
+        long newCapacity = capacity;
+        while (newCapacity < required && newCapacity < cap) {
+            if (increment > 0) {
+                newCapacity += increment;
+            } else {
+                // Always grow by at least one slot, even from a tiny capacity
+                newCapacity = Math.max(newCapacity + 1, (long) (newCapacity * factor));
+            }
+        }
+        return (int) Math.min(newCapacity, cap);
+    }
+
+    /**
+     * Computes the capacity to shrink to once entries are removed.
+     *
+     * @param capacity the current capacity.
+     * @param entries  the number of entries left.
+     * @param minimum  the capacity the list never shrinks below.
+     * @return the new capacity, or the current capacity if the list shouldn't
+     *         shrink.
+     */
+    int shrink(int capacity, int entries, int minimum) {
+        if (!shrinking || capacity <= minimum || entries > capacity / SHRINK_DIVISOR) {
+            return capacity;
+        }
+        return Math.max(minimum, entries * 2);
+    }
+
+    /**
+     * Represents the policy as a string.
+     *
+     * @return The string representation of the policy
+     */
+    @Override
+    public String toString() {
+        return (increment > 0 ? "+" + increment : "x" + factor) + " up to " + cap
+                + (shrinking ? ", shrinking" : "");
+    }
+}
@@ -1,9 +1,10 @@
 package src;
 
-import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.Scanner;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  * The HeapDriver class that tests basic functionality of the MaxHeap
@@ -67,6 +68,57 @@ public class HeapDriver {
 
         System.out.println();
 
+        System.out.println("*** TESTING 4-ARY HEAP ***");
+        MaxHeap<Integer> h4 = new MaxHeap<>(items, true, 4);
+        System.out.println(h4);
+
+        System.out.println();
+
+        System.out.println("*** TESTING MIN HEAP ***");
+        MinHeap<Integer> minHeap = new MinHeap<>(items, true);
+        System.out.println(minHeap);
+
+        System.out.println();
+
+        System.out.println("*** TESTING PRIMITIVE INT HEAP ***");
+        int[] intItems = { 10, 20, 30, 40, 50, 60, 70, 80, 90 };
+        IntMaxHeap intHeap = new IntMaxHeap(intItems, true);
+        System.out.println(intHeap);
+
+        System.out.println();
+
+        System.out.println("*** TESTING OFF-HEAP HEAP ***");
+        // Keys with payloads (here, the position of each key in the array)
+        try (OffHeapMaxHeap offHeap = new OffHeapMaxHeap(intItems.length, true)) {
+            for (int i = 0; i < intItems.length; i++) {
+                offHeap.add(intItems[i], i);
+            }
+            System.out.println(offHeap);
+            System.out.println("Max: " + offHeap.getMax() + " (payload " + offHeap.getMaxPayload() + ")");
+        }
+
+        System.out.println();
+
+        System.out.println("*** TESTING STREAMING LOAD ***");
+        // Stream the file straight into the heaps, without an array in between
+        IntFileLoader loader = new IntFileLoader();
+        try {
+            MaxHeap<Integer> loadedHeap = new MaxHeap<>();
+            IntMaxHeap loadedIntHeap = new IntMaxHeap();
+            loader.loadInto(Path.of(RANDOM_DATA_FILE), loadedHeap);
+            loader.loadInto(Path.of(RANDOM_DATA_FILE), loadedIntHeap);
+            System.out.println("MaxHeap: " + loadedHeap.preview() + " (" + loadedHeap.getSize() + " entries)");
+            System.out.println("IntMaxHeap: " + loadedIntHeap.preview() + " (" + loadedIntHeap.getSize() + " entries)");
+
+            // Only keep the 5 largest values, instead of the whole file
+            int[] top = TopK.largest(5, loader.readAll(Path.of(RANDOM_DATA_FILE)));
+            System.out.println("5 largest: " + Arrays.toString(top));
+        } catch (IOException e) {
+            System.out.println("File " + RANDOM_DATA_FILE + " not found.");
+        }
+
+        System.out.println();
+
         System.out.println("*** TESTING READ FROM FILE ***\n");
 
         // Initialize Integer arrays for our random and sorted data files
@@ -75,15 +127,15 @@ public class HeapDriver {
 
         // Try to read our random data file
         try {
-            randomData = readFile(RANDOM_DATA_FILE);
-        } catch (FileNotFoundException e) {
+            randomData = readFile(loader, RANDOM_DATA_FILE);
+        } catch (IOException e) {
             System.out.println("File " + RANDOM_DATA_FILE + " not found.");
         }
 
         // Try to read our sorted data file
         try {
-            sortedData = readFile(SORTED_DATA_FILE);
-        } catch (FileNotFoundException e) {
+            sortedData = readFile(loader, SORTED_DATA_FILE);
+        } catch (IOException e) {
             System.out.println("File " + SORTED_DATA_FILE + " not found.");
         }
 
@@ -98,22 +150,22 @@ public class HeapDriver {
     /**
      * Reads a file given a filename in this path and creates/returns an Integer[] of the numbers in that file.
      *
-     * The file passed through must contain all integers, one on each line.
+     * The file passed through must contain all integers, separated by whitespace (usually one on each line). The file
+     * can have any number of integers, and is streamed through the loader instead of being scanned token by token.
      *
+     * @param loader The loader we read the file with
      * @param file The name of the file we want to read
      * @return An Integer[] of the ints in the file
-     * @throws FileNotFoundException If the file passed is not found in the path
+     * @throws IOException If the file passed is not found in the path or can't be read
      */
-    private static Integer[] readFile(String file) throws FileNotFoundException {
-        File thisFile = new File(file);
-        Scanner inputFile = new Scanner(thisFile);
-
-        // Inputs file data into array
-        Integer[] fileArray = new Integer[100];
-        for (int i = 0; i < 100; i++) {
-            fileArray[i] = inputFile.nextInt();
+    private static Integer[] readFile(IntFileLoader loader, String file) throws IOException {
+        int[] values = loader.readAll(Path.of(file));
+
+        // The build methods we compare all start from an array of entries
+        Integer[] fileArray = new Integer[values.length];
+        for (int i = 0; i < values.length; i++) {
+            fileArray[i] = values[i];
         }
-        inputFile.close();
 
         return fileArray;
     }
@@ -134,11 +186,13 @@ public class HeapDriver {
         if(sortedData != null){
             MaxHeap<Integer> nonOptSorted = new MaxHeap<>(sortedData);
             MaxHeap<Integer> optSorted = new MaxHeap<>(sortedData, true);
+            MaxHeap<Integer> bottomUpSorted = new MaxHeap<>(sortedData, BuildMethod.BOTTOM_UP);
 
             outputString += "*** Heap built using SORTED data ***\n";
 
             outputString += "Heap built using Sequential Insertions: " + nonOptSorted.preview() + "\n";
             outputString += "Number of Swaps in the heap creation: " + nonOptSorted.getNumSwaps() + "\n";
+            outputString += "Number of Comparisons in the heap creation: " + nonOptSorted.getNumComparisons() + "\n";
             nonOptSorted.remove(10);
             outputString += "Heap after 10 removals: " + nonOptSorted.preview() + "\n";
 
@@ -146,8 +200,17 @@ public class HeapDriver {
 
             outputString += "Heap built using Optimal Method: " + optSorted.preview() + "\n";
             outputString += "Number of Swaps in the heap creation: " + optSorted.getNumSwaps() + "\n";
+            outputString += "Number of Comparisons in the heap creation: " + optSorted.getNumComparisons() + "\n";
             optSorted.remove(10);
             outputString += "Heap after 10 removals: " + optSorted.preview() + "\n";
+
+            outputString += "\n";
+
+            outputString += "Heap built using Bottom-Up Method: " + bottomUpSorted.preview() + "\n";
+            outputString += "Number of Swaps in the heap creation: " + bottomUpSorted.getNumSwaps() + "\n";
+            outputString += "Number of Comparisons in the heap creation: " + bottomUpSorted.getNumComparisons() + "\n";
+            bottomUpSorted.remove(10);
+            outputString += "Heap after 10 removals: " + bottomUpSorted.preview() + "\n";
         }
 
         outputString += "\n";
@@ -155,11 +218,13 @@ public class HeapDriver {
         if(randomData != null){
             MaxHeap<Integer> nonOptRand = new MaxHeap<>(randomData);
             MaxHeap<Integer> optRand = new MaxHeap<>(randomData, true);
+            MaxHeap<Integer> bottomUpRand = new MaxHeap<>(randomData, BuildMethod.BOTTOM_UP);
 
             outputString += "*** Heap built using RANDOM data ***\n";
 
             outputString += "Heap built using Sequential Insertions: " + nonOptRand.preview() + "\n";
             outputString += "Number of Swaps in the heap creation: " + nonOptRand.getNumSwaps() + "\n";
+            outputString += "Number of Comparisons in the heap creation: " + nonOptRand.getNumComparisons() + "\n";
             nonOptRand.remove(10);
             outputString += "Heap after 10 removals: " + nonOptRand.preview() + "\n";
 
@@ -167,8 +232,17 @@ public class HeapDriver {
 
             outputString += "Heap built using Optimal Method: " + optRand.preview() + "\n";
             outputString += "Number of Swaps in the heap creation: " + optRand.getNumSwaps() + "\n";
+            outputString += "Number of Comparisons in the heap creation: " + optRand.getNumComparisons() + "\n";
             optRand.remove(10);
             outputString += "Heap after 10 removals: " + optRand.preview() + "\n";
+
+            outputString += "\n";
+
+            outputString += "Heap built using Bottom-Up Method: " + bottomUpRand.preview() + "\n";
+            outputString += "Number of Swaps in the heap creation: " + bottomUpRand.getNumSwaps() + "\n";
+            outputString += "Number of Comparisons in the heap creation: " + bottomUpRand.getNumComparisons() + "\n";
+            bottomUpRand.remove(10);
+            outputString += "Heap after 10 removals: " + bottomUpRand.preview() + "\n";
         }
 
         PrintWriter outputFile = new PrintWriter(OUTPUT_DATA_FILE);
@@ -0,0 +1,422 @@
+package src;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * The HeapMetrics class, the detailed counters of a MaxHeap or a MinHeap.
+ *
+ * getNumSwaps and getNumComparisons only give two totals for the whole life of
+ * a heap. Once its metrics are enabled (see AbstractHeap.enableMetrics), it
+ * also records:
+ * - the number of adds, removes and replaceTops, and of entries added in bulk
+ * (addAll and meld).
+ * - the number of comparisons and of moves (every level a hole moves, in every
+ * operation, including remove).
+ * - a histogram of how many levels each add moved an entry up, and another of
+ * how many levels each remove and replaceTop moved an entry down.
+ * - the number of times the list of the heap was resized, and how many bytes
+ * of references the resizes copied.
+ *
+ * Metrics are off by default. A heap without metrics only checks a null field
+ * once per operation, and the sift loops never look at the metrics: the
+ * comparisons come from the counter the heap always keeps, and the moves from
+ * what each sift returns.
+ *
+ * The counters can be reset at any time, and read as a Snapshot, which doesn't
+ * change afterwards. Like the heaps, a HeapMetrics is not thread-safe.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public final class HeapMetrics {
+
+    /**
+     * The number of buckets of the depth histograms. A binary heap of
+     * Integer.MAX_VALUE entries has 31 levels, so a sift moves at most 30 levels;
+     * anything deeper is counted in the last bucket.
+     */
+    static final int DEPTH_BUCKETS = Integer.SIZE;
+
+    /**
+     * The size of a reference in an Object[], 4 bytes with compressed pointers
+     * and 8 without.
+     */
+    private static final int REFERENCE_BYTES = referenceBytes();
+
+    /**
+     * The comparisons of the heap since it was created.
+     */
+    private final LongSupplier comparisonSource;
+
+    /**
+     * The comparisons of the heap when the metrics were last reset.
+     */
+    private long comparisonsAtReset;
+
+    /**
+     * The number of levels holes moved.
+     */
+    private long moves;
+
+    /**
+     * The number of adds.
+     */
+    private long adds;
+
+    /**
+     * The number of entries added in bulk.
+     */
+    private long bulkAdds;
+
+    /**
+     * The number of removes (including the items of removeTop).
+     */
+    private long removes;
+
+    /**
+     * The number of replaceTops.
+     */
+    private long replaceTops;
+
+    /**
+     * The number of adds that moved an entry up each number of levels.
+     */
+    private final long[] siftUpDepths = new long[DEPTH_BUCKETS];
+
+    /**
+     * The number of removes and replaceTops that moved an entry down each number
+     * of levels.
+     */
+    private final long[] siftDownDepths = new long[DEPTH_BUCKETS];
+
+    /**
+     * The number of times the list of the heap was resized.
+     */
+    private long resizes;
+
+    /**
+     * The number of bytes of references the resizes of the list copied.
+     */
+    private long bytesCopied;
+
+    /**
+     * Initialize the metrics of a heap. Only the heaps create them.
+     *
+     * @param comparisonSource the comparisons of the heap since it was created.
+     */
+    HeapMetrics(LongSupplier comparisonSource) {
+        this.comparisonSource = comparisonSource;
+        this.comparisonsAtReset = comparisonSource.getAsLong();
+    }
+
+    /**
+     * Records an add.
+     *
+     * @param depth the number of levels the entry moved up.
+     */
+    void recordAdd(int depth) {
+        adds++;
+        moves += depth;
+        siftUpDepths[Math.min(depth, DEPTH_BUCKETS - 1)]++;
+    }
+
+    /**
+     * Records a remove.
+     *
+     * @param depth the number of levels the last entry moved down.
+     */
+    void recordRemove(int depth) {
+        removes++;
+        moves += depth;
+        siftDownDepths[Math.min(depth, DEPTH_BUCKETS - 1)]++;
+    }
+
+    /**
+     * Records a replaceTop.
+     *
+     * @param depth the number of levels the new entry moved down.
+     */
+    void recordReplaceTop(int depth) {
+        replaceTops++;
+        moves += depth;
+        siftDownDepths[Math.min(depth, DEPTH_BUCKETS - 1)]++;
+    }
+
+    /**
+     * Records entries added in bulk.
+     *
+     * @param entries    the number of entries.
+     * @param bulkMoves  the number of levels holes moved to restore the heap
+     *                   order.
+     */
+    void recordBulkAdd(long entries, long bulkMoves) {
+        bulkAdds += entries;
+        moves += bulkMoves;
+    }
+
+    /**
+     * Records a resize of the list of the heap.
+     *
+     * @param copiedReferences the number of references copied to resize it.
+     */
+    void recordResize(long copiedReferences) {
+        resizes++;
+        bytesCopied += copiedReferences * REFERENCE_BYTES;
+    }
+
+    /**
+     * Sets every counter back to 0.
+     */
+    public void reset() {
+        comparisonsAtReset = comparisonSource.getAsLong();
+        moves = 0;
+        adds = 0;
+        bulkAdds = 0;
+        removes = 0;
+        replaceTops = 0;
+        Arrays.fill(siftUpDepths, 0);
+        Arrays.fill(siftDownDepths, 0);
+        resizes = 0;
+        bytesCopied = 0;
+    }
+
+    /**
+     * Takes a copy of every counter.
+     *
+     * @return the snapshot.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Gets the size of a reference in an Object[].
+     *
+     * @return the size, in bytes.
+     */
+    private static int referenceBytes() {
+        try {
+            return Class.forName("sun.misc.Unsafe").getField("ARRAY_OBJECT_INDEX_SCALE").getInt(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Assume uncompressed pointers
+            return Long.BYTES;
+        }
+    }
+
+    /**
+     * The counters of a HeapMetrics at one point in time.
+     */
+    public static final class Snapshot {
+
+        /**
+         * The number of comparisons.
+         */
+        private final long comparisons;
+
+        /**
+         * The number of levels holes moved.
+         */
+        private final long moves;
+
+        /**
+         * The number of adds.
+         */
+        private final long adds;
+
+        /**
+         * The number of entries added in bulk.
+         */
+        private final long bulkAdds;
+
+        /**
+         * The number of removes.
+         */
+        private final long removes;
+
+        /**
+         * The number of replaceTops.
+         */
+        private final long replaceTops;
+
+        /**
+         * The histogram of the levels adds moved entries up.
+         */
+        private final long[] siftUpDepths;
+
+        /**
+         * The histogram of the levels removes and replaceTops moved entries down.
+         */
+        private final long[] siftDownDepths;
+
+        /**
+         * The number of times the list was resized.
+         */
+        private final long resizes;
+
+        /**
+         * The number of bytes copied to resize the list.
+         */
+        private final long bytesCopied;
+
+        /**
+         * Copies the counters of a HeapMetrics.
+         *
+         * @param metrics the metrics.
+         */
+        private Snapshot(HeapMetrics metrics) {
+            comparisons = metrics.comparisonSource.getAsLong() - metrics.comparisonsAtReset;
+            moves = metrics.moves;
+            adds = metrics.adds;
+            bulkAdds = metrics.bulkAdds;
+            removes = metrics.removes;
+            replaceTops = metrics.replaceTops;
+            siftUpDepths = metrics.siftUpDepths.clone();
+            siftDownDepths = metrics.siftDownDepths.clone();
+            resizes = metrics.resizes;
+            bytesCopied = metrics.bytesCopied;
+        }
+
+        /**
+         * Gets the number of comparisons.
+         *
+         * @return the number of comparisons.
+         */
+        public long getComparisons() {
+            return comparisons;
+        }
+
+        /**
+         * Gets the number of levels holes moved, in every operation.
+         *
+         * @return the number of moves.
+         */
+        public long getMoves() {
+            return moves;
+        }
+
+        /**
+         * Gets the number of adds.
+         *
+         * @return the number of adds.
+         */
+        public long getAdds() {
+            return adds;
+        }
+
+        /**
+         * Gets the number of entries added in bulk (addAll and meld).
+         *
+         * @return the number of entries.
+         */
+        public long getBulkAdds() {
+            return bulkAdds;
+        }
+
+        /**
+         * Gets the number of removes (each item of removeTop counts as one).
+         *
+         * @return the number of removes.
+         */
+        public long getRemoves() {
+            return removes;
+        }
+
+        /**
+         * Gets the number of replaceTops.
+         *
+         * @return the number of replaceTops.
+         */
+        public long getReplaceTops() {
+            return replaceTops;
+        }
+
+        /**
+         * Gets the histogram of the levels adds moved entries up.
+         *
+         * @return the number of adds that moved an entry up i levels, at index i
+         *         (the last index counts anything deeper).
+         */
+        public long[] getSiftUpDepths() {
+            return siftUpDepths.clone();
+        }
+
+        /**
+         * Gets the histogram of the levels removes and replaceTops moved entries
+         * down.
+         *
+         * @return the number of operations that moved an entry down i levels, at
+         *         index i (the last index counts anything deeper).
+         */
+        public long[] getSiftDownDepths() {
+            return siftDownDepths.clone();
+        }
+
+        /**
+         * Gets the number of times the list of the heap was resized (grew, shrank or
+         * was trimmed).
+         *
+         * @return the number of resizes.
+         */
+        public long getResizes() {
+            return resizes;
+        }
+
+        /**
+         * Gets the number of bytes of references copied to resize the list.
+         *
+         * @return the number of bytes.
+         */
+        public long getBytesCopied() {
+            return bytesCopied;
+        }
+
+        /**
+         * Gets every counter by name, in a stable order, to export them. The
+         * histograms are flattened into one counter per depth that happened, like
+         * "siftUpDepth.3".
+         *
+         * @return the counters.
+         */
+        public Map<String, Long> toMap() {
+            Map<String, Long> counters = new LinkedHashMap<>();
+            counters.put("comparisons", comparisons);
+            counters.put("moves", moves);
+            counters.put("adds", adds);
+            counters.put("bulkAdds", bulkAdds);
+            counters.put("removes", removes);
+            counters.put("replaceTops", replaceTops);
+            counters.put("resizes", resizes);
+            counters.put("bytesCopied", bytesCopied);
+            for (int depth = 0; depth < DEPTH_BUCKETS; depth++) {
+                if (siftUpDepths[depth] != 0) {
+                    counters.put("siftUpDepth." + depth, siftUpDepths[depth]);
+                }
+            }
+            for (int depth = 0; depth < DEPTH_BUCKETS; depth++) {
+                if (siftDownDepths[depth] != 0) {
+                    counters.put("siftDownDepth." + depth, siftDownDepths[depth]);
+                }
+            }
+            return counters;
+        }
+
+        /**
+         * Represents the snapshot as a string, one counter per line.
+         *
+         * @return The string representation of the snapshot
+         */
+        @Override
+        public String toString() {
+            StringBuilder output = new StringBuilder();
+            for (Map.Entry<String, Long> counter : toMap().entrySet()) {
+                output.append(counter.getKey()).append(": ").append(counter.getValue()).append("\n");
+            }
+            return output.toString();
+        }
+    }
+}
@@ -0,0 +1,472 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * The HeapSort class, which sorts arrays and ResizeableLists with a heap.
+ *
+ * Sorting by adding every entry to a MaxHeap and removing them again copies
+ * every entry through a ResizeableList twice. The sort methods of this class
+ * build a max heap directly inside the array with the optimal O(n) method, then
+ * swap the max to the end of the array and sift the entry it replaced down,
+ * until the heap is empty. The array ends up sorted from the smallest to the
+ * largest entry, in O(nlog(n)) time and without any extra array.
+ *
+ * Like any heapsort, the sort is not stable: entries that compare equal may
+ * not keep their order.
+ *
+ * The parallelSort methods split the array into one partition per thread of a
+ * ForkJoinPool, heapsort every partition at the same time, and then merge the
+ * sorted partitions with a k-way merge. The merge needs a buffer as large as
+ * the array, so unlike the sort methods they are not in place.
+ *
+ * Unlike the heaps, the arrays here are indexed from 0. The heap inside the
+ * array has its root at index 0 and the children of i at 2i + 1 and 2i + 2.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public final class HeapSort {
+
+    /**
+     * The smallest array parallelSort splits into partitions. Smaller arrays
+     * are sorted on the calling thread.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * Only static methods, so no instances.
+     */
+    private HeapSort() {
+    }
+
+    /**
+     * Sorts an array in place, in the natural order of its entries.
+     *
+     * @param <T>   the type of the entries.
+     * @param items the array to sort.
+     * @throws ClassCastException if the entries don't implement Comparable.
+     */
+    public static <T> void sort(T[] items) {
+        sort(items, AbstractHeap.naturalOrder());
+    }
+
+    /**
+     * Sorts an array in place, in the order of a Comparator.
+     *
+     * @param <T>        the type of the entries.
+     * @param items      the array to sort.
+     * @param comparator the order of the entries.
+     */
+    public static <T> void sort(T[] items, Comparator<? super T> comparator) {
+        sort(items, 0, items.length, comparator);
+    }
+
+    /**
+     * Sorts an int[] in place, from the smallest to the largest value.
+     *
+     * @param items the array to sort.
+     */
+    public static void sort(int[] items) {
+        sort(items, 0, items.length);
+    }
+
+    /**
+     * Sorts the entries of a ResizeableList in place, in their natural order.
+     *
+     * @param <T>  the type of the entries.
+     * @param list the list to sort.
+     * @throws ClassCastException if the entries don't implement Comparable.
+     */
+    public static <T> void sort(ResizeableList<T> list) {
+        sort(list, AbstractHeap.naturalOrder());
+    }
+
+    /**
+     * Sorts the entries of a ResizeableList in place, in the order of a
+     * Comparator. The entries are sorted directly inside the backing array of
+     * the list, and its hash index (if it has one) is rebuilt afterwards.
+     *
+     * @param <T>        the type of the entries.
+     * @param list       the list to sort.
+     * @param comparator the order of the entries.
+     */
+    public static <T> void sort(ResizeableList<T> list, Comparator<? super T> comparator) {
+        // The entry at index i of the list lives at array[i - 1]
+        sort(list.getArray(), 0, list.count(), comparator);
+        if (list.isIndexed()) {
+            list.reindex();
+        }
+    }
+
+    /**
+     * Sorts an array with several threads of the common ForkJoinPool, in the
+     * natural order of its entries.
+     *
+     * @param <T>   the type of the entries.
+     * @param items the array to sort.
+     * @throws ClassCastException if the entries don't implement Comparable.
+     */
+    public static <T> void parallelSort(T[] items) {
+        parallelSort(items, AbstractHeap.naturalOrder(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts an array with several threads of a ForkJoinPool, in the order of a
+     * Comparator.
+     *
+     * @param <T>        the type of the entries.
+     * @param items      the array to sort.
+     * @param comparator the order of the entries.
+     * @param pool       the pool the partitions are sorted on.
+     */
+    public static <T> void parallelSort(T[] items, Comparator<? super T> comparator, ForkJoinPool pool) {
+        int[] bounds = partitions(items.length, pool);
+        if (bounds.length <= 2) {
+            sort(items, comparator);
+            return;
+        }
+
+        // Heapsort every partition at the same time
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(bounds.length - 1);
+        for (int p = 0; p < bounds.length - 1; p++) {
+            int from = bounds[p];
+            int to = bounds[p + 1];
+            tasks.add(pool.submit(() -> sort(items, from, to, comparator)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        // Merge the sorted partitions into a buffer, then copy them back
+        Object[] merged = new Object[items.length];
+        merge(items, bounds, merged, comparator);
+        System.arraycopy(merged, 0, items, 0, items.length);
+    }
+
+    /**
+     * Sorts an int[] with several threads of the common ForkJoinPool.
+     *
+     * @param items the array to sort.
+     */
+    public static void parallelSort(int[] items) {
+        parallelSort(items, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts an int[] with several threads of a ForkJoinPool.
+     *
+     * @param items the array to sort.
+     * @param pool  the pool the partitions are sorted on.
+     */
+    public static void parallelSort(int[] items, ForkJoinPool pool) {
+        int[] bounds = partitions(items.length, pool);
+        if (bounds.length <= 2) {
+            sort(items);
+            return;
+        }
+
+        // Heapsort every partition at the same time
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(bounds.length - 1);
+        for (int p = 0; p < bounds.length - 1; p++) {
+            int from = bounds[p];
+            int to = bounds[p + 1];
+            tasks.add(pool.submit(() -> sort(items, from, to)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        // Merge the sorted partitions into a buffer, then copy them back
+        int[] merged = new int[items.length];
+        merge(items, bounds, merged);
+        System.arraycopy(merged, 0, items, 0, items.length);
+    }
+
+    /**
+     * Heapsorts the entries of an array between two indexes.
+     *
+     * @param <T>        the type of the entries.
+     * @param items      the array.
+     * @param from       the index of the first entry to sort.
+     * @param to         the index after the last entry to sort.
+     * @param comparator the order of the entries.
+     */
+    private static <T> void sort(T[] items, int from, int to, Comparator<? super T> comparator) {
+        int size = to - from;
+
+        // Build the heap with the optimal method, sinking every parent from the last one
+        for (int parent = size / 2 - 1; parent >= 0; parent--) {
+            siftDown(items, from, parent, items[from + parent], size, comparator);
+        }
+
+        // Swap the max with the last entry of the heap, then sink that entry from the root
+        for (int last = size - 1; last > 0; last--) {
+            T entry = items[from + last];
+            items[from + last] = items[from];
+            siftDownBottomUp(items, from, entry, last, comparator);
+        }
+    }
+
+    /**
+     * Moves a hole down the heap until the entry fits in it.
+     *
+     * @param <T>        the type of the entries.
+     * @param items      the array.
+     * @param from       the index of the root of the heap in the array.
+     * @param hole       the index of the hole, relative to the root.
+     * @param entry      the entry that will eventually fill the hole.
+     * @param size       the number of entries in the heap.
+     * @param comparator the order of the entries.
+     */
+    private static <T> void siftDown(T[] items, int from, int hole, T entry, int size,
+            Comparator<? super T> comparator) {
+        int child;
+        // While the hole has at least one child
+        while ((child = 2 * hole + 1) < size) {
+            // Pick the larger of the two children
+            if (child + 1 < size && comparator.compare(items[from + child + 1], items[from + child]) > 0) {
+                child++;
+            }
+
+            // If the entry is at least as large as the larger child, it fits
+            if (comparator.compare(entry, items[from + child]) >= 0) {
+                break;
+            }
+
+            // Otherwise, move the child up and the hole down
+            items[from + hole] = items[from + child];
+            hole = child;
+        }
+
+        // Fill the hole with the entry
+        items[from + hole] = entry;
+    }
+
+    /**
+     * Moves a hole at the root all the way down to a leaf, then moves it back up
+     * until the entry fits in it.
+     *
+     * The entry that replaces the max comes from the end of the array, so it
+     * almost always belongs near the leaves. Going down without comparing it
+     * costs one comparison per level instead of two.
+     *
+     * @param <T>        the type of the entries.
+     * @param items      the array.
+     * @param from       the index of the root of the heap in the array.
+     * @param entry      the entry that will eventually fill the hole.
+     * @param size       the number of entries in the heap.
+     * @param comparator the order of the entries.
+     */
+    private static <T> void siftDownBottomUp(T[] items, int from, T entry, int size,
+            Comparator<? super T> comparator) {
+        int hole = 0;
+        int child;
+        // Move the larger child up until the hole is a leaf
+        while ((child = 2 * hole + 1) < size) {
+            if (child + 1 < size && comparator.compare(items[from + child + 1], items[from + child]) > 0) {
+                child++;
+            }
+            items[from + hole] = items[from + child];
+            hole = child;
+        }
+
+        // Move the hole back up while its parent is smaller than the entry
+        int parent;
+        while (hole > 0 && comparator.compare(entry, items[from + (parent = (hole - 1) / 2)]) > 0) {
+            items[from + hole] = items[from + parent];
+            hole = parent;
+        }
+
+        // Fill the hole with the entry
+        items[from + hole] = entry;
+    }
+
+    /**
+     * Heapsorts the values of an int[] between two indexes.
+     *
+     * @param items the array.
+     * @param from  the index of the first value to sort.
+     * @param to    the index after the last value to sort.
+     */
+    static void sort(int[] items, int from, int to) {
+        int size = to - from;
+
+        // Build the heap with the optimal method, sinking every parent from the last one
+        for (int parent = size / 2 - 1; parent >= 0; parent--) {
+            siftDown(items, from, parent, items[from + parent], size);
+        }
+
+        // Swap the max with the last value of the heap, then sink that value from the root
+        for (int last = size - 1; last > 0; last--) {
+            int entry = items[from + last];
+            items[from + last] = items[from];
+            siftDown(items, from, 0, entry, last);
+        }
+    }
+
+    /**
+     * Moves a hole down the heap until the value fits in it. Comparing ints is
+     * cheap, so there is no bottom-up version.
+     *
+     * @param items the array.
+     * @param from  the index of the root of the heap in the array.
+     * @param hole  the index of the hole, relative to the root.
+     * @param entry the value that will eventually fill the hole.
+     * @param size  the number of values in the heap.
+     */
+    private static void siftDown(int[] items, int from, int hole, int entry, int size) {
+        int child;
+        // While the hole has at least one child
+        while ((child = 2 * hole + 1) < size) {
+            // Pick the larger of the two children
+            if (child + 1 < size && items[from + child + 1] > items[from + child]) {
+                child++;
+            }
+
+            // If the value is at least as large as the larger child, it fits
+            if (entry >= items[from + child]) {
+                break;
+            }
+
+            // Otherwise, move the child up and the hole down
+            items[from + hole] = items[from + child];
+            hole = child;
+        }
+
+        // Fill the hole with the value
+        items[from + hole] = entry;
+    }
+
+    /**
+     * Splits an array into one partition per thread of a pool.
+     *
+     * @param length the length of the array.
+     * @param pool   the pool.
+     * @return the start of every partition, followed by the length of the
+     *         array.
+     */
+    private static int[] partitions(int length, ForkJoinPool pool) {
+        int count = Math.min(pool.getParallelism(), length / PARALLEL_THRESHOLD);
+        if (count < 2) {
+            return new int[] { 0, length };
+        }
+
+        int[] bounds = new int[count + 1];
+        for (int p = 0; p <= count; p++) {
+            bounds[p] = (int) ((long) length * p / count);
+        }
+        return bounds;
+    }
+
+    /**
+     * Merges the sorted partitions of an array into another array.
+     *
+     * The partitions are kept in a small min heap of partition numbers, ordered
+     * by the next entry of each partition. Each entry of the result costs one
+     * sift of that heap, so the merge is O(nlog(k)) for k partitions.
+     *
+     * @param <T>        the type of the entries.
+     * @param items      the array of sorted partitions.
+     * @param bounds     the start of every partition, followed by the length of
+     *                   the array.
+     * @param merged     the array the result is written to.
+     * @param comparator the order of the entries.
+     */
+    private static <T> void merge(T[] items, int[] bounds, Object[] merged, Comparator<? super T> comparator) {
+        int count = bounds.length - 1;
+        int[] next = new int[count];
+        int[] heap = new int[count];
+        for (int p = 0; p < count; p++) {
+            next[p] = bounds[p];
+            heap[p] = p;
+        }
+        // Order the partitions so the smallest next entry is first (a reversed comparator turns the max heap around)
+        Comparator<Integer> order = (first, second) -> comparator.compare(items[next[second]], items[next[first]]);
+        int size = count;
+        for (int parent = size / 2 - 1; parent >= 0; parent--) {
+            siftDown(heap, parent, size, order);
+        }
+
+        for (int i = 0; i < merged.length; i++) {
+            int partition = heap[0];
+            merged[i] = items[next[partition]++];
+
+            // The partition ran out, so the last partition of the heap takes its place
+            if (next[partition] == bounds[partition + 1]) {
+                heap[0] = heap[--size];
+            }
+            if (size > 0) {
+                siftDown(heap, 0, size, order);
+            }
+        }
+    }
+
+    /**
+     * Merges the sorted partitions of an int[] into another int[], like the
+     * generic merge.
+     *
+     * @param items  the array of sorted partitions.
+     * @param bounds the start of every partition, followed by the length of the
+     *               array.
+     * @param merged the array the result is written to.
+     */
+    private static void merge(int[] items, int[] bounds, int[] merged) {
+        int count = bounds.length - 1;
+        int[] next = new int[count];
+        int[] heap = new int[count];
+        for (int p = 0; p < count; p++) {
+            next[p] = bounds[p];
+            heap[p] = p;
+        }
+        // Order the partitions so the smallest next value is first
+        Comparator<Integer> order = (first, second) -> Integer.compare(items[next[second]], items[next[first]]);
+        int size = count;
+        for (int parent = size / 2 - 1; parent >= 0; parent--) {
+            siftDown(heap, parent, size, order);
+        }
+
+        for (int i = 0; i < merged.length; i++) {
+            int partition = heap[0];
+            merged[i] = items[next[partition]++];
+
+            // The partition ran out, so the last partition of the heap takes its place
+            if (next[partition] == bounds[partition + 1]) {
+                heap[0] = heap[--size];
+            }
+            if (size > 0) {
+                siftDown(heap, 0, size, order);
+            }
+        }
+    }
+
+    /**
+     * Sinks a partition number down the heap of partitions of a merge.
+     *
+     * @param heap  the heap of partition numbers.
+     * @param hole  the index of the partition to sink.
+     * @param size  the number of partitions in the heap.
+     * @param order the order of the partitions.
+     */
+    private static void siftDown(int[] heap, int hole, int size, Comparator<Integer> order) {
+        int entry = heap[hole];
+        int child;
+        while ((child = 2 * hole + 1) < size) {
+            if (child + 1 < size && order.compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (order.compare(entry, heap[child]) >= 0) {
+                break;
+            }
+            heap[hole] = heap[child];
+            hole = child;
+        }
+        heap[hole] = entry;
+    }
+}
@@ -0,0 +1,610 @@
+package src;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The IndexedMaxHeap class, a max heap that knows where each of its entries
+ * is.
+ *
+ * A MaxHeap can only find an entry with ResizeableList.getIndexOf, which scans
+ * the whole list, so changing the priority of an entry or removing an entry
+ * that isn't the max costs O(n). An IndexedMaxHeap keeps a map from every
+ * entry to the slot that holds it in the heap, and every slot knows its own
+ * index, so:
+ * - contains and getIndexOf are O(1).
+ * - increaseKey, decreaseKey, update and remove(T) are O(log(n)).
+ *
+ * The entries are handles: the heap orders them with a Comparator that usually
+ * looks at a priority stored inside the entry (a distance, a deadline...). To
+ * change a priority, change it inside the entry, then call increaseKey or
+ * decreaseKey (or update, if the direction isn't known) so the heap moves the
+ * entry to its new place. The entries are found with equals and hashCode, so
+ * those must not depend on the priority. Since each entry has a single index,
+ * an entry can only be in the heap once.
+ *
+ * The slot of an entry is only looked up in the map once per operation. When
+ * entries move during a sift, only the index stored in their slots changes,
+ * so the map isn't touched and no Integer is boxed for each move.
+ *
+ * Like the ResizeableList, the index of an IndexedMaxHeap starts at 1. The
+ * slot at index 0 of the backing array is never used.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class IndexedMaxHeap<T> implements ArrayHeapInterface<T> {
+
+    /**
+     * The default/minimum capacity of any IndexedMaxHeap. Matches the MaxHeap
+     * class.
+     */
+    private static final int DEFAULT_CAPACITY = 25;
+
+    /**
+     * The largest capacity we can request for a Java array.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * An entry of the heap, and its index in the heap.
+     */
+    private static final class Slot<T> {
+
+        /**
+         * The entry.
+         */
+        private final T entry;
+
+        /**
+         * The index of the entry in the heap.
+         */
+        private int index;
+
+        /**
+         * Initialize a slot.
+         *
+         * @param entry the entry.
+         */
+        private Slot(T entry) {
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * The slots of the heap. Index 0 is unused.
+     */
+    private Object[] heap;
+
+    /**
+     * The slot of every entry of the heap.
+     */
+    private final Map<T, Slot<T>> positions;
+
+    /**
+     * The order of the heap. The entry that compares greatest is kept at the top.
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * The number of entries in the heap.
+     */
+    private int numOfEntries;
+
+    /**
+     * The number of swaps the heap has made.
+     */
+    private long numSwaps;
+
+    /**
+     * A boolean that keeps track of whether or not the constructor was properly called
+     */
+    private boolean initialized = false;
+
+    /**
+     * Default Constructor. The entries are ordered by their natural order.
+     */
+    public IndexedMaxHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initialize the Heap with a specific capacity. The entries are ordered by
+     * their natural order.
+     *
+     * @param initialCapacity the initial capacity for the Heap.
+     */
+    public IndexedMaxHeap(int initialCapacity) {
+        this(initialCapacity, AbstractHeap.naturalOrder());
+    }
+
+    /**
+     * Initialize the Heap with a Comparator.
+     *
+     * @param comparator the order of the heap. The entry that compares greatest
+     *                   is kept at the top.
+     */
+    public IndexedMaxHeap(Comparator<? super T> comparator) {
+        this(DEFAULT_CAPACITY, comparator);
+    }
+
+    /**
+     * Initialize the Heap with a specific capacity and a Comparator.
+     *
+     * @param initialCapacity the initial capacity for the Heap.
+     * @param comparator      the order of the heap. The entry that compares
+     *                        greatest is kept at the top.
+     * @throws IllegalArgumentException if the capacity is too large or the
+     *                                  comparator is null.
+     */
+    public IndexedMaxHeap(int initialCapacity, Comparator<? super T> comparator) {
+        if (initialCapacity < DEFAULT_CAPACITY)
+            initialCapacity = DEFAULT_CAPACITY;
+        if (initialCapacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("Attempted to create a heap with a capacity (" + initialCapacity
+                    + ") which is too large");
+        if (comparator == null)
+            throw new IllegalArgumentException("Attempted to create a heap without a comparator");
+
+        // Add one slot since index 0 is never used
+        heap = new Object[initialCapacity + 1];
+        positions = new HashMap<>();
+        this.comparator = comparator;
+        numOfEntries = 0;
+        numSwaps = 0;
+        initialized = true;
+    }
+
+    /**
+     * Checks if the heap is initialized.
+     */
+    private void checkInitialization() {
+        if (!initialized) {
+            throw new SecurityException("IndexedMaxHeap object is corrupt or was not initialized properly.");
+        }
+    }
+
+    /**
+     * Gets the slot of an entry, and throws an error if it isn't in the heap.
+     *
+     * @param entry The entry
+     * @return the slot of the entry
+     * @throws NoSuchElementException if the entry isn't in the heap.
+     */
+    private Slot<T> slotOf(T entry) {
+        Slot<T> slot = positions.get(entry);
+        if (slot == null) {
+            throw new NoSuchElementException("The entry (" + entry + ") is not in the heap.");
+        }
+        return slot;
+    }
+
+    /**
+     * Makes sure the backing array has room for one more entry, doubling it if it doesn't.
+     */
+    private void ensureCapacity() {
+        // We already have room
+        if (numOfEntries + 1 < heap.length) {
+            return;
+        }
+
+        if (heap.length - 1 >= MAX_CAPACITY) {
+            throw new IllegalStateException("IndexedMaxHeap has reached its maximum capacity (" + MAX_CAPACITY
+                    + ").");
+        }
+
+        // Double the capacity without going over the maximum
+        int newCapacity = (int) Math.min((long) (heap.length - 1) * 2, MAX_CAPACITY);
+        heap = Arrays.copyOf(heap, newCapacity + 1);
+    }
+
+    /**
+     * Gets the slot at an index of the heap.
+     *
+     * @param index The index
+     * @return the slot
+     */
+    @SuppressWarnings("unchecked")
+    private Slot<T> slotAt(int index) {
+        return (Slot<T>) heap[index];
+    }
+
+    /**
+     * Gets the entry at an index of the heap.
+     *
+     * @param index The index
+     * @return the entry
+     */
+    private T entryAt(int index) {
+        return slotAt(index).entry;
+    }
+
+    /**
+     * Puts a slot at an index of the heap, and updates its index.
+     *
+     * @param index The index
+     * @param slot  The slot
+     */
+    private void place(int index, Slot<T> slot) {
+        heap[index] = slot;
+        slot.index = index;
+    }
+
+    /**
+     * Checks if we can add an entry to a given index.
+     *
+     * @param index The index we want to place the entry at.
+     * @param entry The entry we want to add
+     * @return true if we can add the entry, false if we cannot
+     */
+    @Override
+    public boolean canAdd(int index, T entry) {
+        checkInitialization();
+
+        if (index < 1 || index > numOfEntries) {
+            throw new IndexOutOfBoundsException("The index provided (" + index
+                    + ") does not fall within the range of the heap [1-" + numOfEntries + "].");
+        }
+
+        // Check if the entry we want to add is larger than the item at the index we want to place the entry at
+        return comparator.compare(entry, entryAt(index)) > 0;
+    }
+
+    /**
+     * Gets the index of a parent given the index of the child.
+     *
+     * @param childIndex The index of a child node.
+     * @return The index of the child's parent, -1 if there is no parent.
+     */
+    @Override
+    public int getParentIndex(int childIndex) {
+        checkInitialization();
+
+        // The root (and anything before it) doesn't have a parent
+        if (childIndex <= 1) {
+            return -1;
+        }
+
+        return childIndex / 2;
+    }
+
+    /**
+     * Gets the index of a child given the index of the parent.
+     *
+     * @param parentIndex The index of a parent node.
+     * @return The index of the first child of the parent (add 1 for the second
+     *         child), -1 if there is no child.
+     */
+    @Override
+    public int getChildIndex(int parentIndex) {
+        checkInitialization();
+
+        // Multiply the parentIndex by 2
+        int childIndex = parentIndex * 2;
+
+        // if we're past the number of entries, then there's no child
+        if (parentIndex < 1 || childIndex > numOfEntries) {
+            return -1;
+        }
+
+        return childIndex;
+    }
+
+    /**
+     * Adds an entry to the Heap
+     *
+     * @param entry The entry we want to add to the Heap
+     * @throws IllegalArgumentException if the entry is null or already in the
+     *                                  heap.
+     */
+    @Override
+    public void add(T entry) {
+        checkInitialization();
+        if (entry == null) {
+            throw new IllegalArgumentException("Attempted to add a null entry to the heap");
+        }
+        if (positions.containsKey(entry)) {
+            throw new IllegalArgumentException("Attempted to add an entry (" + entry
+                    + ") which is already in the heap");
+        }
+        ensureCapacity();
+
+        Slot<T> slot = new Slot<>(entry);
+        positions.put(entry, slot);
+
+        // Start with a hole at the new last index
+        siftUp(++numOfEntries, slot);
+    }
+
+    /**
+     * Removes and returns the heap's largest item.
+     *
+     * @return the heap's largest item, null if the heap is empty.
+     */
+    @Override
+    public T remove() {
+        checkInitialization();
+        if (numOfEntries == 0) {
+            return null;
+        }
+        return removeAt(1);
+    }
+
+    /**
+     * Removes an entry from anywhere in the heap.
+     *
+     * @param entry The entry to remove
+     * @return true if the entry was removed, false if it wasn't in the heap
+     */
+    public boolean remove(T entry) {
+        checkInitialization();
+        Slot<T> slot = positions.get(entry);
+        if (slot == null) {
+            return false;
+        }
+        removeAt(slot.index);
+        return true;
+    }
+
+    /**
+     * Removes the entry at an index of the heap.
+     *
+     * @param index The index of the entry
+     * @return the entry
+     */
+    private T removeAt(int index) {
+        T removed = entryAt(index);
+        positions.remove(removed);
+
+        // Take the last item out and put it in the place of the removed entry
+        Slot<T> last = slotAt(numOfEntries);
+        heap[numOfEntries--] = null;
+        if (index <= numOfEntries) {
+            // The last item may belong above or below that place
+            if (!siftUp(index, last)) {
+                siftDown(index, last);
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Moves an entry up the heap after its priority went up.
+     *
+     * @param entry The entry, whose priority was already changed
+     * @throws NoSuchElementException if the entry isn't in the heap.
+     */
+    public void increaseKey(T entry) {
+        checkInitialization();
+        Slot<T> slot = slotOf(entry);
+        siftUp(slot.index, slot);
+    }
+
+    /**
+     * Moves an entry down the heap after its priority went down.
+     *
+     * @param entry The entry, whose priority was already changed
+     * @throws NoSuchElementException if the entry isn't in the heap.
+     */
+    public void decreaseKey(T entry) {
+        checkInitialization();
+        Slot<T> slot = slotOf(entry);
+        siftDown(slot.index, slot);
+    }
+
+    /**
+     * Moves an entry up or down the heap after its priority changed either way.
+     *
+     * @param entry The entry, whose priority was already changed
+     * @throws NoSuchElementException if the entry isn't in the heap.
+     */
+    public void update(T entry) {
+        checkInitialization();
+        Slot<T> slot = slotOf(entry);
+        int index = slot.index;
+        if (!siftUp(index, slot)) {
+            siftDown(index, slot);
+        }
+    }
+
+    /**
+     * Moves a hole up the heap while its parent is less than the entry, then
+     * fills it with the entry.
+     *
+     * @param hole the index of the hole.
+     * @param slot the slot of the entry that will eventually fill the hole.
+     * @return true if the entry moved up, false if it stayed at the hole.
+     */
+    private boolean siftUp(int hole, Slot<T> slot) {
+        int start = hole;
+        while (hole > 1 && comparator.compare(slot.entry, entryAt(hole >>> 1)) > 0) {
+            place(hole, slotAt(hole >>> 1));
+            hole >>>= 1;
+            numSwaps++;
+        }
+
+        // Fill the hole with the entry
+        place(hole, slot);
+        return hole != start;
+    }
+
+    /**
+     * Moves a hole down the heap until the entry fits in it.
+     *
+     * @param hole the index of the hole.
+     * @param slot the slot of the entry that will eventually fill the hole.
+     */
+    private void siftDown(int hole, Slot<T> slot) {
+        T entry = slot.entry;
+        int child;
+        // While the hole has at least one child
+        while ((child = hole << 1) <= numOfEntries) {
+            // Pick the larger of the two children
+            if (child < numOfEntries && comparator.compare(entryAt(child + 1), entryAt(child)) > 0) {
+                child++;
+            }
+
+            // If the entry is at least as large as the larger child, it fits
+            if (comparator.compare(entry, entryAt(child)) >= 0) {
+                break;
+            }
+
+            // Otherwise, move the child up and the hole down
+            place(hole, slotAt(child));
+            hole = child;
+            numSwaps++;
+        }
+
+        // Fill the hole with the entry
+        place(hole, slot);
+    }
+
+    /**
+     * Get the max item in the heap.
+     *
+     * @return the heap's largest item, null if the heap is empty.
+     */
+    public T getMax() {
+        checkInitialization();
+        if (numOfEntries == 0) {
+            return null;
+        }
+        return entryAt(1);
+    }
+
+    /**
+     * Checks if an entry is in the heap, in O(1).
+     *
+     * @param entry The entry
+     * @return true if the entry is in the heap, false if it isn't
+     */
+    public boolean contains(T entry) {
+        checkInitialization();
+        return positions.containsKey(entry);
+    }
+
+    /**
+     * Gets the index of an entry in the heap, in O(1).
+     *
+     * @param entry The entry
+     * @return the index of the entry, -1 if it isn't in the heap.
+     */
+    public int getIndexOf(T entry) {
+        checkInitialization();
+        Slot<T> slot = positions.get(entry);
+        return slot == null ? -1 : slot.index;
+    }
+
+    /**
+     * Checks if the Heap is empty
+     *
+     * @return true if the heap is empty, false if it isn't
+     */
+    @Override
+    public boolean isEmpty() {
+        checkInitialization();
+        return numOfEntries == 0;
+    }
+
+    /**
+     * Gets the size of the heap (how many entries are in the heap)
+     *
+     * @return The size of the heap
+     */
+    @Override
+    public int getSize() {
+        checkInitialization();
+        return numOfEntries;
+    }
+
+    /**
+     * Clears a heap of all its entries
+     */
+    @Override
+    public void clear() {
+        checkInitialization();
+        Arrays.fill(heap, 1, numOfEntries + 1, null);
+        positions.clear();
+        numOfEntries = 0;
+    }
+
+    /**
+     * Get the number of swaps the heap has made.
+     *
+     * @return the number of swaps.
+     */
+    public long getNumSwaps() {
+        checkInitialization();
+        return numSwaps;
+    }
+
+    /**
+     * Checks that every entry is at least as large as its children, and that the
+     * index of every entry is the one we remember.
+     *
+     * @return true if the heap is valid, false if it isn't
+     */
+    public boolean isValid() {
+        checkInitialization();
+        if (positions.size() != numOfEntries) {
+            return false;
+        }
+        for (int i = 1; i <= numOfEntries; i++) {
+            if (positions.get(entryAt(i)) != slotAt(i) || slotAt(i).index != i) {
+                return false;
+            }
+            if (i > 1 && comparator.compare(entryAt(i), entryAt(i / 2)) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Represents the heap as a string, in the same format as a ResizeableList.
+     *
+     * @return The string representation of the heap
+     */
+    @Override
+    public String toString() {
+        checkInitialization();
+
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 1; i <= numOfEntries; i++) {
+            output.append(entryAt(i));
+            if (i < numOfEntries) {
+                output.append(", ");
+            }
+        }
+        output.append("]");
+
+        output.append("\nCapacity: ").append(heap.length - 1);
+        output.append("\nNumEntries: ").append(numOfEntries);
+
+        return output.toString();
+    }
+
+    /**
+     * Returns a preview of the first 10 items of the heap
+     *
+     * @return The string preview of the heap
+     */
+    public String preview() {
+        checkInitialization();
+
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 1; i < numOfEntries && i <= 10; i++) {
+            output.append(entryAt(i)).append(", ");
+        }
+
+        output.append("...]");
+
+        return output.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package src;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The IngestDriver class that measures how fast a file of integers can be
+ * loaded into a MaxHeap.
+ *
+ * The file is loaded once with a single IntFileLoader, and then with a
+ * ParallelHeapLoader for several chunk sizes. The parse and build phases are
+ * reported separately, so the chunk size that parses fastest on this machine
+ * can be picked.
+ *
+ * The file to load can be passed as the first argument. Otherwise, a temporary
+ * file of GENERATED_VALUES random integers is generated and deleted afterwards.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class IngestDriver {
+
+    /**
+     * The number of integers in the generated file.
+     */
+    private static final int GENERATED_VALUES = 10_000_000;
+
+    /**
+     * The chunk sizes we try, in bytes.
+     */
+    private static final long[] CHUNK_SIZES = { 64L << 10, 1L << 20, 8L << 20, 64L << 20 };
+
+    /**
+     * Loads the file with every loader and prints how long each phase took.
+     *
+     * @param args The basic String[] args for any main method in Java. The
+     *             first one, if any, is the file to load.
+     * @throws IOException if the file can't be generated or read.
+     */
+    public static void main(String[] args) throws IOException {
+        boolean generated = args.length == 0;
+        Path file = generated ? generateFile(GENERATED_VALUES) : Path.of(args[0]);
+
+        try {
+            System.out.println("*** INGEST TEST (" + Files.size(file) / (1 << 20) + " MB, "
+                    + ForkJoinPool.commonPool().getParallelism() + " pool threads) ***");
+            System.out.printf("%-16s %8s %14s %14s %16s%n", "loader", "chunks", "parse MB/s", "parse ms",
+                    "build entries/s");
+
+            // A single thread, as a baseline
+            long start = System.nanoTime();
+            int[] values = new IntFileLoader().readAll(file);
+            long parseNanos = System.nanoTime() - start;
+            System.out.printf("%-16s %8d %14.1f %14.1f %16s%n", "sequential", 1,
+                    Files.size(file) / 1e6 / (parseNanos / 1e9), parseNanos / 1e6, "-");
+
+            for (long chunkBytes : CHUNK_SIZES) {
+                ParallelHeapLoader loader = new ParallelHeapLoader(ForkJoinPool.commonPool(), chunkBytes);
+                MaxHeap<Integer> heap = loader.load(file);
+                if (heap.getSize() != values.length) {
+                    System.out.println("FAILED: loaded " + heap.getSize() + " entries instead of " + values.length);
+                }
+                System.out.printf("%-16s %8d %14.1f %14.1f %16.0f%n", "parallel " + (chunkBytes >> 10) + " KB",
+                        loader.getNumChunks(), loader.getParseThroughput(), loader.getParseNanos() / 1e6,
+                        loader.getBuildThroughput());
+            }
+        } finally {
+            if (generated) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Generates a temporary file of random integers, one on each line.
+     *
+     * @param count the number of integers.
+     * @return the file.
+     * @throws IOException if the file can't be written.
+     */
+    private static Path generateFile(int count) throws IOException {
+        Path file = Files.createTempFile("ingest", ".txt");
+        Random random = new Random();
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(Integer.toString(random.nextInt()));
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+}
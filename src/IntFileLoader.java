@@ -0,0 +1,308 @@
+package src;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The IntFileLoader class, a fast streaming reader for files of integers.
+ *
+ * The files are read from a FileChannel into one reusable byte buffer, and the
+ * integers are parsed straight from the ASCII bytes, without building a String
+ * or a Scanner token for each of them. The values can be handed to a callback
+ * one by one, added straight into a heap, or collected into an int[], so a
+ * file of any length can be loaded without boxing it into an Integer[] first.
+ *
+ * The integers may have a leading '-' or '+', and are separated by any mix of
+ * whitespace (spaces, tabs, '\n', '\r') and commas, so files with one integer
+ * per line (like the data files of the HeapDriver class) work as well as
+ * comma-separated ones.
+ *
+ * An IntFileLoader is not thread-safe, since its buffer is shared by every
+ * file it reads.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class IntFileLoader {
+
+    /**
+     * The default size of the buffer, in bytes.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The smallest size of the buffer, in bytes.
+     */
+    private static final int MIN_BUFFER_SIZE = 16;
+
+    /**
+     * The default capacity of the int[] of readAll.
+     */
+    private static final int DEFAULT_CAPACITY = 25;
+
+    /**
+     * The buffer the files are read into, reused for every read.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Default Constructor.
+     */
+    public IntFileLoader() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Initialize the loader with a specific buffer size.
+     *
+     * @param bufferSize the size of the buffer, in bytes.
+     * @throws IllegalArgumentException if the buffer size is too small.
+     */
+    public IntFileLoader(int bufferSize) {
+        if (bufferSize < MIN_BUFFER_SIZE)
+            throw new IllegalArgumentException("Attempted to create a loader with a buffer size (" + bufferSize
+                    + ") which is too small");
+
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Reads every integer of a file, in order, and hands it to a callback.
+     *
+     * @param file     the file to read.
+     * @param consumer the callback that gets every integer.
+     * @return the number of integers read.
+     * @throws IOException           if the file can't be read.
+     * @throws NumberFormatException if the file has something other than
+     *                               integers, or an integer that doesn't fit in
+     *                               an int.
+     */
+    public long forEach(Path file, IntConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return forEach(channel, consumer);
+        }
+    }
+
+    /**
+     * Reads every integer from a channel, in order, and hands it to a callback.
+     * The channel isn't closed afterwards.
+     *
+     * @param channel  the channel to read.
+     * @param consumer the callback that gets every integer.
+     * @return the number of integers read.
+     * @throws IOException           if the channel can't be read.
+     * @throws NumberFormatException if the channel has something other than
+     *                               integers, or an integer that doesn't fit in
+     *                               an int.
+     */
+    public long forEach(FileChannel channel, IntConsumer consumer) throws IOException {
+        long start = channel.position();
+        long end = channel.size();
+        long count = parseRange(channel, start, end, buffer, consumer);
+        channel.position(end);
+        return count;
+    }
+
+    /**
+     * Checks if a byte separates two integers.
+     *
+     * @param b the byte.
+     * @return true if it is whitespace or a comma, false if it isn't
+     */
+    static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == ',';
+    }
+
+    /**
+     * Parses the integers in a range of a channel and hands them to a callback.
+     *
+     * The range is read with positional reads, so several threads can parse
+     * different ranges of the same channel at once, as long as each has its own
+     * buffer. The range must not start or end in the middle of an integer.
+     *
+     * @param channel  the channel to read.
+     * @param start    the position of the first byte of the range.
+     * @param end      the position after the last byte of the range.
+     * @param buffer   the buffer to read into, backed by an array.
+     * @param consumer the callback that gets every integer.
+     * @return the number of integers read.
+     * @throws IOException           if the channel can't be read.
+     * @throws NumberFormatException if the range has something other than
+     *                               integers, or an integer that doesn't fit in
+     *                               an int.
+     */
+    static long parseRange(FileChannel channel, long start, long end, ByteBuffer buffer, IntConsumer consumer)
+            throws IOException {
+        byte[] bytes = buffer.array();
+        long count = 0;
+        long position = start;
+
+        // The number we are in the middle of, which can span two reads
+        long value = 0;
+        boolean negative = false;
+        boolean inNumber = false;
+        boolean signOnly = false;
+
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+
+            for (int i = 0; i < read; i++) {
+                byte b = bytes[i];
+                if (b >= '0' && b <= '9') {
+                    value = value * 10 + (b - '0');
+                    // Stop as soon as the number can't fit in an int
+                    if (value > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) {
+                        throw new NumberFormatException("Integer at byte " + (position + i)
+                                + " doesn't fit in an int.");
+                    }
+                    inNumber = true;
+                    signOnly = false;
+                } else if (isSeparator(b)) {
+                    if (signOnly) {
+                        throw new NumberFormatException("Sign without digits at byte " + (position + i) + ".");
+                    }
+                    if (inNumber) {
+                        consumer.accept((int) (negative ? -value : value));
+                        count++;
+                        value = 0;
+                        negative = false;
+                        inNumber = false;
+                    }
+                } else if ((b == '-' || b == '+') && !inNumber && !signOnly) {
+                    negative = b == '-';
+                    signOnly = true;
+                } else {
+                    throw new NumberFormatException("Unexpected character '" + (char) (b & 0xff) + "' at byte "
+                            + (position + i) + ".");
+                }
+            }
+            position += read;
+        }
+
+        // The last number may not be followed by a separator
+        if (signOnly) {
+            throw new NumberFormatException("Sign without digits at byte " + position + ".");
+        }
+        if (inNumber) {
+            consumer.accept((int) (negative ? -value : value));
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Reads every integer of a file into an int[].
+     *
+     * @param file the file to read.
+     * @return the integers of the file, in order.
+     * @throws IOException           if the file can't be read.
+     * @throws NumberFormatException if the file has something other than
+     *                               integers.
+     */
+    public int[] readAll(Path file) throws IOException {
+        IntArrayCollector collector = new IntArrayCollector();
+        forEach(file, collector);
+        return collector.toArray();
+    }
+
+    /**
+     * Adds every integer of a file to a primitive heap.
+     *
+     * @param file the file to read.
+     * @param heap the heap to add the integers to.
+     * @return the number of integers added.
+     * @throws IOException           if the file can't be read.
+     * @throws NumberFormatException if the file has something other than
+     *                               integers.
+     */
+    public long loadInto(Path file, IntMaxHeap heap) throws IOException {
+        return forEach(file, heap::add);
+    }
+
+    /**
+     * Adds every integer of a file to a heap.
+     *
+     * @param file the file to read.
+     * @param heap the heap to add the integers to.
+     * @return the number of integers added.
+     * @throws IOException           if the file can't be read.
+     * @throws NumberFormatException if the file has something other than
+     *                               integers.
+     */
+    public long loadInto(Path file, BinaryHeapInterface<Integer> heap) throws IOException {
+        return forEach(file, heap::add);
+    }
+
+    /**
+     * Collects integers into an int[] that doubles when it is full.
+     */
+    static class IntArrayCollector implements IntConsumer {
+
+        /**
+         * The integers collected so far.
+         */
+        private int[] values = new int[DEFAULT_CAPACITY];
+
+        /**
+         * The number of integers collected so far.
+         */
+        private int size = 0;
+
+        /**
+         * Adds an integer, doubling the array if it is full.
+         *
+         * @param value the integer.
+         */
+        @Override
+        public void accept(int value) {
+            if (size == values.length) {
+                if (size == Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("Too many integers to fit in an int[].");
+                }
+                values = Arrays.copyOf(values, (int) Math.min((long) size * 2, Integer.MAX_VALUE - 8));
+            }
+            values[size++] = value;
+        }
+
+        /**
+         * Gets the number of integers collected so far.
+         *
+         * @return the number of integers.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Gets the backing array, whose first getSize() slots are the integers
+         * collected so far. It is not copied, so it must not be modified.
+         *
+         * @return the backing array.
+         */
+        public int[] getValues() {
+            return values;
+        }
+
+        /**
+         * Gets the integers collected so far.
+         *
+         * @return an int[] with exactly the integers collected.
+         */
+        public int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
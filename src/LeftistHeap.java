@@ -0,0 +1,364 @@
+package src;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+
+/**
+ * The LeftistHeap class, a heap made of linked nodes that can be melded with
+ * another LeftistHeap in O(log(n)).
+ *
+ * A leftist heap is a binary tree where every node holds an entry at least as
+ * large as the entries of its children, and keeps its rank: the length of the
+ * path down its right children to the first missing child. The rank of the
+ * left child is never smaller than the rank of the right child, so the path
+ * down the right children of the root has at most log(n + 1) nodes.
+ *
+ * Every operation is a merge of two right paths:
+ * - meld merges the roots of both heaps, in O(log(n)).
+ * - add melds a heap of one entry, in O(log(n)).
+ * - remove melds the two children of the root, in O(log(n)).
+ * Unlike the PairingHeap, these bounds hold for every operation, not only on
+ * average.
+ *
+ * The nodes aren't kept in an array, so there are no indices: the heap only
+ * implements the BinaryHeapInterface, not the ArrayHeapInterface.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class LeftistHeap<T> implements BinaryHeapInterface<T> {
+
+    /**
+     * A node of the heap.
+     */
+    private static final class Node<T> {
+
+        /**
+         * The entry of the node.
+         */
+        private final T entry;
+
+        /**
+         * The left child of the node, null if it has none.
+         */
+        private Node<T> left;
+
+        /**
+         * The right child of the node, null if it has none.
+         */
+        private Node<T> right;
+
+        /**
+         * The number of nodes on the path down the right children of this node.
+         */
+        private int rank = 1;
+
+        /**
+         * Initialize a node.
+         *
+         * @param entry the entry of the node.
+         */
+        private Node(T entry) {
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * The root of the heap, null if the heap is empty.
+     */
+    private Node<T> root;
+
+    /**
+     * The number of entries in the heap.
+     */
+    private int numOfEntries;
+
+    /**
+     * The order of the heap. The entry that compares greatest is kept at the top.
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * The number of comparisons this heap has made.
+     */
+    private long numComparisons;
+
+    /**
+     * The nodes kept on the way down a merge, reused by every merge.
+     */
+    private final Deque<Node<T>> path = new ArrayDeque<>();
+
+    /**
+     * A boolean that keeps track of whether or not the constructor was properly called
+     */
+    private boolean initialized = false;
+
+    /**
+     * Default Constructor. The entries are ordered by their natural order.
+     */
+    public LeftistHeap() {
+        this(AbstractHeap.naturalOrder());
+    }
+
+    /**
+     * Initialize the Heap with a Comparator.
+     *
+     * @param comparator the order of the heap. The entry that compares greatest
+     *                   is kept at the top.
+     * @throws IllegalArgumentException if the comparator is null.
+     */
+    public LeftistHeap(Comparator<? super T> comparator) {
+        if (comparator == null)
+            throw new IllegalArgumentException("Attempted to create a heap without a comparator");
+
+        this.comparator = comparator;
+        root = null;
+        numOfEntries = 0;
+        numComparisons = 0;
+        initialized = true;
+    }
+
+    /**
+     * Checks if the heap is initialized.
+     */
+    private void checkInitialization() {
+        if (!initialized) {
+            throw new SecurityException("LeftistHeap object is corrupt or was not initialized properly.");
+        }
+    }
+
+    /**
+     * Adds an entry to the Heap
+     *
+     * @param entry The entry we want to add to the Heap
+     */
+    @Override
+    public void add(T entry) {
+        checkInitialization();
+        root = merge(root, new Node<>(entry));
+        numOfEntries++;
+    }
+
+    /**
+     * Removes and returns the heap's largest item.
+     *
+     * @return the heap's largest item, null if the heap is empty.
+     */
+    @Override
+    public T remove() {
+        checkInitialization();
+        if (root == null) {
+            return null;
+        }
+
+        T max = root.entry;
+        root = merge(root.left, root.right);
+        numOfEntries--;
+        return max;
+    }
+
+    /**
+     * Get the max item in the heap.
+     *
+     * @return the heap's largest item, null if the heap is empty.
+     */
+    public T getMax() {
+        checkInitialization();
+        if (root == null) {
+            return null;
+        }
+        return root.entry;
+    }
+
+    /**
+     * Melds another LeftistHeap into this one, in O(log(n)). The other heap is
+     * emptied.
+     *
+     * The trees are linked as they are, so both heaps must use the same order
+     * (their comparators can be different instances, such as the comparators of
+     * shards that each built their own). Melding a heap with a different order
+     * leaves the merged heap out of order.
+     *
+     * @param other The heap to meld into this one
+     * @throws IllegalArgumentException if the other heap is this heap.
+     */
+    public void meld(LeftistHeap<T> other) {
+        checkInitialization();
+        if (other == this)
+            throw new IllegalArgumentException("Attempted to meld a heap into itself");
+
+        root = merge(root, other.root);
+        numOfEntries += other.numOfEntries;
+
+        // The other heap doesn't own its nodes anymore
+        other.root = null;
+        other.numOfEntries = 0;
+    }
+
+    /**
+     * Merges two trees along their right paths.
+     *
+     * Going down, the larger of the two current roots is kept and we continue
+     * with its right child and the other root. Going back up, the children of
+     * every kept node are swapped if its right child now has the larger rank.
+     * The right paths have O(log(n)) nodes, so the path is kept on a small
+     * stack instead of recursing.
+     *
+     * @param first  the first tree, may be null.
+     * @param second the second tree, may be null.
+     * @return the root of the merged tree.
+     */
+    private Node<T> merge(Node<T> first, Node<T> second) {
+        while (first != null && second != null) {
+            numComparisons++;
+            if (comparator.compare(second.entry, first.entry) > 0) {
+                Node<T> swap = first;
+                first = second;
+                second = swap;
+            }
+
+            // Keep the larger root, and merge its right child with the other tree
+            path.push(first);
+            first = first.right;
+        }
+        Node<T> merged = first != null ? first : second;
+
+        // Hang the merged tree back under the kept nodes, from the bottom up
+        while (!path.isEmpty()) {
+            Node<T> node = path.pop();
+            node.right = merged;
+            if (rank(node.left) < rank(node.right)) {
+                node.right = node.left;
+                node.left = merged;
+            }
+            node.rank = rank(node.right) + 1;
+            merged = node;
+        }
+        return merged;
+    }
+
+    /**
+     * Gets the rank of a tree.
+     *
+     * @param node the root of the tree, may be null.
+     * @return the rank of the tree, 0 if it is empty.
+     */
+    private static int rank(Node<?> node) {
+        return node == null ? 0 : node.rank;
+    }
+
+    /**
+     * Checks if the Heap is empty
+     *
+     * @return true if the heap is empty, false if it isn't
+     */
+    @Override
+    public boolean isEmpty() {
+        checkInitialization();
+        return numOfEntries == 0;
+    }
+
+    /**
+     * Gets the size of the heap (how many entries are in the heap)
+     *
+     * @return The size of the heap
+     */
+    @Override
+    public int getSize() {
+        checkInitialization();
+        return numOfEntries;
+    }
+
+    /**
+     * Clears a heap of all its entries
+     */
+    @Override
+    public void clear() {
+        checkInitialization();
+        // The nodes are only reachable from the root
+        root = null;
+        numOfEntries = 0;
+    }
+
+    /**
+     * Get the number of comparisons this heap has made.
+     *
+     * @return the number of comparisons.
+     */
+    public long getNumComparisons() {
+        checkInitialization();
+        return numComparisons;
+    }
+
+    /**
+     * Represents the heap as a string. The entries are listed in preorder, so the
+     * max comes first.
+     *
+     * @return The string representation of the heap
+     */
+    @Override
+    public String toString() {
+        checkInitialization();
+
+        StringBuilder output = new StringBuilder("[");
+        appendEntries(output, numOfEntries);
+        output.append("]");
+
+        output.append("\nNumEntries: ").append(numOfEntries);
+
+        return output.toString();
+    }
+
+    /**
+     * Returns a preview of the first 10 items of the heap, in preorder.
+     *
+     * @return The string preview of the heap
+     */
+    public String preview() {
+        checkInitialization();
+
+        StringBuilder output = new StringBuilder("[");
+        if (appendEntries(output, 10) > 0) {
+            output.append(", ");
+        }
+        output.append("...]");
+
+        return output.toString();
+    }
+
+    /**
+     * Appends entries of the heap to a StringBuilder, in preorder.
+     *
+     * @param output the StringBuilder.
+     * @param limit  the largest number of entries to append.
+     * @return the number of entries appended.
+     */
+    private int appendEntries(StringBuilder output, int limit) {
+        // The left paths can be long, so walk the tree with a stack instead of recursion
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        if (root != null) {
+            stack.push(root);
+        }
+
+        int count = 0;
+        while (!stack.isEmpty() && count < limit) {
+            Node<T> node = stack.pop();
+            if (count > 0) {
+                output.append(", ");
+            }
+            output.append(node.entry);
+            count++;
+
+            if (node.right != null) {
+                stack.push(node.right);
+            }
+            if (node.left != null) {
+                stack.push(node.left);
+            }
+        }
+        return count;
+    }
+}
@@ -1,5 +1,7 @@
 package src;
 
+import java.util.Collection;
+
 /**
  * The ListInterface interface which we later implement to create a ResizeableList.
  *
@@ -40,6 +42,49 @@ public interface ListInterface<T> {
      */
     public void add(T entry);
 
+    /**
+     * Adds every entry of an array to the end of the list, in order.
+     *
+     * @param entries The entries we want to add to the list
+     */
+    public void addAll(T[] entries);
+
+    /**
+     * Adds every entry of a Collection to the end of the list, in the order of
+     * its iterator.
+     *
+     * @param entries The entries we want to add to the list
+     */
+    public void addAll(Collection<? extends T> entries);
+
+    /**
+     * Inserts every entry of an array starting at an index, in order (such that
+     * arr[index] == entries[0]). The entries at and after the index move back by
+     * the number of entries.
+     *
+     * @param index   The index we want to add the first entry to
+     * @param entries The entries we want to add to the list
+     */
+    public void insertAll(int index, T[] entries);
+
+    /**
+     * Inserts every entry of a Collection starting at an index, in the order of
+     * its iterator.
+     *
+     * @param index   The index we want to add the first entry to
+     * @param entries The entries we want to add to the list
+     */
+    public void insertAll(int index, Collection<? extends T> entries);
+
+    /**
+     * Removes every element from index from to index to (both included). The
+     * elements after them move forward.
+     *
+     * @param from The index of the first element we want to remove.
+     * @param to   The index of the last element we want to remove.
+     */
+    public void removeRange(int from, int to);
+
     /**
      * Removes an element from the list given an index.
      *
@@ -156,6 +201,19 @@ public interface ListInterface<T> {
      */
     public T[] getArray();
 
+    /**
+     * Copies the entries of the list, in order, into an array of the type of the
+     * destination (like Collection.toArray(T[])).
+     *
+     * If the entries fit in the destination, they are copied into it (followed by
+     * a null if there is room left). Otherwise, a new array of the same type is
+     * created.
+     *
+     * @param destination The array the entries are copied into
+     * @return An array of the entries of the list
+     */
+    public T[] toArray(T[] destination);
+
     /**
      * Gets the number of the entries in the List
      *
@@ -163,4 +221,11 @@ public interface ListInterface<T> {
      */
     public int count();
 
+    /**
+     * Returns a preview of the first 10 items of the list
+     *
+     * @return The string preview of the list
+     */
+    public String preview();
+
 }
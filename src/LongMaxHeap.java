@@ -0,0 +1,416 @@
+package src;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * The LongMaxHeap class, a max heap specialized for primitive longs.
+ *
+ * This class offers the same operations as the MaxHeap class (adding,
+ * removing, getting the max, and both the sequential and the optimal
+ * methods of building a heap), but the entries are stored directly in an
+ * long[] instead of being boxed into Long objects inside a ResizeableList.
+ *
+ * Like the ResizeableList, the index of a LongMaxHeap starts at 1. The slot
+ * at index 0 of the backing array is never used, which keeps the parent and
+ * child index math the same as the MaxHeap class.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class LongMaxHeap {
+
+    /**
+     * The default/minimum capacity of any LongMaxHeap. Matches the MaxHeap class.
+     */
+    private static final int DEFAULT_CAPACITY = 25;
+
+    /**
+     * The largest capacity we can request for a Java array.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * The long[] of the heap we will be populating. Index 0 is unused.
+     */
+    private long[] heap;
+
+    /**
+     * The number of entries in the heap.
+     */
+    private int numOfEntries;
+
+    /**
+     * The number of swaps it took to create this heap.
+     */
+    private long numSwaps;
+
+    /**
+     * A boolean that keeps track of whether or not the constructor was properly called
+     */
+    private boolean initialized = false;
+
+    /**
+     * Default Constructor.
+     */
+    public LongMaxHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initialize the Heap with a specific capacity.
+     *
+     * @param initialCapacity the initial capacity for the Heap.
+     */
+    public LongMaxHeap(int initialCapacity) {
+        if (initialCapacity < DEFAULT_CAPACITY)
+            initialCapacity = DEFAULT_CAPACITY;
+        if (initialCapacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("Attempted to create a heap with a capacity (" + initialCapacity
+                    + ") which is too large");
+
+        // Add one slot since index 0 is never used
+        heap = new long[initialCapacity + 1];
+        numOfEntries = 0;
+        numSwaps = 0;
+        initialized = true;
+    }
+
+    /**
+     * Constructor that creates a heap from an array.
+     *
+     * @param items the array used to create the heap.
+     */
+    public LongMaxHeap(long[] items) {
+        // Default to the non-optimal method
+        this(items, false);
+    }
+
+    /**
+     * Constructor that creates a heap from an array using the optimal method or
+     * not.
+     *
+     * @param items   the array used to create the heap.
+     * @param optimal if the constructor should use the optimal method to create the
+     *                heap.
+     */
+    public LongMaxHeap(long[] items, boolean optimal) {
+        this(items.length);
+
+        // If we want the non-optimal method. O(nlog(n))
+        if (!optimal) {
+            for (int i = 0; i < items.length; i++) {
+                this.add(items[i]);
+            }
+            return;
+        }
+
+        // Optimal method O(n)
+
+        // Copy items into the heap, starting at index 1
+        System.arraycopy(items, 0, heap, 1, items.length);
+        numOfEntries = items.length;
+
+        // Sift down every parent, starting at the last one
+        for (int i = numOfEntries / 2; i >= 1; i--) {
+            siftDown(i, heap[i]);
+        }
+    }
+
+    /**
+     * Checks if the heap is initialized.
+     */
+    private void checkInitialization() {
+        if (!initialized) {
+            throw new SecurityException("LongMaxHeap object is corrupt or was not initialized properly.");
+        }
+    }
+
+    /**
+     * Throws an error if the heap has no entries.
+     *
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    private void checkNotEmpty() {
+        if (numOfEntries == 0) {
+            throw new NoSuchElementException("LongMaxHeap is empty.");
+        }
+    }
+
+    /**
+     * Makes sure the backing array has room for one more entry, doubling it if it doesn't.
+     */
+    private void ensureCapacity() {
+        // We already have room
+        if (numOfEntries + 1 < heap.length) {
+            return;
+        }
+
+        if (heap.length - 1 >= MAX_CAPACITY) {
+            throw new IllegalStateException("LongMaxHeap has reached its maximum capacity (" + MAX_CAPACITY + ").");
+        }
+
+        // Double the capacity without going over the maximum
+        int newCapacity = (int) Math.min((long) (heap.length - 1) * 2, MAX_CAPACITY);
+        heap = Arrays.copyOf(heap, newCapacity + 1);
+    }
+
+    /**
+     * Checks if we can add an entry to a given index.
+     *
+     * @param index The index we want to place the entry at.
+     * @param entry The entry we want to add
+     * @return true if we can add the entry, false if we cannot
+     */
+    public boolean canAdd(int index, long entry) {
+        checkInitialization();
+
+        if (index < 1 || index > numOfEntries) {
+            throw new IndexOutOfBoundsException("The index provided (" + index
+                    + ") does not fall within the range of the heap [1-" + numOfEntries + "].");
+        }
+
+        // Check if the entry we want to add is larger than the item at the index we want to place the entry at
+        return entry > heap[index];
+    }
+
+    /**
+     * Gets the index of a parent given the index of the child.
+     *
+     * @param childIndex The index of a child node.
+     * @return The index of the child's parent, -1 if there is no parent.
+     */
+    public int getParentIndex(int childIndex) {
+        checkInitialization();
+
+        // The root (and anything before it) doesn't have a parent
+        if (childIndex <= 1) {
+            return -1;
+        }
+
+        return childIndex / 2;
+    }
+
+    /**
+     * Gets the index of a child given the index of the parent.
+     *
+     * @param parentIndex The index of a parent node.
+     * @return The index of the first child of the parent (add 1 for the second
+     *         child), -1 if there is no child.
+     */
+    public int getChildIndex(int parentIndex) {
+        checkInitialization();
+
+        // Multiply the parentIndex by 2
+        int childIndex = parentIndex * 2;
+
+        // if we're past the number of entries, then there's no child
+        if (parentIndex < 1 || childIndex > numOfEntries) {
+            return -1;
+        }
+
+        return childIndex;
+    }
+
+    /**
+     * Adds an entry to the Heap
+     *
+     * @param entry The entry we want to add to the Heap
+     */
+    public void add(long entry) {
+        checkInitialization();
+        ensureCapacity();
+
+        // Start with a hole at the new last index
+        int hole = ++numOfEntries;
+
+        // Move the hole up while its parent is less than the entry
+        while (hole > 1 && entry > heap[hole >>> 1]) {
+            heap[hole] = heap[hole >>> 1];
+            hole >>>= 1;
+            numSwaps++;
+        }
+
+        // Fill the hole with the entry
+        heap[hole] = entry;
+    }
+
+    /**
+     * Removes and returns the heap's largest item.
+     *
+     * @return the heap's largest item.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public long remove() {
+        checkInitialization();
+        checkNotEmpty();
+
+        // Get the max item of the heap
+        long max = heap[1];
+
+        // Take the last item out and sift it down from the root
+        long last = heap[numOfEntries--];
+        if (numOfEntries > 0) {
+            siftDown(1, last);
+        }
+
+        // Return the previously max item of the heap
+        return max;
+    }
+
+    /**
+     * Replaces the heap's largest item with a new entry, and returns the old
+     * largest item. This costs one sift down instead of a remove and an add.
+     *
+     * @param entry The entry that takes the place of the largest item
+     * @return the heap's previous largest item.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public long replaceMax(long entry) {
+        checkInitialization();
+        checkNotEmpty();
+
+        // Sink the new entry from the root, in place of the max item
+        long max = heap[1];
+        siftDown(1, entry);
+
+        return max;
+    }
+
+    /**
+     * Removes n items from the heap
+     *
+     * @param n the number of times to call `remove` on this heap
+     */
+    public void remove(int n) {
+        // Loop through until n (or until we run out of items)
+        for (int i = 0; i < n && !isEmpty(); i++) {
+            this.remove();
+        }
+    }
+
+    /**
+     * Moves a hole at the given index down the heap until the entry fits in it.
+     *
+     * @param hole  the index of the hole.
+     * @param entry the entry that will eventually fill the hole.
+     */
+    private void siftDown(int hole, long entry) {
+        int child;
+        // While the hole has at least one child
+        while ((child = hole << 1) <= numOfEntries) {
+            // Pick the larger of the two children
+            if (child < numOfEntries && heap[child + 1] > heap[child]) {
+                child++;
+            }
+
+            // If the entry is at least as large as the larger child, it fits
+            if (entry >= heap[child]) {
+                break;
+            }
+
+            // Otherwise, move the child up and the hole down
+            heap[hole] = heap[child];
+            hole = child;
+            numSwaps++;
+        }
+
+        // Fill the hole with the entry
+        heap[hole] = entry;
+    }
+
+    /**
+     * Get the max item in the heap.
+     *
+     * @return the heap's largest item.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public long getMax() {
+        checkInitialization();
+        checkNotEmpty();
+        return heap[1];
+    }
+
+    /**
+     * Checks if the Heap is empty
+     *
+     * @return true if the heap is empty, false if it isn't
+     */
+    public boolean isEmpty() {
+        checkInitialization();
+        return numOfEntries == 0;
+    }
+
+    /**
+     * Gets the size of the heap (how many entries are in the heap)
+     *
+     * @return The size of the heap
+     */
+    public int getSize() {
+        checkInitialization();
+        return numOfEntries;
+    }
+
+    /**
+     * Clears a heap of all its entries
+     */
+    public void clear() {
+        checkInitialization();
+        // Primitives don't hold references, so we only need to forget them
+        numOfEntries = 0;
+    }
+
+    /**
+     * Get the number of swaps it took to create the heap.
+     *
+     * @return the number of swaps.
+     */
+    public long getNumSwaps() {
+        checkInitialization();
+        return numSwaps;
+    }
+
+    /**
+     * Represents the heap as a string, in the same format as a ResizeableList.
+     *
+     * @return The string representation of the heap
+     */
+    @Override
+    public String toString() {
+        checkInitialization();
+
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 1; i <= numOfEntries; i++) {
+            output.append(heap[i]);
+            if (i < numOfEntries) {
+                output.append(", ");
+            }
+        }
+        output.append("]");
+
+        output.append("\nCapacity: ").append(heap.length - 1);
+        output.append("\nNumEntries: ").append(numOfEntries);
+
+        return output.toString();
+    }
+
+    /**
+     * Returns a preview of the first 10 items of the heap
+     *
+     * @return The string preview of the heap
+     */
+    public String preview() {
+        checkInitialization();
+
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 1; i < numOfEntries && i <= 10; i++) {
+            output.append(heap[i]).append(", ");
+        }
+
+        output.append("...]");
+
+        return output.toString();
+    }
+}
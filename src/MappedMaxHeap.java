@@ -0,0 +1,571 @@
+package src;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * The MappedMaxHeap class, an OffHeapMaxHeap that lives in a memory-mapped
+ * file so it survives restarts.
+ *
+ * The file keeps the heap exactly as it is laid out in memory: a header page,
+ * followed by the chunks of the heap one after the other. Reopening a heap only
+ * reads the header and maps the chunks again, so it takes the same time no
+ * matter how many entries there are, and the heap doesn't have to be rebuilt.
+ *
+ * The file is only guaranteed to be consistent at checkpoints, when force()
+ * (or close()) has written everything to the disk. Between two checkpoints,
+ * the entries are modified in place, so the heap keeps an undo log next to its
+ * file (the same name followed by ".undo"): the first time a chunk is modified
+ * after a checkpoint, the entries it had at the checkpoint are appended to the
+ * log and written to the disk, before the chunk itself changes. The header also
+ * records whether the heap was modified since the last checkpoint.
+ *
+ * If the program crashes between two checkpoints, open() copies the logged
+ * chunks back and returns the heap as of the last checkpoint: everything done
+ * after it is lost, but nothing before it. A checkpoint is what makes changes
+ * durable, so the log only ever holds one checkpoint interval, at most one copy
+ * of each chunk. A file that was modified and whose log is missing (or belongs
+ * to another checkpoint) can't be recovered, and open() fails instead of
+ * returning a broken heap.
+ *
+ * File layout (the header is one page, so the chunks are page-aligned):
+ * - bytes 0-7: the magic number.
+ * - bytes 8-11: the version of the layout.
+ * - bytes 12-15: the flags (1 if the entries have payloads).
+ * - bytes 16-19: the state (CLEAN or DIRTY).
+ * - bytes 20-23: the number of entries.
+ * - bytes 24-27: the number of entries in each chunk.
+ * - bytes 32-39: the number of the last checkpoint.
+ * - then chunk c at HEADER_BYTES + c * the size of a full chunk (while the
+ * heap has a single chunk, the file only holds as much of it as its capacity).
+ * Undo log layout:
+ * - bytes 0-7: the number of the checkpoint the log restores.
+ * - bytes 8-11: the number of records.
+ * - then each record: the index of the chunk (4 bytes), the number of bytes
+ * logged (4 bytes), and the bytes the chunk had at the checkpoint.
+ * Everything is stored in little-endian order.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class MappedMaxHeap extends OffHeapMaxHeap {
+
+    /**
+     * The magic number at the start of every heap file ("MAXHEAP1").
+     */
+    private static final long MAGIC = 0x4d41584845415031L;
+
+    /**
+     * The version of the file layout.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * The number of bytes of the header.
+     */
+    private static final int HEADER_BYTES = 4096;
+
+    /**
+     * The flag set when the entries have payloads.
+     */
+    private static final int PAYLOAD_FLAG = 1;
+
+    /**
+     * The state of a file whose contents match its header.
+     */
+    private static final int CLEAN = 0;
+
+    /**
+     * The state of a file that was modified since its last checkpoint.
+     */
+    private static final int DIRTY = 1;
+
+    /**
+     * The offsets of the fields of the header.
+     */
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 8;
+    private static final int FLAGS_OFFSET = 12;
+    private static final int STATE_OFFSET = 16;
+    private static final int SIZE_OFFSET = 20;
+    private static final int CHUNK_ENTRIES_OFFSET = 24;
+    private static final int CHECKPOINT_OFFSET = 32;
+
+    /**
+     * The extension of the undo log.
+     */
+    private static final String UNDO_EXTENSION = ".undo";
+
+    /**
+     * The number of bytes of the header of the undo log, and of each record.
+     */
+    private static final int UNDO_HEADER_BYTES = 16;
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    /**
+     * The offsets of the fields of the header of the undo log.
+     */
+    private static final int UNDO_CHECKPOINT_OFFSET = 0;
+    private static final int UNDO_RECORDS_OFFSET = 8;
+
+    /**
+     * The file the heap lives in.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The header of the file.
+     */
+    private final MappedByteBuffer header;
+
+    /**
+     * The undo log of the file.
+     */
+    private final FileChannel undo;
+
+    /**
+     * The path of the undo log, to delete it once the heap is closed.
+     */
+    private final Path undoFile;
+
+    /**
+     * The number of bytes of each entry.
+     */
+    private final int entryBytes;
+
+    /**
+     * The number of bytes of each chunk in the file.
+     */
+    private final long chunkBytes;
+
+    /**
+     * If the heap was modified since the last checkpoint.
+     */
+    private boolean dirty;
+
+    /**
+     * The number of the last checkpoint.
+     */
+    private long checkpoint;
+
+    /**
+     * The number of entries of the heap at the last checkpoint.
+     */
+    private int checkpointSize;
+
+    /**
+     * The chunks logged since the last checkpoint.
+     */
+    private final BitSet logged = new BitSet();
+
+    /**
+     * The number of records in the undo log.
+     */
+    private int numRecords;
+
+    /**
+     * The position in the undo log where the next record goes.
+     */
+    private long undoEnd;
+
+    /**
+     * Initialize the Heap on an open file. The chunks are mapped by create and
+     * open, once the fields are set.
+     *
+     * @param channel     the file the heap lives in.
+     * @param header      the header of the file.
+     * @param undo        the undo log of the file.
+     * @param undoFile    the path of the undo log.
+     * @param withPayload if every entry has a long payload.
+     */
+    private MappedMaxHeap(FileChannel channel, MappedByteBuffer header, FileChannel undo, Path undoFile,
+            boolean withPayload) {
+        super(withPayload);
+        this.channel = channel;
+        this.header = header;
+        this.undo = undo;
+        this.undoFile = undoFile;
+        this.entryBytes = withPayload ? 2 * Long.BYTES : Long.BYTES;
+        this.chunkBytes = (long) CHUNK_ENTRIES * entryBytes;
+        this.dirty = false;
+        this.checkpoint = header.getLong(CHECKPOINT_OFFSET);
+        this.checkpointSize = header.getInt(SIZE_OFFSET);
+        setWriteTracking(true);
+    }
+
+    /**
+     * Gets the path of the undo log of a heap file.
+     *
+     * @param file the file of the heap.
+     * @return the path of its undo log.
+     */
+    private static Path undoFileOf(Path file) {
+        return file.resolveSibling(file.getFileName() + UNDO_EXTENSION);
+    }
+
+    /**
+     * Creates a new, empty heap in a file. If the file already exists, it is
+     * overwritten.
+     *
+     * @param file            the file of the heap.
+     * @param initialCapacity the initial capacity for the Heap.
+     * @param withPayload     if every entry should carry a long payload.
+     * @return the heap.
+     * @throws IOException if the file can't be created or mapped.
+     */
+    public static MappedMaxHeap create(Path file, int initialCapacity, boolean withPayload) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(MAGIC_OFFSET, MAGIC);
+            header.putInt(VERSION_OFFSET, VERSION);
+            header.putInt(FLAGS_OFFSET, withPayload ? PAYLOAD_FLAG : 0);
+            header.putInt(STATE_OFFSET, CLEAN);
+            header.putInt(SIZE_OFFSET, 0);
+            header.putInt(CHUNK_ENTRIES_OFFSET, CHUNK_ENTRIES);
+            header.putLong(CHECKPOINT_OFFSET, 0);
+
+            Path undoFile = undoFileOf(file);
+            FileChannel undo = FileChannel.open(undoFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            try {
+                MappedMaxHeap heap = new MappedMaxHeap(channel, header, undo, undoFile, withPayload);
+                heap.reserve(Math.max(initialCapacity, 1));
+                heap.force();
+                return heap;
+            } catch (RuntimeException e) {
+                undo.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reopens a heap from its file, without rebuilding it. If the heap was
+     * modified after its last checkpoint (because the program crashed, for
+     * example), the chunks in its undo log are copied back first.
+     *
+     * @param file the file of the heap.
+     * @return the heap, as of its last checkpoint.
+     * @throws IOException if the file can't be mapped, isn't a heap file, or
+     *                     was modified after its last checkpoint and its undo
+     *                     log is missing.
+     */
+    public static MappedMaxHeap open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException(file + " is too small to be a heap file.");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+
+            // Check that this is a heap file we know how to read
+            if (header.getLong(MAGIC_OFFSET) != MAGIC) {
+                throw new IOException(file + " is not a heap file.");
+            }
+            if (header.getInt(VERSION_OFFSET) != VERSION || header.getInt(CHUNK_ENTRIES_OFFSET) != CHUNK_ENTRIES) {
+                throw new IOException(file + " has an unsupported layout (version "
+                        + header.getInt(VERSION_OFFSET) + ").");
+            }
+            boolean withPayload = (header.getInt(FLAGS_OFFSET) & PAYLOAD_FLAG) != 0;
+            int entryBytes = withPayload ? 2 * Long.BYTES : Long.BYTES;
+
+            Path undoFile = undoFileOf(file);
+            FileChannel undo = FileChannel.open(undoFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            try {
+                if (header.getInt(STATE_OFFSET) != CLEAN) {
+                    recover(file, channel, header, undo, (long) CHUNK_ENTRIES * entryBytes);
+                }
+                undo.truncate(0);
+                MappedMaxHeap heap = new MappedMaxHeap(channel, header, undo, undoFile, withPayload);
+
+                // Map every entry in the file, then trust the size in the header
+                long stored = (channel.size() - HEADER_BYTES) / entryBytes;
+                int size = header.getInt(SIZE_OFFSET);
+                if (stored > Integer.MAX_VALUE - 8 || size < 0 || size > stored) {
+                    throw new IOException(file + " has a size (" + size + ") that doesn't match its length.");
+                }
+                heap.reserve((int) Math.max(stored, 1));
+                heap.restoreSize(size);
+                return heap;
+            } catch (IOException | RuntimeException e) {
+                undo.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Brings a file that was modified after its last checkpoint back to that
+     * checkpoint, by copying every chunk in its undo log back into it.
+     *
+     * Only the records the log counts are applied: a record is counted once it
+     * is on the disk, so a record cut short by the crash is ignored (its chunk
+     * wasn't modified yet).
+     *
+     * @param file       the file of the heap.
+     * @param channel    the file the heap lives in.
+     * @param header     the header of the file.
+     * @param undo       the undo log of the file.
+     * @param chunkBytes the number of bytes of each chunk in the file.
+     * @throws IOException if the log is missing, belongs to another checkpoint
+     *                     or is corrupted, or if the file can't be written.
+     */
+    private static void recover(Path file, FileChannel channel, MappedByteBuffer header, FileChannel undo,
+            long chunkBytes) throws IOException {
+        ByteBuffer undoHeader = ByteBuffer.allocate(UNDO_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        if (undo.read(undoHeader, 0) != UNDO_HEADER_BYTES
+                || undoHeader.getLong(UNDO_CHECKPOINT_OFFSET) != header.getLong(CHECKPOINT_OFFSET)) {
+            throw new IOException(file + " was modified after its last checkpoint, and its undo log is missing.");
+        }
+
+        int records = undoHeader.getInt(UNDO_RECORDS_OFFSET);
+        long position = UNDO_HEADER_BYTES;
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < records; i++) {
+            recordHeader.clear();
+            readFully(undo, recordHeader, position);
+            int chunkIndex = recordHeader.getInt(0);
+            int bytes = recordHeader.getInt(4);
+            if (chunkIndex < 0 || bytes < 0 || bytes > chunkBytes) {
+                throw new IOException(file + " has a corrupted undo log (record " + i + ").");
+            }
+            ByteBuffer entries = ByteBuffer.allocate(bytes);
+            readFully(undo, entries, position + RECORD_HEADER_BYTES);
+            entries.flip();
+            writeFully(channel, entries, HEADER_BYTES + chunkIndex * chunkBytes);
+            position += RECORD_HEADER_BYTES + bytes;
+        }
+
+        // The checkpoint is back on the disk, so the file is clean again
+        channel.force(false);
+        header.putInt(STATE_OFFSET, CLEAN);
+        header.force();
+    }
+
+    /**
+     * Reads bytes from a file until a buffer is full.
+     *
+     * @param file     the file.
+     * @param buffer   the buffer to fill.
+     * @param position the position in the file to read from.
+     * @throws IOException if the file ends first or can't be read.
+     */
+    private static void readFully(FileChannel file, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = file.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("The undo log ends in the middle of a record.");
+            }
+        }
+    }
+
+    /**
+     * Writes a buffer to a file at a position.
+     *
+     * @param file     the file.
+     * @param buffer   the buffer to write.
+     * @param position the position in the file to write to.
+     * @throws IOException if the file can't be written.
+     */
+    private static void writeFully(FileChannel file, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += file.write(buffer, offset);
+        }
+    }
+
+    /**
+     * Maps a chunk of the file, growing the file if the chunk is past its end.
+     *
+     * @param chunkIndex the index of the chunk in the heap.
+     * @param bytes      the size of the chunk in bytes.
+     * @return the mapped chunk.
+     * @throws UncheckedIOException if the chunk can't be mapped.
+     */
+    @Override
+    protected ByteBuffer allocateChunk(int chunkIndex, int bytes) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + chunkIndex * chunkBytes, bytes)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map chunk " + chunkIndex + " of the heap file.", e);
+        }
+    }
+
+    /**
+     * Extends the mapping of a chunk. The file already holds its entries, so
+     * nothing is copied.
+     *
+     * @param chunkIndex the index of the chunk in the heap.
+     * @param chunk      the chunk to resize.
+     * @param bytes      the new size of the chunk in bytes.
+     * @return the resized chunk.
+     * @throws UncheckedIOException if the chunk can't be mapped.
+     */
+    @Override
+    protected ByteBuffer resizeChunk(int chunkIndex, ByteBuffer chunk, int bytes) {
+        ByteBuffer resized = allocateChunk(chunkIndex, bytes);
+        release(chunk);
+        return resized;
+    }
+
+    /**
+     * Logs a chunk the first time it is modified after the last checkpoint, so
+     * the checkpoint can still be recovered if the program crashes before the
+     * next one.
+     *
+     * @param chunkIndex the index of the chunk about to be written.
+     * @throws UncheckedIOException if the undo log can't be written.
+     */
+    @Override
+    protected void beforeWrite(int chunkIndex) {
+        if (logged.get(chunkIndex)) {
+            return;
+        }
+        try {
+            if (!dirty) {
+                markDirty();
+            }
+            // Only the entries the chunk had at the checkpoint have to come back
+            long entries = Math.min((long) checkpointSize - (long) chunkIndex * CHUNK_ENTRIES, CHUNK_ENTRIES);
+            if (entries > 0) {
+                logChunk(chunkIndex, (int) entries * entryBytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the undo log of the heap file.", e);
+        }
+        logged.set(chunkIndex);
+    }
+
+    /**
+     * Starts a new undo log for the last checkpoint, then marks the file as
+     * modified since that checkpoint. Both are written to the disk right away,
+     * so they always reach the disk before the modified entries.
+     *
+     * @throws IOException if the undo log can't be written.
+     */
+    private void markDirty() throws IOException {
+        ByteBuffer undoHeader = ByteBuffer.allocate(UNDO_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        undoHeader.putLong(UNDO_CHECKPOINT_OFFSET, checkpoint);
+        undoHeader.putInt(UNDO_RECORDS_OFFSET, 0);
+        undo.truncate(0);
+        writeFully(undo, undoHeader, 0);
+        undo.force(false);
+        numRecords = 0;
+        undoEnd = UNDO_HEADER_BYTES;
+
+        header.putInt(STATE_OFFSET, DIRTY);
+        header.force();
+        dirty = true;
+    }
+
+    /**
+     * Appends a chunk to the undo log. The record is written to the disk before
+     * the log counts it, so a record cut short by a crash is never applied.
+     *
+     * @param chunkIndex the index of the chunk.
+     * @param bytes      the number of bytes of the chunk to log.
+     * @throws IOException if the undo log can't be written.
+     */
+    private void logChunk(int chunkIndex, int bytes) throws IOException {
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        recordHeader.putInt(0, chunkIndex);
+        recordHeader.putInt(4, bytes);
+        writeFully(undo, recordHeader, undoEnd);
+        ByteBuffer entries = chunkAt(chunkIndex).duplicate();
+        entries.position(0).limit(bytes);
+        writeFully(undo, entries, undoEnd + RECORD_HEADER_BYTES);
+        undo.force(false);
+
+        ByteBuffer count = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        count.putInt(0, numRecords + 1);
+        writeFully(undo, count, UNDO_RECORDS_OFFSET);
+        undo.force(false);
+        numRecords++;
+        undoEnd += RECORD_HEADER_BYTES + bytes;
+    }
+
+    /**
+     * Writes every entry and the size of the heap to the disk. Once it returns,
+     * reopening the file gives back the heap as it is now. The file also shrinks
+     * back to the chunks the heap still uses (after a clear, for example); until
+     * then, the entries of the last checkpoint stay in the file.
+     *
+     * @throws UncheckedIOException if the file can't be written.
+     */
+    public void force() {
+        if (isClosed()) {
+            throw new IllegalStateException("MappedMaxHeap is closed.");
+        }
+
+        // Write the entries first, and only then the header that says they're valid.
+        // The size, the checkpoint number and the state share a sector, so they
+        // reach the disk together.
+        for (int i = 0; i < getNumChunks(); i++) {
+            ((MappedByteBuffer) chunkAt(i)).force();
+        }
+        header.putInt(SIZE_OFFSET, getSize());
+        header.putLong(CHECKPOINT_OFFSET, checkpoint + 1);
+        header.putInt(STATE_OFFSET, CLEAN);
+        header.force();
+        checkpoint++;
+        checkpointSize = getSize();
+        logged.clear();
+        dirty = false;
+
+        // The undo log and the chunks past the heap aren't needed anymore
+        try {
+            undo.truncate(0);
+            if (channel.size() > HEADER_BYTES + getReservedBytes()) {
+                channel.truncate(HEADER_BYTES + getReservedBytes());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not shrink the heap file.", e);
+        }
+    }
+
+    /**
+     * Checkpoints the heap, then unmaps it, closes its file and deletes its undo
+     * log. The heap can't be used afterwards, and closing it again does nothing.
+     */
+    @Override
+    public void close() {
+        if (isClosed()) {
+            return;
+        }
+        try {
+            force();
+        } finally {
+            super.close();
+            release(header);
+            try {
+                channel.close();
+                undo.close();
+                Files.deleteIfExists(undoFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not close the heap file.", e);
+            }
+        }
+    }
+}
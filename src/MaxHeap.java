@@ -1,40 +1,32 @@
 package src;
 
+import java.util.Comparator;
+
 /**
- * The MaxHeap class that implements the BinaryHeapInterface interface.
+ * The MaxHeap class that implements the ArrayHeapInterface interface.
  *
  * This class implements all the methods from the interface while also adding
  * functionality for creating a max heap from an array.
  *
- * Under the hood, the MaxHeap class is represented as a ResizeableList.
+ * By default, entries are ordered by their natural order (so they must
+ * implement Comparable), and the largest entry is kept at the top. A
+ * Comparator can be passed instead to order the entries any other way, in
+ * which case the entry that compares greatest is kept at the top.
+ *
+ * Under the hood, the MaxHeap class is represented as a ResizeableList. A heap
+ * that grows past ResizeableList.MAX_CAPACITY entries switches to
+ * large-capacity mode on its own, which is represented as a SegmentedList
+ * instead (heaps known to be large can be created in it directly). The
+ * sift engine itself lives in the AbstractHeap class, which MaxHeap shares with
+ * MinHeap.
  *
  * Each method is documented separately.
  *
  * @author George Matta
  * @author Pierlorenzo Peruzzo
- * @version 2
+ * @version 3
  */
-public class MaxHeap<T extends Comparable<? super T>> implements BinaryHeapInterface<T> {
-
-    /**
-     * The default/minimum capacity of any MaxHeap. For this implementation, the default capacity is 25.
-     */
-    private static final int DEFAULT_CAPACITY = 25;
-
-    /**
-     * The ResizeableList of the heap we will be populating.
-     */
-    private ResizeableList<T> heap;
-
-    /**
-     * The number of swaps it took to create this heap.
-     */
-    private int numSwaps;
-
-    /**
-     * A boolean that keeps track of whether or not the constructor was properly called
-     */
-    private boolean initialized = false;
+public class MaxHeap<T> extends AbstractHeap<T> {
 
     /**
      * Default Constructor.
@@ -49,343 +41,172 @@ public class MaxHeap<T extends Comparable<? super T>> implements BinaryHeapInter
      * @param initialCapacity the initial capacity for the Heap.
      */
     public MaxHeap(int initialCapacity) {
-        if (initialCapacity < DEFAULT_CAPACITY)
-            initialCapacity = DEFAULT_CAPACITY;
-
-        heap = new ResizeableList<T>(initialCapacity);
-        initialized = true;
-        numSwaps = 0;
+        // Start in large-capacity mode if the entries won't fit in a ResizeableList
+        this(initialCapacity, initialCapacity >= ResizeableList.MAX_CAPACITY);
     }
 
     /**
-     * Constructor that creates a heap from an array.
+     * Initialize the Heap with a specific capacity, in large-capacity mode or not.
      *
-     * @param items the array used to create the heap.
-     */
-    public MaxHeap(T[] items) {
-        // Default to the non-optimal method
-        this(items, false);
-    }
-
-    /**
-     * Constructor that creates an heap from an array using the optimal method or
-     * not.
+     * In large-capacity mode, the heap is backed by a SegmentedList, so it can grow
+     * to hundreds of millions of entries without ever copying its entries.
      *
-     * @param items   the array used to create the heap.
-     * @param optimal if the constructor should use the optimal method to create the
-     *                heap.
-     */
-    public MaxHeap(T[] items, boolean optimal) {
-        this();
-
-        // If we want the non-optimal method. O(nlog(n))
-        if (!optimal) {
-            for (int i = 0; i < items.length; i++) {
-                this.add(items[i]);
-            }
-            return;
-        }
-
-        // Optimal method O(n)
-
-        // Copy items to the ResizableList
-        for (int i = 0; i < items.length; i++) {
-            heap.add(items[i]);
-        }
-
-        // Begin heapifying at the center item
-        for (int i = (items.length / 2) - 1; i >= 0; i--) {
-            heapify(i);
-        }
-    }
-
-    /**
-     * Checks if the heap is initialized.
-     */
-    private void checkInitialization() {
-        if (!initialized) {
-            throw new SecurityException("MaxHeap object is corrupt or was not initialized properly.");
-        }
-    }
-
-    /**
-     * Checks if we can add an entry to a given index.
-     *
-     * @param index The index we want to place the entry at.
-     * @param entry The entry we want to add
-     * @return true if we can add the entry, false if we cannot
+     * @param initialCapacity the initial capacity for the Heap.
+     * @param largeCapacity   if the heap should start in large-capacity mode
+     *                        (it switches on its own once it grows past
+     *                        ResizeableList.MAX_CAPACITY entries).
      */
-    @Override
-    public boolean canAdd(int index, T entry) {
-        checkInitialization();
-
-        // Check if the entry we want to add is larger than the item at the index we want to place the entry at
-        return entry.compareTo(heap.get(index)) > 0;
+    public MaxHeap(int initialCapacity, boolean largeCapacity) {
+        this(initialCapacity, largeCapacity, DEFAULT_ARITY);
     }
 
     /**
-     * Gets the index of a parent given the index of the child.
+     * Initialize the Heap with a specific capacity and arity, in large-capacity
+     * mode or not.
      *
-     * @param childIndex The index of a child node.
-     * @return The index of the child's parent, -1 if there is no parent.
+     * @param initialCapacity the initial capacity for the Heap.
+     * @param largeCapacity   if the heap should start in large-capacity mode
+     *                        (it switches on its own once it grows past
+     *                        ResizeableList.MAX_CAPACITY entries).
+     * @param arity           the number of children of each node (2, 4 and 8 are
+     *                        the usual choices).
+     * @throws IllegalArgumentException if the arity is less than 2.
      */
-    @Override
-    public int getParentIndex(int childIndex) {
-        checkInitialization();
-
-        // If the index is not an even number, we decrement it
-        if (childIndex % 2 != 0) {
-            childIndex--;
-        }
-
-        // If the index doesn't have a parent (because it's at the start of the heap) return -1
-        if (childIndex <= 1) {
-            return -1;
-        }
-
-        // Return half the childIndex (which is the parentIndex)
-        return childIndex / 2;
+    public MaxHeap(int initialCapacity, boolean largeCapacity, int arity) {
+        this(initialCapacity, largeCapacity, arity, naturalOrder());
     }
 
     /**
-     * Gets the index of a child given the index of the parent.
+     * Initialize the Heap with a Comparator.
      *
-     * @param parentIndex The index of a parent node.
-     * @return The index of the first child of the parent (add 1 for the second
-     *         child), -1 if there is no child.
+     * @param comparator the order of the heap. The entry that compares greatest is
+     *                   kept at the top.
      */
-    @Override
-    public int getChildIndex(int parentIndex) {
-        checkInitialization();
-
-        // Multiply the parentIndex by 2
-        int childIndex = parentIndex * 2;
-
-        // if we're larger than the number of entries, then there's no child
-        if (childIndex >= heap.getNumEntries()) {
-            return -1;
-        }
-
-        // Return the index
-        return childIndex;
+    public MaxHeap(Comparator<? super T> comparator) {
+        this(DEFAULT_CAPACITY, comparator);
     }
 
     /**
-     * Adds an entry to the Heap
+     * Initialize the Heap with a specific capacity and a Comparator.
      *
-     * @param entry The entry we want to add to the Heap
+     * @param initialCapacity the initial capacity for the Heap.
+     * @param comparator      the order of the heap. The entry that compares
+     *                        greatest is kept at the top.
      */
-    @Override
-    public void add(T entry) {
-        checkInitialization();
-
-        // Add the entry to the last index
-        heap.add(entry);
-
-        // Set up indices for the current entry and the parent entry
-        int entryIndex = heap.getNumEntries();
-        int parentIndex = getParentIndex(entryIndex);
-
-        // If the parent is less than the entry
-        while (parentIndex > 0 && canAdd(parentIndex, entry)) {
-            // Swap the entries
-            heap.swap(entryIndex, parentIndex);
-            this.numSwaps++;
-
-            // Recalculate the indices
-            entryIndex = parentIndex;
-            parentIndex = getParentIndex(entryIndex);
-        }
-
+    public MaxHeap(int initialCapacity, Comparator<? super T> comparator) {
+        this(initialCapacity, initialCapacity >= ResizeableList.MAX_CAPACITY, DEFAULT_ARITY, comparator);
     }
 
     /**
-     * Checks if the Heap is empty
+     * Initialize the Heap with a specific capacity, arity and Comparator, in
+     * large-capacity mode or not.
      *
-     * @return true if the heap is empty, false if it isn't
+     * @param initialCapacity the initial capacity for the Heap.
+     * @param largeCapacity   if the heap should start in large-capacity mode
+     *                        (it switches on its own once it grows past
+     *                        ResizeableList.MAX_CAPACITY entries).
+     * @param arity           the number of children of each node.
+     * @param comparator      the order of the heap. The entry that compares
+     *                        greatest is kept at the top.
      */
-    @Override
-    public boolean isEmpty() {
-        checkInitialization();
-        return heap.isEmpty();
+    public MaxHeap(int initialCapacity, boolean largeCapacity, int arity, Comparator<? super T> comparator) {
+        super(initialCapacity, largeCapacity, arity, comparator);
     }
 
     /**
-     * Gets the size of the heap (how many entries are in the heap)
+     * Constructor that creates a heap from an array.
      *
-     * @return The size of the heap
-     */
-    @Override
-    public int getSize() {
-        checkInitialization();
-        return heap.getNumEntries();
-    }
-
-    /**
-     * Clears a heap of all its entries
-     */
-    @Override
-    public void clear() {
-        checkInitialization();
-        heap.clear();
-    }
-
-    /**
-     * Represents the heap as a string.
-     * @return The string representation of the heap
+     * @param items the array used to create the heap.
      */
-    @Override
-    public String toString() {
-        checkInitialization();
-        return heap.toString();
+    public MaxHeap(T[] items) {
+        // Default to the non-optimal method
+        this(items, false);
     }
 
     /**
-     * Returns a preview of the first 10 items of the heap
+     * Constructor that creates an heap from an array using the optimal method or
+     * not.
      *
-     * @return The string preview of the heap
+     * @param items   the array used to create the heap.
+     * @param optimal if the constructor should use the optimal method to create the
+     *                heap.
      */
-    public String preview(){
-        checkInitialization();
-        return heap.preview();
+    public MaxHeap(T[] items, boolean optimal) {
+        this(items, optimal, DEFAULT_ARITY);
     }
 
     /**
-     * Get the number of swaps it took to create the heap.
+     * Constructor that creates a heap with a specific arity from an array using
+     * the optimal method or not.
      *
-     * @return the number of swaps.
+     * @param items   the array used to create the heap.
+     * @param optimal if the constructor should use the optimal method to create the
+     *                heap.
+     * @param arity   the number of children of each node.
      */
-    public int getNumSwaps() {
-        checkInitialization();
-        return numSwaps;
+    public MaxHeap(T[] items, boolean optimal, int arity) {
+        this(items, optimal, arity, naturalOrder());
     }
 
     /**
-     * Get the max item in the heap.
+     * Constructor that creates a heap ordered by a Comparator from an array using
+     * the optimal method or not.
      *
-     * @return the heap's largest item.
+     * @param items      the array used to create the heap.
+     * @param optimal    if the constructor should use the optimal method to create
+     *                   the heap.
+     * @param comparator the order of the heap. The entry that compares greatest is
+     *                   kept at the top.
      */
-    public T getMax() {
-        checkInitialization();
-
-        // Check if we have a heap
-        if(isEmpty()){
-            return null;
-        }
-
-        // Return the first item in he heap
-        return heap.get(1);
+    public MaxHeap(T[] items, boolean optimal, Comparator<? super T> comparator) {
+        this(items, optimal, DEFAULT_ARITY, comparator);
     }
 
     /**
-     * Removes and returns the heap's largest item.
+     * Constructor that creates a heap with a specific arity and Comparator from an
+     * array using the optimal method or not.
      *
-     * @return the heap's largest item.
+     * @param items      the array used to create the heap.
+     * @param optimal    if the constructor should use the optimal method to create
+     *                   the heap.
+     * @param arity      the number of children of each node.
+     * @param comparator the order of the heap. The entry that compares greatest is
+     *                   kept at the top.
      */
-    public T remove() {
-        checkInitialization();
-
-        if(isEmpty()){
-            return null;
-        }
-
-        // Get the max item of the heap
-        T max = heap.get(1);
-
-        // Reset the first index of the heap to be the max item of the heap
-        heap.set(1, heap.get(heap.getNumEntries()));
-
-        // Remove the last item of the heap
-        heap.remove(heap.getNumEntries());
-
-        // Reheap the heap to make sure we maintain its heap-ness
-        reheap(1);
-
-        // Return the previously max item of the heap
-        return max;
+    public MaxHeap(T[] items, boolean optimal, int arity, Comparator<? super T> comparator) {
+        this(items, optimal ? BuildMethod.OPTIMAL : BuildMethod.SEQUENTIAL, arity, comparator);
     }
 
     /**
-     * Removes n items from the heap
+     * Constructor that creates a heap from an array using one of the build methods.
      *
-     * @param n the number of times to call `remove` on this heap
+     * @param items  the array used to create the heap.
+     * @param method the method used to create the heap.
      */
-    public void remove(int n){
-        // Loop through until n
-        for(int i = 0; i < n; i++){
-            // Run the remove method
-            this.remove();
-        }
+    public MaxHeap(T[] items, BuildMethod method) {
+        this(items, method, DEFAULT_ARITY, naturalOrder());
     }
 
     /**
-     * Turns a semiheap into a heap.
+     * Constructor that creates a heap with a specific arity and Comparator from an
+     * array using one of the build methods.
      *
-     * @param rootIndex the index of the root.
+     * @param items      the array used to create the heap.
+     * @param method     the method used to create the heap.
+     * @param arity      the number of children of each node.
+     * @param comparator the order of the heap. The entry that compares greatest is
+     *                   kept at the top.
      */
-    private void reheap(int rootIndex) {
-        // Set conditions for while loop
-        boolean done = false;
-        T orphan = heap.get(rootIndex);
-        int leftChildIndex = this.getChildIndex(1);
-
-        // Compare left and right children and find the larger child
-        while (!done && (leftChildIndex <= heap.getNumEntries())) {
-            // Initialize larger and right child index
-            int largerChildIndex = leftChildIndex;
-            int rightChildIndex = leftChildIndex + 1;
-
-            // Check if right child is larger than left child, if yes set right index as larger
-            if ((rightChildIndex <= heap.getNumEntries()) &&
-                    heap.get(rightChildIndex).compareTo(heap.get(largerChildIndex)) > 0) {
-                largerChildIndex = rightChildIndex;
-            }
-
-            // Check if root is less than larger child, if yes set root as larger
-            if (orphan.compareTo(heap.get(largerChildIndex)) < 0) {
-                heap.set(rootIndex, heap.get(largerChildIndex));
-                rootIndex = largerChildIndex;
-                leftChildIndex = 2 * rootIndex;
-            }
-
-            // If root is greater than larger child, end loop
-            else
-                done = true;
-        }
-
-        // Set current root index to original orphan
-        heap.set(rootIndex, orphan);
+    public MaxHeap(T[] items, BuildMethod method, int arity, Comparator<? super T> comparator) {
+        super(items, method, arity, comparator);
     }
 
     /**
-     * Heapify a heap represented as an array
+     * Get the max item in the heap.
      *
-     * @param i the initial node.
+     * @return the heap's largest item.
      */
-    private void heapify(int i) {
-        // We set the largest item as the root
-        int largest = i;
-        int left = 2 * i + 1;
-        int right = 2 * i + 2;
-
-        // Check if the left child is larger than the root, if yes swap
-        if (left < heap.count() && heap.get(left + 1).compareTo(heap.get(largest + 1)) > 0)
-            largest = left;
-
-        // Check if the right child is larger than largest, if yes swap
-        if (right < heap.count() && heap.get(right + 1).compareTo(heap.get(largest + 1)) > 0)
-            largest = right;
-
-        // If the largest is not the root, we swap it
-        if (largest != i) {
-            T temp = heap.get(i + 1);
-            heap.set(i + 1, heap.get(largest + 1));
-            heap.set(largest + 1, temp);
-            numSwaps++;
-
-            // Now we recursively call heapify to change the affected sub-tree
-            heapify(largest);
-        }
+    public T getMax() {
+        return peek();
     }
-
 }
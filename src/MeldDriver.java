@@ -0,0 +1,157 @@
+package src;
+
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * The MeldDriver class that compares the ways of merging the heaps of several
+ * shards into one.
+ *
+ * Every shard fills its own heap with the same random entries, then all the
+ * heaps are merged into the heap of the first shard:
+ * - by removing every entry of the other MaxHeaps and adding it to the first.
+ * - with MaxHeap.meld, which appends them and restores the order in O(n).
+ * - with PairingHeap.meld, in O(1) per heap.
+ * - with LeftistHeap.meld, in O(log(n)) per heap.
+ * The merged heaps must then give back the same entries in the same order.
+ *
+ * Finally, the linked heaps of every shard are built again, each with a
+ * Comparator created by the shard itself, and melded: heaps with the same
+ * order must meld even if their comparators are different instances.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class MeldDriver {
+
+    /**
+     * The number of shards.
+     */
+    private static final int SHARDS = 16;
+
+    /**
+     * The number of entries in the heap of each shard.
+     */
+    private static final int ENTRIES_PER_SHARD = 100_000;
+
+    /**
+     * The number of entries we remove from the merged heaps to compare them.
+     */
+    private static final int COMPARED_REMOVALS = 100_000;
+
+    /**
+     * Fills the heaps of every shard, merges them every way and prints the times
+     * and the check.
+     *
+     * @param args The basic String[] args for any main method in Java.
+     */
+    public static void main(String[] args) {
+        Random random = new Random();
+        Integer[][] shards = new Integer[SHARDS][ENTRIES_PER_SHARD];
+        for (Integer[] shard : shards) {
+            for (int i = 0; i < shard.length; i++) {
+                shard[i] = random.nextInt();
+            }
+        }
+
+        System.out.println("*** MELD TEST (" + SHARDS + " shards of " + ENTRIES_PER_SHARD + " entries) ***");
+
+        // Re-adding every entry of the other heaps
+        MaxHeap<Integer>[] readded = maxHeaps(shards);
+        long start = System.nanoTime();
+        for (int s = 1; s < SHARDS; s++) {
+            while (!readded[s].isEmpty()) {
+                readded[0].add(readded[s].remove());
+            }
+        }
+        System.out.printf("%-22s %10.1f ms%n", "MaxHeap add", (System.nanoTime() - start) / 1e6);
+
+        MaxHeap<Integer>[] melded = maxHeaps(shards);
+        start = System.nanoTime();
+        for (int s = 1; s < SHARDS; s++) {
+            melded[0].meld(melded[s]);
+        }
+        System.out.printf("%-22s %10.1f ms%n", "MaxHeap.meld", (System.nanoTime() - start) / 1e6);
+
+        @SuppressWarnings("unchecked")
+        PairingHeap<Integer>[] pairing = (PairingHeap<Integer>[]) new PairingHeap<?>[SHARDS];
+        for (int s = 0; s < SHARDS; s++) {
+            pairing[s] = new PairingHeap<>();
+            for (Integer entry : shards[s]) {
+                pairing[s].add(entry);
+            }
+        }
+        start = System.nanoTime();
+        for (int s = 1; s < SHARDS; s++) {
+            pairing[0].meld(pairing[s]);
+        }
+        System.out.printf("%-22s %10.1f ms%n", "PairingHeap.meld", (System.nanoTime() - start) / 1e6);
+
+        @SuppressWarnings("unchecked")
+        LeftistHeap<Integer>[] leftist = (LeftistHeap<Integer>[]) new LeftistHeap<?>[SHARDS];
+        for (int s = 0; s < SHARDS; s++) {
+            leftist[s] = new LeftistHeap<>();
+            for (Integer entry : shards[s]) {
+                leftist[s].add(entry);
+            }
+        }
+        start = System.nanoTime();
+        for (int s = 1; s < SHARDS; s++) {
+            leftist[0].meld(leftist[s]);
+        }
+        System.out.printf("%-22s %10.1f ms%n", "LeftistHeap.meld", (System.nanoTime() - start) / 1e6);
+
+        // Every merged heap must give back the same entries
+        boolean passed = melded[0].isValid() && melded[0].getSize() == SHARDS * ENTRIES_PER_SHARD
+                && pairing[0].getSize() == melded[0].getSize() && leftist[0].getSize() == melded[0].getSize();
+        for (int i = 0; i < COMPARED_REMOVALS && passed; i++) {
+            Integer expected = readded[0].remove();
+            passed = expected.equals(melded[0].remove()) && expected.equals(pairing[0].remove())
+                    && expected.equals(leftist[0].remove());
+        }
+        System.out.println("Merged heaps match: " + (passed ? "PASSED" : "FAILED"));
+
+        // Every shard creates its own comparator, so no two heaps share an instance
+        @SuppressWarnings("unchecked")
+        PairingHeap<Integer>[] pairingShards = (PairingHeap<Integer>[]) new PairingHeap<?>[SHARDS];
+        @SuppressWarnings("unchecked")
+        LeftistHeap<Integer>[] leftistShards = (LeftistHeap<Integer>[]) new LeftistHeap<?>[SHARDS];
+        for (int s = 0; s < SHARDS; s++) {
+            pairingShards[s] = new PairingHeap<>(Comparator.comparingInt(Integer::intValue));
+            leftistShards[s] = new LeftistHeap<>(Comparator.comparingInt(Integer::intValue));
+            for (Integer entry : shards[s]) {
+                pairingShards[s].add(entry);
+                leftistShards[s].add(entry);
+            }
+        }
+        for (int s = 1; s < SHARDS; s++) {
+            pairingShards[0].meld(pairingShards[s]);
+            leftistShards[0].meld(leftistShards[s]);
+        }
+        boolean shardsPassed = pairingShards[0].getSize() == SHARDS * ENTRIES_PER_SHARD
+                && leftistShards[0].getSize() == SHARDS * ENTRIES_PER_SHARD;
+        Integer previous = Integer.MAX_VALUE;
+        for (int i = 0; i < COMPARED_REMOVALS && shardsPassed; i++) {
+            Integer expected = pairingShards[0].remove();
+            shardsPassed = expected <= previous && expected.equals(leftistShards[0].remove());
+            previous = expected;
+        }
+        System.out.println("Shards with their own comparators melded: " + (shardsPassed ? "PASSED" : "FAILED"));
+    }
+
+    /**
+     * Builds a MaxHeap for every shard, large enough to hold every shard.
+     *
+     * @param shards the entries of every shard.
+     * @return the heaps.
+     */
+    private static MaxHeap<Integer>[] maxHeaps(Integer[][] shards) {
+        @SuppressWarnings("unchecked")
+        MaxHeap<Integer>[] heaps = (MaxHeap<Integer>[]) new MaxHeap<?>[shards.length];
+        for (int s = 0; s < shards.length; s++) {
+            heaps[s] = new MaxHeap<>(ENTRIES_PER_SHARD, true);
+            heaps[s].addAll(shards[s]);
+        }
+        return heaps;
+    }
+}
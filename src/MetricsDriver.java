@@ -0,0 +1,83 @@
+package src;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The MetricsDriver class that runs a mixed workload on a MaxHeap with its
+ * metrics enabled and prints what they recorded.
+ *
+ * The heap starts small, so its list grows during the adds. The workload adds
+ * entries one at a time, removes half of them, replaces the top a number of
+ * times and adds a batch with addAll. The snapshot is then checked against
+ * what the heap reports itself: the comparisons and moves must match
+ * getNumComparisons and getNumSwaps, and every histogram must count each add
+ * or remove exactly once. Finally, the metrics are reset and must read 0.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class MetricsDriver {
+
+    /**
+     * The number of entries added one at a time.
+     */
+    private static final int ADDS = 5_000;
+
+    /**
+     * The number of replaceTops.
+     */
+    private static final int REPLACE_TOPS = 1_000;
+
+    /**
+     * The number of entries added with addAll.
+     */
+    private static final int BATCH = 2_000;
+
+    /**
+     * Runs the workload and prints the snapshot and the checks.
+     *
+     * @param args The basic String[] args for any main method in Java.
+     */
+    public static void main(String[] args) {
+        Random random = new Random();
+        MaxHeap<Integer> heap = new MaxHeap<>();
+        HeapMetrics metrics = heap.enableMetrics();
+
+        for (int i = 0; i < ADDS; i++) {
+            heap.add(random.nextInt());
+        }
+        heap.remove(ADDS / 2);
+        for (int i = 0; i < REPLACE_TOPS; i++) {
+            heap.replaceTop(random.nextInt());
+        }
+        Integer[] batch = new Integer[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            batch[i] = random.nextInt();
+        }
+        heap.addAll(batch);
+
+        HeapMetrics.Snapshot snapshot = metrics.snapshot();
+        System.out.println("*** HEAP METRICS TEST ***");
+        System.out.print(snapshot);
+
+        boolean totals = snapshot.getComparisons() == heap.getNumComparisons()
+                && snapshot.getMoves() == heap.getNumSwaps();
+        boolean histograms = Arrays.stream(snapshot.getSiftUpDepths()).sum() == snapshot.getAdds()
+                && Arrays.stream(snapshot.getSiftDownDepths()).sum()
+                        == snapshot.getRemoves() + snapshot.getReplaceTops();
+        boolean counts = snapshot.getAdds() == ADDS && snapshot.getRemoves() == ADDS / 2
+                && snapshot.getReplaceTops() == REPLACE_TOPS && snapshot.getBulkAdds() == BATCH
+                && snapshot.getResizes() > 0;
+
+        metrics.reset();
+        HeapMetrics.Snapshot cleared = metrics.snapshot();
+        boolean reset = cleared.getComparisons() == 0 && cleared.getMoves() == 0 && cleared.getAdds() == 0
+                && cleared.getResizes() == 0 && snapshot.getAdds() == ADDS;
+
+        System.out.println("Totals match the heap: " + (totals ? "PASSED" : "FAILED"));
+        System.out.println("Histograms match the operations: " + (histograms ? "PASSED" : "FAILED"));
+        System.out.println("Operations counted: " + (counts ? "PASSED" : "FAILED"));
+        System.out.println("Reset: " + (reset ? "PASSED" : "FAILED"));
+    }
+}
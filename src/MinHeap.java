@@ -0,0 +1,228 @@
+package src;
+
+import java.util.Collections;
+import java.util.Comparator;
+
+/**
+ * The MinHeap class that implements the ArrayHeapInterface interface.
+ *
+ * This class implements all the methods from the interface while also adding
+ * functionality for creating a min heap from an array.
+ *
+ * By default, entries are ordered by their natural order (so they must
+ * implement Comparable), and the smallest entry is kept at the top. A
+ * Comparator can be passed instead to order the entries any other way, in
+ * which case the entry that compares least is kept at the top.
+ *
+ * Under the hood, the MinHeap class is represented as a ResizeableList. A heap
+ * that grows past ResizeableList.MAX_CAPACITY entries switches to
+ * large-capacity mode on its own, which is represented as a SegmentedList
+ * instead (heaps known to be large can be created in it directly). The
+ * sift engine itself lives in the AbstractHeap class, which MinHeap shares with
+ * MaxHeap.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class MinHeap<T> extends AbstractHeap<T> {
+
+    /**
+     * Default Constructor.
+     */
+    public MinHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initialize the Heap with a specific capacity.
+     *
+     * @param initialCapacity the initial capacity for the Heap.
+     */
+    public MinHeap(int initialCapacity) {
+        // Start in large-capacity mode if the entries won't fit in a ResizeableList
+        this(initialCapacity, initialCapacity >= ResizeableList.MAX_CAPACITY);
+    }
+
+    /**
+     * Initialize the Heap with a specific capacity, in large-capacity mode or not.
+     *
+     * In large-capacity mode, the heap is backed by a SegmentedList, so it can grow
+     * to hundreds of millions of entries without ever copying its entries.
+     *
+     * @param initialCapacity the initial capacity for the Heap.
+     * @param largeCapacity   if the heap should start in large-capacity mode
+     *                        (it switches on its own once it grows past
+     *                        ResizeableList.MAX_CAPACITY entries).
+     */
+    public MinHeap(int initialCapacity, boolean largeCapacity) {
+        this(initialCapacity, largeCapacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * Initialize the Heap with a specific capacity and arity, in large-capacity
+     * mode or not.
+     *
+     * @param initialCapacity the initial capacity for the Heap.
+     * @param largeCapacity   if the heap should start in large-capacity mode
+     *                        (it switches on its own once it grows past
+     *                        ResizeableList.MAX_CAPACITY entries).
+     * @param arity           the number of children of each node (2, 4 and 8 are
+     *                        the usual choices).
+     * @throws IllegalArgumentException if the arity is less than 2.
+     */
+    public MinHeap(int initialCapacity, boolean largeCapacity, int arity) {
+        this(initialCapacity, largeCapacity, arity, naturalOrder());
+    }
+
+    /**
+     * Initialize the Heap with a Comparator.
+     *
+     * @param comparator the order of the heap. The entry that compares least is
+     *                   kept at the top.
+     */
+    public MinHeap(Comparator<? super T> comparator) {
+        this(DEFAULT_CAPACITY, comparator);
+    }
+
+    /**
+     * Initialize the Heap with a specific capacity and a Comparator.
+     *
+     * @param initialCapacity the initial capacity for the Heap.
+     * @param comparator      the order of the heap. The entry that compares
+     *                        least is kept at the top.
+     */
+    public MinHeap(int initialCapacity, Comparator<? super T> comparator) {
+        this(initialCapacity, initialCapacity >= ResizeableList.MAX_CAPACITY, DEFAULT_ARITY, comparator);
+    }
+
+    /**
+     * Initialize the Heap with a specific capacity, arity and Comparator, in
+     * large-capacity mode or not.
+     *
+     * @param initialCapacity the initial capacity for the Heap.
+     * @param largeCapacity   if the heap should start in large-capacity mode
+     *                        (it switches on its own once it grows past
+     *                        ResizeableList.MAX_CAPACITY entries).
+     * @param arity           the number of children of each node.
+     * @param comparator      the order of the heap. The entry that compares
+     *                        least is kept at the top.
+     */
+    public MinHeap(int initialCapacity, boolean largeCapacity, int arity, Comparator<? super T> comparator) {
+        // The sift engine keeps the greatest entry at the top, so we reverse the order
+        super(initialCapacity, largeCapacity, arity, reversed(comparator));
+    }
+
+    /**
+     * Constructor that creates a heap from an array.
+     *
+     * @param items the array used to create the heap.
+     */
+    public MinHeap(T[] items) {
+        // Default to the non-optimal method
+        this(items, false);
+    }
+
+    /**
+     * Constructor that creates an heap from an array using the optimal method or
+     * not.
+     *
+     * @param items   the array used to create the heap.
+     * @param optimal if the constructor should use the optimal method to create the
+     *                heap.
+     */
+    public MinHeap(T[] items, boolean optimal) {
+        this(items, optimal, DEFAULT_ARITY);
+    }
+
+    /**
+     * Constructor that creates a heap with a specific arity from an array using
+     * the optimal method or not.
+     *
+     * @param items   the array used to create the heap.
+     * @param optimal if the constructor should use the optimal method to create the
+     *                heap.
+     * @param arity   the number of children of each node.
+     */
+    public MinHeap(T[] items, boolean optimal, int arity) {
+        this(items, optimal, arity, naturalOrder());
+    }
+
+    /**
+     * Constructor that creates a heap ordered by a Comparator from an array using
+     * the optimal method or not.
+     *
+     * @param items      the array used to create the heap.
+     * @param optimal    if the constructor should use the optimal method to create
+     *                   the heap.
+     * @param comparator the order of the heap. The entry that compares least is
+     *                   kept at the top.
+     */
+    public MinHeap(T[] items, boolean optimal, Comparator<? super T> comparator) {
+        this(items, optimal, DEFAULT_ARITY, comparator);
+    }
+
+    /**
+     * Constructor that creates a heap with a specific arity and Comparator from an
+     * array using the optimal method or not.
+     *
+     * @param items      the array used to create the heap.
+     * @param optimal    if the constructor should use the optimal method to create
+     *                   the heap.
+     * @param arity      the number of children of each node.
+     * @param comparator the order of the heap. The entry that compares least is
+     *                   kept at the top.
+     */
+    public MinHeap(T[] items, boolean optimal, int arity, Comparator<? super T> comparator) {
+        this(items, optimal ? BuildMethod.OPTIMAL : BuildMethod.SEQUENTIAL, arity, comparator);
+    }
+
+    /**
+     * Constructor that creates a heap from an array using one of the build methods.
+     *
+     * @param items  the array used to create the heap.
+     * @param method the method used to create the heap.
+     */
+    public MinHeap(T[] items, BuildMethod method) {
+        this(items, method, DEFAULT_ARITY, naturalOrder());
+    }
+
+    /**
+     * Constructor that creates a heap with a specific arity and Comparator from an
+     * array using one of the build methods.
+     *
+     * @param items      the array used to create the heap.
+     * @param method     the method used to create the heap.
+     * @param arity      the number of children of each node.
+     * @param comparator the order of the heap. The entry that compares least is
+     *                   kept at the top.
+     */
+    public MinHeap(T[] items, BuildMethod method, int arity, Comparator<? super T> comparator) {
+        // The sift engine keeps the greatest entry at the top, so we reverse the order
+        super(items, method, arity, reversed(comparator));
+    }
+
+    /**
+     * Reverses a Comparator, so the least entry compares greatest.
+     *
+     * @param <T>        the type of the entries.
+     * @param comparator the Comparator to reverse.
+     * @return the reversed Comparator.
+     * @throws IllegalArgumentException if the comparator is null.
+     */
+    private static <T> Comparator<? super T> reversed(Comparator<? super T> comparator) {
+        if (comparator == null)
+            throw new IllegalArgumentException("Attempted to create a heap without a comparator");
+        return Collections.reverseOrder(comparator);
+    }
+
+    /**
+     * Get the min item in the heap.
+     *
+     * @return the heap's smallest item.
+     */
+    public T getMin() {
+        return peek();
+    }
+}
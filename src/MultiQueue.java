@@ -0,0 +1,232 @@
+package src;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The MultiQueue class, a relaxed concurrent priority queue built from many
+ * MaxHeap objects (this is the MultiQueue of Rihani, Sanders and Dementiev,
+ * 2015).
+ *
+ * A strict concurrent heap, even one with per-node locks like the
+ * ConcurrentMaxHeap class, still has every thread contend on the root. A
+ * MultiQueue instead keeps c * threads independent heaps, each guarded by its
+ * own lock:
+ * - add puts the entry into a random heap.
+ * - remove looks at the tops of two random heaps and removes from the one
+ * whose top is larger.
+ * Both operations use tryLock and simply pick other heaps if a lock is taken,
+ * so threads almost never wait on each other.
+ *
+ * The price is that remove doesn't always return the largest entry. The rank
+ * error of a removal is how many larger entries were in the queue at the time.
+ * It is on the order of the number of heaps (so it grows with c and the
+ * number of threads), and the ConcurrentHeapDriver class measures it.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class MultiQueue<T> {
+
+    /**
+     * The default number of heaps per thread.
+     */
+    private static final int DEFAULT_QUEUES_PER_THREAD = 2;
+
+    /**
+     * The initial capacity of each heap.
+     */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /**
+     * The heaps of the MultiQueue.
+     */
+    private final MaxHeap<T>[] queues;
+
+    /**
+     * The lock of each heap.
+     */
+    private final ReentrantLock[] locks;
+
+    /**
+     * The top of each heap, updated while holding its lock, so remove can compare
+     * tops without locking.
+     */
+    private final AtomicReferenceArray<T> tops;
+
+    /**
+     * The order of the entries. The entry that compares greatest is removed first.
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * The number of entries in all the heaps.
+     */
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * Initialize the MultiQueue for a number of threads, with 2 heaps per thread.
+     *
+     * @param threads the number of threads that will use the queue.
+     */
+    public MultiQueue(int threads) {
+        this(threads, DEFAULT_QUEUES_PER_THREAD, AbstractHeap.naturalOrder());
+    }
+
+    /**
+     * Initialize the MultiQueue for a number of threads, with c heaps per thread
+     * and a Comparator.
+     *
+     * @param threads    the number of threads that will use the queue.
+     * @param c          the number of heaps per thread (more heaps mean less
+     *                   contention but a larger rank error).
+     * @param comparator the order of the entries. The entry that compares greatest
+     *                   is removed first.
+     * @throws IllegalArgumentException if threads or c is less than 1, or the
+     *                                  comparator is null.
+     */
+    @SuppressWarnings("unchecked")
+    public MultiQueue(int threads, int c, Comparator<? super T> comparator) {
+        if (threads < 1 || c < 1)
+            throw new IllegalArgumentException("Attempted to create a MultiQueue with " + threads
+                    + " threads and " + c + " queues per thread");
+        if (comparator == null)
+            throw new IllegalArgumentException("Attempted to create a MultiQueue without a comparator");
+
+        // We need at least two heaps to pick two of them
+        int numQueues = Math.max(2, threads * c);
+
+        this.comparator = comparator;
+        this.queues = (MaxHeap<T>[]) new MaxHeap<?>[numQueues];
+        this.locks = new ReentrantLock[numQueues];
+        this.tops = new AtomicReferenceArray<>(numQueues);
+        for (int i = 0; i < numQueues; i++) {
+            queues[i] = new MaxHeap<>(QUEUE_CAPACITY, comparator);
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Adds an entry to a random heap.
+     *
+     * @param entry The entry we want to add
+     */
+    public void add(T entry) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // Keep picking random heaps until we get one whose lock is free
+        while (true) {
+            int i = random.nextInt(queues.length);
+            if (locks[i].tryLock()) {
+                try {
+                    queues[i].add(entry);
+                    tops.set(i, queues[i].getMax());
+                } finally {
+                    locks[i].unlock();
+                }
+                size.increment();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the larger of the tops of two random heaps.
+     *
+     * This is usually, but not always, one of the largest entries of the queue.
+     *
+     * @return the removed entry, null if the queue is empty.
+     */
+    public T remove() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (true) {
+            // Pick two different heaps
+            int first = random.nextInt(queues.length);
+            int second = random.nextInt(queues.length - 1);
+            if (second >= first) {
+                second++;
+            }
+
+            // Pick the one with the larger top (empty heaps have a null top)
+            T firstTop = tops.get(first);
+            T secondTop = tops.get(second);
+            int chosen;
+            if (firstTop == null && secondTop == null) {
+                if (size.sum() == 0) {
+                    return null;
+                }
+                continue;
+            } else if (secondTop == null
+                    || (firstTop != null && comparator.compare(firstTop, secondTop) >= 0)) {
+                chosen = first;
+            } else {
+                chosen = second;
+            }
+
+            // If someone else holds the heap, or emptied it meanwhile, try again
+            if (!locks[chosen].tryLock()) {
+                continue;
+            }
+            try {
+                if (queues[chosen].isEmpty()) {
+                    continue;
+                }
+                T removed = queues[chosen].remove();
+                tops.set(chosen, queues[chosen].getMax());
+                size.decrement();
+                return removed;
+            } finally {
+                locks[chosen].unlock();
+            }
+        }
+    }
+
+    /**
+     * Checks if the queue is empty, as of the moment we look.
+     *
+     * @return true if the queue is empty, false if it isn't
+     */
+    public boolean isEmpty() {
+        return size.sum() == 0;
+    }
+
+    /**
+     * Gets the number of entries in the queue, as of the moment we look.
+     *
+     * @return The number of entries
+     */
+    public int getSize() {
+        return size.intValue();
+    }
+
+    /**
+     * Gets the number of heaps the queue is made of.
+     *
+     * @return The number of heaps
+     */
+    public int getNumQueues() {
+        return queues.length;
+    }
+
+    /**
+     * Clears the queue of all its entries, one heap at a time.
+     */
+    public void clear() {
+        for (int i = 0; i < queues.length; i++) {
+            locks[i].lock();
+            try {
+                size.add(-queues[i].getSize());
+                queues[i].clear();
+                tops.set(i, null);
+            } finally {
+                locks[i].unlock();
+            }
+        }
+    }
+}
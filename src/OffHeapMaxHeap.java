@@ -0,0 +1,786 @@
+package src;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * The OffHeapMaxHeap class, a max heap of primitive long keys stored outside
+ * of the Java heap.
+ *
+ * A large MaxHeap puts a lot of pressure on the garbage collector, since its
+ * backing array and every boxed entry live on the Java heap and have to be
+ * scanned. An OffHeapMaxHeap stores its entries in direct ByteBuffers instead,
+ * which the garbage collector never looks into, so even a heap with hundreds
+ * of millions of entries only adds a few small objects to the Java heap.
+ *
+ * Each entry is a long key, and optionally a long payload that travels with
+ * it (an id, an offset in a file, ...). The entries are stored in chunks of
+ * CHUNK_ENTRIES entries, so the heap grows by adding chunks and never has to
+ * copy more than the first chunk. The first chunk starts at the initial
+ * capacity (rounded up to a power of two) and doubles until it is full-size,
+ * so a small heap only holds the memory it needs.
+ *
+ * The memory is freed explicitly when the heap is closed, instead of whenever
+ * the garbage collector gets to the buffers, so an OffHeapMaxHeap should be
+ * used in a try-with-resources block or closed once we are done with it.
+ *
+ * Like the ResizeableList, the index of an OffHeapMaxHeap starts at 1.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class OffHeapMaxHeap implements AutoCloseable {
+
+    /**
+     * The default/minimum capacity of any OffHeapMaxHeap. Matches the MaxHeap class.
+     */
+    private static final int DEFAULT_CAPACITY = 25;
+
+    /**
+     * The largest capacity of an OffHeapMaxHeap. Matches the primitive heaps.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * The number of bits of an index that give the position inside a chunk.
+     */
+    protected static final int CHUNK_SHIFT = 16;
+
+    /**
+     * The number of entries in each chunk (65,536).
+     */
+    protected static final int CHUNK_ENTRIES = 1 << CHUNK_SHIFT;
+
+    /**
+     * The mask that gives the position inside a chunk.
+     */
+    private static final int CHUNK_MASK = CHUNK_ENTRIES - 1;
+
+    /**
+     * The sun.misc.Unsafe instance used to free direct buffers, null if it is not
+     * available.
+     */
+    private static final Object UNSAFE;
+
+    /**
+     * The Unsafe.invokeCleaner method, null if it is not available.
+     */
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Without it, the buffers are freed whenever the garbage collector gets to them
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * If every entry has a payload.
+     */
+    private final boolean withPayload;
+
+    /**
+     * The number of bytes of each entry (8 for the key, and 8 more for the payload).
+     */
+    private final int entryBytes;
+
+    /**
+     * The chunks of the heap. Chunk c holds the entries at indices
+     * c * CHUNK_ENTRIES + 1 to (c + 1) * CHUNK_ENTRIES.
+     */
+    private ByteBuffer[] chunks;
+
+    /**
+     * The number of chunks we have allocated.
+     */
+    private int numOfChunks;
+
+    /**
+     * The number of entries the first chunk holds: a power of two, up to
+     * CHUNK_ENTRIES (every other chunk is full-size).
+     */
+    private int firstChunkEntries;
+
+    /**
+     * The number of entries in the heap.
+     */
+    private int numOfEntries;
+
+    /**
+     * The number of swaps it took to create this heap.
+     */
+    private long numSwaps;
+
+    /**
+     * A boolean that keeps track of whether or not the constructor was properly called
+     */
+    private boolean initialized = false;
+
+    /**
+     * A boolean that keeps track of whether or not the heap was closed.
+     */
+    private boolean closed = false;
+
+    /**
+     * If beforeWrite should be called before every write to a chunk.
+     */
+    private boolean writeTracking = false;
+
+    /**
+     * Default Constructor. The entries have no payload.
+     */
+    public OffHeapMaxHeap() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Initialize the Heap with a specific capacity, with or without payloads.
+     *
+     * @param initialCapacity the initial capacity for the Heap.
+     * @param withPayload     if every entry should carry a long payload.
+     */
+    public OffHeapMaxHeap(int initialCapacity, boolean withPayload) {
+        this(withPayload);
+
+        if (initialCapacity < DEFAULT_CAPACITY)
+            initialCapacity = DEFAULT_CAPACITY;
+        if (initialCapacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("Attempted to create a heap with a capacity (" + initialCapacity
+                    + ") which is too large");
+
+        reserve(initialCapacity);
+    }
+
+    /**
+     * Initialize a Heap without any chunks, for subclasses that need to set
+     * themselves up before allocateChunk can be called. They must call reserve
+     * before adding anything.
+     *
+     * @param withPayload if every entry should carry a long payload.
+     */
+    protected OffHeapMaxHeap(boolean withPayload) {
+        this.withPayload = withPayload;
+        this.entryBytes = withPayload ? 2 * Long.BYTES : Long.BYTES;
+        this.chunks = new ByteBuffer[1];
+        this.numOfChunks = 0;
+        this.firstChunkEntries = 0;
+        this.numOfEntries = 0;
+        this.numSwaps = 0;
+        this.initialized = true;
+    }
+
+    /**
+     * Allocates the memory of a chunk. The default is a direct ByteBuffer, but
+     * subclasses can get the memory somewhere else (a memory-mapped file, ...).
+     *
+     * @param chunkIndex the index of the chunk in the heap.
+     * @param bytes      the size of the chunk in bytes.
+     * @return the memory of the chunk, in the native byte order.
+     */
+    protected ByteBuffer allocateChunk(int chunkIndex, int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Gives a chunk more memory, keeping its entries. The default allocates a new
+     * chunk with allocateChunk, copies the entries into it and frees the old one,
+     * but subclasses whose memory already keeps the entries (a memory-mapped
+     * file, ...) can just extend it.
+     *
+     * Only the first chunk is ever resized, while the heap is smaller than one
+     * full-size chunk.
+     *
+     * @param chunkIndex the index of the chunk in the heap.
+     * @param chunk      the chunk to resize.
+     * @param bytes      the new size of the chunk in bytes.
+     * @return the resized chunk.
+     */
+    protected ByteBuffer resizeChunk(int chunkIndex, ByteBuffer chunk, int bytes) {
+        ByteBuffer resized = allocateChunk(chunkIndex, bytes);
+        resized.put(0, chunk, 0, chunk.capacity());
+        freeChunk(chunk);
+        return resized;
+    }
+
+    /**
+     * Turns the calls to beforeWrite on or off. They are off by default, so a
+     * heap that doesn't need them only checks a boolean on each write.
+     *
+     * @param tracking true to call beforeWrite, false to stop.
+     */
+    protected void setWriteTracking(boolean tracking) {
+        this.writeTracking = tracking;
+    }
+
+    /**
+     * Called before an entry of a chunk is overwritten, while write tracking is
+     * on (see setWriteTracking). Subclasses can save the chunk first (to undo
+     * the write after a crash, ...). The default does nothing.
+     *
+     * @param chunkIndex the index of the chunk about to be written.
+     */
+    protected void beforeWrite(int chunkIndex) {
+    }
+
+    /**
+     * Frees the memory of a chunk that allocateChunk returned.
+     *
+     * @param chunk the chunk to free.
+     */
+    protected void freeChunk(ByteBuffer chunk) {
+        release(chunk);
+    }
+
+    /**
+     * Frees a direct or memory-mapped ByteBuffer right away, instead of whenever the
+     * garbage collector gets to it. The buffer must never be used again.
+     *
+     * @param buffer the buffer to free.
+     */
+    protected static void release(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null || buffer == null || !buffer.isDirect()) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            // Leave it to the garbage collector
+        }
+    }
+
+    /**
+     * Checks if the heap is initialized and not closed.
+     */
+    private void checkInitialization() {
+        if (!initialized) {
+            throw new SecurityException("OffHeapMaxHeap object is corrupt or was not initialized properly.");
+        }
+        if (closed) {
+            throw new IllegalStateException("OffHeapMaxHeap is closed.");
+        }
+    }
+
+    /**
+     * Throws an error if the heap has no entries.
+     *
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    private void checkNotEmpty() {
+        if (numOfEntries == 0) {
+            throw new NoSuchElementException("OffHeapMaxHeap is empty.");
+        }
+    }
+
+    /**
+     * Makes sure the heap has room for a number of entries, adding chunks if it
+     * doesn't.
+     *
+     * @param capacity the number of entries the heap should have room for.
+     */
+    protected void reserve(int capacity) {
+        // While one chunk is enough, only give the first chunk the power of two it needs
+        if (capacity <= CHUNK_ENTRIES && numOfChunks <= 1) {
+            int entries = Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1);
+            if (numOfChunks == 0) {
+                chunks[0] = allocateChunk(0, entries * entryBytes);
+                numOfChunks = 1;
+                firstChunkEntries = entries;
+            } else if (entries > firstChunkEntries) {
+                chunks[0] = resizeChunk(0, chunks[0], entries * entryBytes);
+                firstChunkEntries = entries;
+            }
+            return;
+        }
+
+        // The first chunk has to be full-size before any other chunk is added
+        if (numOfChunks == 1 && firstChunkEntries < CHUNK_ENTRIES) {
+            chunks[0] = resizeChunk(0, chunks[0], CHUNK_ENTRIES * entryBytes);
+            firstChunkEntries = CHUNK_ENTRIES;
+        }
+        int neededChunks = (int) (((long) capacity + CHUNK_MASK) >>> CHUNK_SHIFT);
+
+        // Grow the chunk directory, doubling it like a ResizeableList
+        if (neededChunks > chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(neededChunks, chunks.length * 2));
+        }
+
+        while (numOfChunks < neededChunks) {
+            chunks[numOfChunks] = allocateChunk(numOfChunks, CHUNK_ENTRIES * entryBytes);
+            if (numOfChunks == 0) {
+                firstChunkEntries = CHUNK_ENTRIES;
+            }
+            numOfChunks++;
+        }
+    }
+
+    /**
+     * Makes sure the heap has room for one more entry.
+     */
+    private void ensureCapacity() {
+        // We already have room
+        if (numOfEntries < getCapacity()) {
+            return;
+        }
+
+        if (numOfEntries >= MAX_CAPACITY) {
+            throw new IllegalStateException("OffHeapMaxHeap has reached its maximum capacity (" + MAX_CAPACITY + ").");
+        }
+
+        reserve(numOfEntries + 1);
+    }
+
+    /**
+     * Gets the number of entries the heap can hold before it needs another chunk.
+     *
+     * @return The capacity of the heap
+     */
+    public int getCapacity() {
+        checkInitialization();
+        if (numOfChunks <= 1) {
+            return numOfChunks * firstChunkEntries;
+        }
+        return (int) Math.min((long) numOfChunks << CHUNK_SHIFT, MAX_CAPACITY);
+    }
+
+    /**
+     * Gets the number of chunks we have allocated.
+     *
+     * @return The number of chunks
+     */
+    protected int getNumChunks() {
+        return numOfChunks;
+    }
+
+    /**
+     * Gets one of the chunks we have allocated.
+     *
+     * @param chunkIndex the index of the chunk in the heap.
+     * @return the chunk.
+     */
+    protected ByteBuffer chunkAt(int chunkIndex) {
+        return chunks[chunkIndex];
+    }
+
+    /**
+     * Sets the number of entries of the heap, for subclasses that restore a heap
+     * whose entries are already in the chunks.
+     *
+     * @param size the number of entries.
+     */
+    protected void restoreSize(int size) {
+        if (size < 0 || size > getCapacity()) {
+            throw new IllegalArgumentException("Attempted to restore a heap with a size (" + size
+                    + ") which does not fit in its capacity (" + getCapacity() + ")");
+        }
+        numOfEntries = size;
+    }
+
+    /**
+     * Gets the chunk holding an index.
+     *
+     * @param index the 1-based index.
+     * @return the chunk.
+     */
+    private ByteBuffer chunkOf(int index) {
+        return chunks[(index - 1) >>> CHUNK_SHIFT];
+    }
+
+    /**
+     * Gets the byte offset of an index inside its chunk.
+     *
+     * @param index the 1-based index.
+     * @return the byte offset.
+     */
+    private int offsetOf(int index) {
+        return ((index - 1) & CHUNK_MASK) * entryBytes;
+    }
+
+    /**
+     * Gets the key at an index.
+     *
+     * @param index the 1-based index.
+     * @return the key.
+     */
+    private long keyAt(int index) {
+        return chunkOf(index).getLong(offsetOf(index));
+    }
+
+    /**
+     * Gets the payload at an index, 0 if the entries have no payload.
+     *
+     * @param index the 1-based index.
+     * @return the payload.
+     */
+    private long payloadAt(int index) {
+        return withPayload ? chunkOf(index).getLong(offsetOf(index) + Long.BYTES) : 0;
+    }
+
+    /**
+     * Puts an entry at an index.
+     *
+     * @param index   the 1-based index.
+     * @param key     the key.
+     * @param payload the payload (ignored if the entries have no payload).
+     */
+    private void setEntry(int index, long key, long payload) {
+        if (writeTracking) {
+            beforeWrite((index - 1) >>> CHUNK_SHIFT);
+        }
+        ByteBuffer chunk = chunkOf(index);
+        int offset = offsetOf(index);
+        chunk.putLong(offset, key);
+        if (withPayload) {
+            chunk.putLong(offset + Long.BYTES, payload);
+        }
+    }
+
+    /**
+     * Checks if we can add an entry to a given index.
+     *
+     * @param index The index we want to place the entry at.
+     * @param key   The key of the entry we want to add
+     * @return true if we can add the entry, false if we cannot
+     */
+    public boolean canAdd(int index, long key) {
+        checkInitialization();
+
+        if (index < 1 || index > numOfEntries) {
+            throw new IndexOutOfBoundsException("The index provided (" + index
+                    + ") does not fall within the range of the heap [1-" + numOfEntries + "].");
+        }
+
+        // Check if the key we want to add is larger than the key at the index we want to place the entry at
+        return key > keyAt(index);
+    }
+
+    /**
+     * Gets the index of a parent given the index of the child.
+     *
+     * @param childIndex The index of a child node.
+     * @return The index of the child's parent, -1 if there is no parent.
+     */
+    public int getParentIndex(int childIndex) {
+        checkInitialization();
+
+        // The root (and anything before it) doesn't have a parent
+        if (childIndex <= 1) {
+            return -1;
+        }
+
+        return childIndex / 2;
+    }
+
+    /**
+     * Gets the index of a child given the index of the parent.
+     *
+     * @param parentIndex The index of a parent node.
+     * @return The index of the first child of the parent (add 1 for the second
+     *         child), -1 if there is no child.
+     */
+    public int getChildIndex(int parentIndex) {
+        checkInitialization();
+
+        // Multiply the parentIndex by 2, in long math so big heaps don't overflow
+        long childIndex = (long) parentIndex * 2;
+
+        // if we're past the number of entries, then there's no child
+        if (parentIndex < 1 || childIndex > numOfEntries) {
+            return -1;
+        }
+
+        return (int) childIndex;
+    }
+
+    /**
+     * Adds a key to the Heap. If the entries have payloads, its payload is 0.
+     *
+     * @param key The key we want to add to the Heap
+     */
+    public void add(long key) {
+        add(key, 0);
+    }
+
+    /**
+     * Adds a key and its payload to the Heap.
+     *
+     * @param key     The key we want to add to the Heap
+     * @param payload The payload that travels with the key
+     * @throws IllegalStateException if the heap was created without payloads and
+     *                               the payload isn't 0.
+     */
+    public void add(long key, long payload) {
+        checkInitialization();
+        if (!withPayload && payload != 0) {
+            throw new IllegalStateException("OffHeapMaxHeap was created without payloads.");
+        }
+        ensureCapacity();
+
+        // Start with a hole at the new last index
+        int hole = ++numOfEntries;
+
+        // Move the hole up while its parent is less than the key
+        while (hole > 1 && key > keyAt(hole >>> 1)) {
+            int parent = hole >>> 1;
+            setEntry(hole, keyAt(parent), payloadAt(parent));
+            hole = parent;
+            numSwaps++;
+        }
+
+        // Fill the hole with the entry
+        setEntry(hole, key, payload);
+    }
+
+    /**
+     * Removes the heap's largest entry and returns its key. Call getMaxPayload
+     * first to get its payload.
+     *
+     * @return the heap's largest key.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public long remove() {
+        checkInitialization();
+        checkNotEmpty();
+
+        // Get the max key of the heap
+        long max = keyAt(1);
+
+        // Take the last entry out and sift it down from the root
+        long lastKey = keyAt(numOfEntries);
+        long lastPayload = payloadAt(numOfEntries);
+        numOfEntries--;
+        if (numOfEntries > 0) {
+            siftDown(1, lastKey, lastPayload);
+        }
+
+        // Return the previously max key of the heap
+        return max;
+    }
+
+    /**
+     * Removes n entries from the heap
+     *
+     * @param n the number of times to call `remove` on this heap
+     */
+    public void remove(int n) {
+        // Loop through until n (or until we run out of entries)
+        for (int i = 0; i < n && !isEmpty(); i++) {
+            this.remove();
+        }
+    }
+
+    /**
+     * Moves a hole at the given index down the heap until the entry fits in it.
+     *
+     * @param hole    the index of the hole.
+     * @param key     the key of the entry that will eventually fill the hole.
+     * @param payload the payload of that entry.
+     */
+    private void siftDown(int hole, long key, long payload) {
+        long child;
+        // While the hole has at least one child
+        while ((child = (long) hole << 1) <= numOfEntries) {
+            int larger = (int) child;
+            long largerKey = keyAt(larger);
+
+            // Pick the larger of the two children
+            if (larger < numOfEntries) {
+                long rightKey = keyAt(larger + 1);
+                if (rightKey > largerKey) {
+                    larger++;
+                    largerKey = rightKey;
+                }
+            }
+
+            // If the key is at least as large as the larger child, it fits
+            if (key >= largerKey) {
+                break;
+            }
+
+            // Otherwise, move the child up and the hole down
+            setEntry(hole, largerKey, payloadAt(larger));
+            hole = larger;
+            numSwaps++;
+        }
+
+        // Fill the hole with the entry
+        setEntry(hole, key, payload);
+    }
+
+    /**
+     * Get the max key in the heap.
+     *
+     * @return the heap's largest key.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public long getMax() {
+        checkInitialization();
+        checkNotEmpty();
+        return keyAt(1);
+    }
+
+    /**
+     * Get the payload of the max key in the heap.
+     *
+     * @return the payload of the heap's largest key, 0 if the entries have no
+     *         payload.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public long getMaxPayload() {
+        checkInitialization();
+        checkNotEmpty();
+        return payloadAt(1);
+    }
+
+    /**
+     * Checks if the entries of the heap have payloads.
+     *
+     * @return true if every entry has a payload, false if they only have keys
+     */
+    public boolean hasPayload() {
+        return withPayload;
+    }
+
+    /**
+     * Checks if the Heap is empty
+     *
+     * @return true if the heap is empty, false if it isn't
+     */
+    public boolean isEmpty() {
+        checkInitialization();
+        return numOfEntries == 0;
+    }
+
+    /**
+     * Gets the size of the heap (how many entries are in the heap)
+     *
+     * @return The size of the heap
+     */
+    public int getSize() {
+        checkInitialization();
+        return numOfEntries;
+    }
+
+    /**
+     * Gets the number of bytes of memory the heap holds outside of the Java heap.
+     *
+     * @return The number of bytes
+     */
+    public long getReservedBytes() {
+        checkInitialization();
+        if (numOfChunks <= 1) {
+            return (long) numOfChunks * firstChunkEntries * entryBytes;
+        }
+        return (long) numOfChunks * CHUNK_ENTRIES * entryBytes;
+    }
+
+    /**
+     * Clears a heap of all its entries. Like the SegmentedList, only the first
+     * chunk is kept.
+     */
+    public void clear() {
+        checkInitialization();
+        for (int i = 1; i < numOfChunks; i++) {
+            freeChunk(chunks[i]);
+            chunks[i] = null;
+        }
+        numOfChunks = Math.min(numOfChunks, 1);
+        numOfEntries = 0;
+    }
+
+    /**
+     * Frees all the memory of the heap. The heap can't be used afterwards, and
+     * closing it again does nothing.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        for (int i = 0; i < numOfChunks; i++) {
+            freeChunk(chunks[i]);
+            chunks[i] = null;
+        }
+        numOfChunks = 0;
+        numOfEntries = 0;
+        closed = true;
+    }
+
+    /**
+     * Checks if the heap was closed.
+     *
+     * @return true if the heap was closed, false if it wasn't
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Get the number of swaps it took to create the heap.
+     *
+     * @return the number of swaps.
+     */
+    public long getNumSwaps() {
+        checkInitialization();
+        return numSwaps;
+    }
+
+    /**
+     * Represents the heap as a string, in the same format as a ResizeableList.
+     * Only the keys are shown.
+     *
+     * @return The string representation of the heap
+     */
+    @Override
+    public String toString() {
+        checkInitialization();
+
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 1; i <= numOfEntries; i++) {
+            output.append(keyAt(i));
+            if (i < numOfEntries) {
+                output.append(", ");
+            }
+        }
+        output.append("]");
+
+        output.append("\nCapacity: ").append(getCapacity());
+        output.append("\nNumEntries: ").append(numOfEntries);
+
+        return output.toString();
+    }
+
+    /**
+     * Returns a preview of the first 10 keys of the heap
+     *
+     * @return The string preview of the heap
+     */
+    public String preview() {
+        checkInitialization();
+
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 1; i < numOfEntries && i <= 10; i++) {
+            output.append(keyAt(i)).append(", ");
+        }
+
+        output.append("...]");
+
+        return output.toString();
+    }
+}
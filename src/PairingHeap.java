@@ -0,0 +1,363 @@
+package src;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+
+/**
+ * The PairingHeap class, a heap made of linked nodes that can be melded with
+ * another PairingHeap in O(1).
+ *
+ * Melding two MaxHeaps means adding every entry of one to the other, because
+ * both keep their entries in a list. A pairing heap is a tree where every node
+ * keeps a link to its first child and to its next sibling, and the root holds
+ * the entry that compares greatest:
+ * - add and meld link two roots: the smaller root becomes the first child of
+ * the larger one. Both are O(1).
+ * - remove takes the root out and pairs up its children, two at a time from
+ * left to right, then links the pairs from right to left. It is O(log(n))
+ * amortized.
+ *
+ * The nodes aren't kept in an array, so there are no indices: the heap only
+ * implements the BinaryHeapInterface, not the ArrayHeapInterface.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class PairingHeap<T> implements BinaryHeapInterface<T> {
+
+    /**
+     * A node of the heap.
+     */
+    private static final class Node<T> {
+
+        /**
+         * The entry of the node.
+         */
+        private final T entry;
+
+        /**
+         * The first child of the node, null if it has none.
+         */
+        private Node<T> child;
+
+        /**
+         * The next sibling of the node, null if it is the last child.
+         */
+        private Node<T> sibling;
+
+        /**
+         * Initialize a node.
+         *
+         * @param entry the entry of the node.
+         */
+        private Node(T entry) {
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * The root of the heap, null if the heap is empty.
+     */
+    private Node<T> root;
+
+    /**
+     * The number of entries in the heap.
+     */
+    private int numOfEntries;
+
+    /**
+     * The order of the heap. The entry that compares greatest is kept at the top.
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * The number of comparisons this heap has made.
+     */
+    private long numComparisons;
+
+    /**
+     * A boolean that keeps track of whether or not the constructor was properly called
+     */
+    private boolean initialized = false;
+
+    /**
+     * Default Constructor. The entries are ordered by their natural order.
+     */
+    public PairingHeap() {
+        this(AbstractHeap.naturalOrder());
+    }
+
+    /**
+     * Initialize the Heap with a Comparator.
+     *
+     * @param comparator the order of the heap. The entry that compares greatest
+     *                   is kept at the top.
+     * @throws IllegalArgumentException if the comparator is null.
+     */
+    public PairingHeap(Comparator<? super T> comparator) {
+        if (comparator == null)
+            throw new IllegalArgumentException("Attempted to create a heap without a comparator");
+
+        this.comparator = comparator;
+        root = null;
+        numOfEntries = 0;
+        numComparisons = 0;
+        initialized = true;
+    }
+
+    /**
+     * Checks if the heap is initialized.
+     */
+    private void checkInitialization() {
+        if (!initialized) {
+            throw new SecurityException("PairingHeap object is corrupt or was not initialized properly.");
+        }
+    }
+
+    /**
+     * Adds an entry to the Heap, in O(1).
+     *
+     * @param entry The entry we want to add to the Heap
+     */
+    @Override
+    public void add(T entry) {
+        checkInitialization();
+        root = link(root, new Node<>(entry));
+        numOfEntries++;
+    }
+
+    /**
+     * Removes and returns the heap's largest item.
+     *
+     * @return the heap's largest item, null if the heap is empty.
+     */
+    @Override
+    public T remove() {
+        checkInitialization();
+        if (root == null) {
+            return null;
+        }
+
+        T max = root.entry;
+        root = pairChildren(root.child);
+        numOfEntries--;
+        return max;
+    }
+
+    /**
+     * Get the max item in the heap.
+     *
+     * @return the heap's largest item, null if the heap is empty.
+     */
+    public T getMax() {
+        checkInitialization();
+        if (root == null) {
+            return null;
+        }
+        return root.entry;
+    }
+
+    /**
+     * Melds another PairingHeap into this one, in O(1). The other heap is
+     * emptied.
+     *
+     * The trees are linked as they are, so both heaps must use the same order
+     * (their comparators can be different instances, such as the comparators of
+     * shards that each built their own). Melding a heap with a different order
+     * leaves the merged heap out of order.
+     *
+     * @param other The heap to meld into this one
+     * @throws IllegalArgumentException if the other heap is this heap.
+     */
+    public void meld(PairingHeap<T> other) {
+        checkInitialization();
+        if (other == this)
+            throw new IllegalArgumentException("Attempted to meld a heap into itself");
+
+        root = link(root, other.root);
+        numOfEntries += other.numOfEntries;
+
+        // The other heap doesn't own its nodes anymore
+        other.root = null;
+        other.numOfEntries = 0;
+    }
+
+    /**
+     * Links two trees: the root that compares smaller becomes the first child of
+     * the other one.
+     *
+     * @param first  the first tree, may be null.
+     * @param second the second tree, may be null.
+     * @return the root of the linked tree.
+     */
+    private Node<T> link(Node<T> first, Node<T> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+
+        numComparisons++;
+        if (comparator.compare(second.entry, first.entry) > 0) {
+            Node<T> swap = first;
+            first = second;
+            second = swap;
+        }
+
+        second.sibling = first.child;
+        first.child = second;
+        return first;
+    }
+
+    /**
+     * Links the children of a removed root into a single tree, with the two-pass
+     * pairing method.
+     *
+     * @param first the first child, may be null.
+     * @return the root of the new tree.
+     */
+    private Node<T> pairChildren(Node<T> first) {
+        // First pass: link the children two at a time, from left to right. The
+        // pairs are chained in reverse through their sibling links.
+        Node<T> pairs = null;
+        while (first != null) {
+            Node<T> second = first.sibling;
+            Node<T> next = second == null ? null : second.sibling;
+            first.sibling = null;
+            if (second != null) {
+                second.sibling = null;
+            }
+
+            Node<T> pair = link(first, second);
+            pair.sibling = pairs;
+            pairs = pair;
+            first = next;
+        }
+
+        // Second pass: link the pairs from right to left (the chain is already reversed)
+        Node<T> result = null;
+        while (pairs != null) {
+            Node<T> next = pairs.sibling;
+            pairs.sibling = null;
+            result = link(result, pairs);
+            pairs = next;
+        }
+        return result;
+    }
+
+    /**
+     * Checks if the Heap is empty
+     *
+     * @return true if the heap is empty, false if it isn't
+     */
+    @Override
+    public boolean isEmpty() {
+        checkInitialization();
+        return numOfEntries == 0;
+    }
+
+    /**
+     * Gets the size of the heap (how many entries are in the heap)
+     *
+     * @return The size of the heap
+     */
+    @Override
+    public int getSize() {
+        checkInitialization();
+        return numOfEntries;
+    }
+
+    /**
+     * Clears a heap of all its entries
+     */
+    @Override
+    public void clear() {
+        checkInitialization();
+        // The nodes are only reachable from the root
+        root = null;
+        numOfEntries = 0;
+    }
+
+    /**
+     * Get the number of comparisons this heap has made.
+     *
+     * @return the number of comparisons.
+     */
+    public long getNumComparisons() {
+        checkInitialization();
+        return numComparisons;
+    }
+
+    /**
+     * Represents the heap as a string. The entries are listed in preorder, so the
+     * max comes first.
+     *
+     * @return The string representation of the heap
+     */
+    @Override
+    public String toString() {
+        checkInitialization();
+
+        StringBuilder output = new StringBuilder("[");
+        appendEntries(output, numOfEntries);
+        output.append("]");
+
+        output.append("\nNumEntries: ").append(numOfEntries);
+
+        return output.toString();
+    }
+
+    /**
+     * Returns a preview of the first 10 items of the heap, in preorder.
+     *
+     * @return The string preview of the heap
+     */
+    public String preview() {
+        checkInitialization();
+
+        StringBuilder output = new StringBuilder("[");
+        if (appendEntries(output, 10) > 0) {
+            output.append(", ");
+        }
+        output.append("...]");
+
+        return output.toString();
+    }
+
+    /**
+     * Appends entries of the heap to a StringBuilder, in preorder.
+     *
+     * @param output the StringBuilder.
+     * @param limit  the largest number of entries to append.
+     * @return the number of entries appended.
+     */
+    private int appendEntries(StringBuilder output, int limit) {
+        // Walk the tree with a stack instead of recursion, since it can be very deep
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        if (root != null) {
+            stack.push(root);
+        }
+
+        int count = 0;
+        while (!stack.isEmpty() && count < limit) {
+            Node<T> node = stack.pop();
+            if (count > 0) {
+                output.append(", ");
+            }
+            output.append(node.entry);
+            count++;
+
+            if (node.sibling != null) {
+                stack.push(node.sibling);
+            }
+            if (node.child != null) {
+                stack.push(node.child);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,368 @@
+package src;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * The ParallelHeapLoader class, which loads a large file of integers into a
+ * MaxHeap using several threads.
+ *
+ * Even with the IntFileLoader class, a single thread parsing a file of
+ * several gigabytes is the bottleneck of building a heap from it. The
+ * ParallelHeapLoader class splits the file into chunks of about chunkBytes
+ * bytes, moves the boundaries of the chunks forward to the next separator so
+ * no integer is cut in two, and parses the chunks in parallel on a
+ * ForkJoinPool. The integers of the chunks are then put together, in file
+ * order, and the heap is built with the O(n) optimal method.
+ *
+ * The time of both phases is kept separately, so the chunk size can be tuned
+ * by looking at the parse throughput alone:
+ * - the parse phase reads, parses and boxes the integers into the array the
+ * heap is built from.
+ * - the build phase builds the heap from that array.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class ParallelHeapLoader {
+
+    /**
+     * The default size of a chunk, in bytes.
+     */
+    private static final long DEFAULT_CHUNK_BYTES = 8L << 20;
+
+    /**
+     * The smallest size of a chunk, in bytes.
+     */
+    private static final long MIN_CHUNK_BYTES = 1L << 10;
+
+    /**
+     * The largest size of the buffer of each chunk, in bytes.
+     */
+    private static final int MAX_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The pool the chunks are parsed on.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The size of a chunk, in bytes.
+     */
+    private final long chunkBytes;
+
+    /**
+     * The number of bytes of the last file loaded.
+     */
+    private long numBytes;
+
+    /**
+     * The number of integers of the last file loaded.
+     */
+    private int numValues;
+
+    /**
+     * The number of chunks of the last file loaded.
+     */
+    private int numChunks;
+
+    /**
+     * The time the parse phase of the last load took, in nanoseconds.
+     */
+    private long parseNanos;
+
+    /**
+     * The time the build phase of the last load took, in nanoseconds.
+     */
+    private long buildNanos;
+
+    /**
+     * Default Constructor. Uses the common ForkJoinPool and 8 MB chunks.
+     */
+    public ParallelHeapLoader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * Initialize the loader with a specific pool and chunk size.
+     *
+     * @param pool       the pool the chunks are parsed on.
+     * @param chunkBytes the size of a chunk, in bytes.
+     * @throws IllegalArgumentException if the pool is null or the chunk size is
+     *                                  too small.
+     */
+    public ParallelHeapLoader(ForkJoinPool pool, long chunkBytes) {
+        if (pool == null)
+            throw new IllegalArgumentException("Attempted to create a loader without a pool");
+        if (chunkBytes < MIN_CHUNK_BYTES)
+            throw new IllegalArgumentException("Attempted to create a loader with a chunk size (" + chunkBytes
+                    + ") which is too small");
+
+        this.pool = pool;
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Loads every integer of a file into a MaxHeap built with the optimal method.
+     *
+     * @param file the file to load.
+     * @return the heap.
+     * @throws IOException           if the file can't be read.
+     * @throws NumberFormatException if the file has something other than
+     *                               integers.
+     */
+    public MaxHeap<Integer> load(Path file) throws IOException {
+        Integer[] values = parse(file);
+
+        long start = System.nanoTime();
+        MaxHeap<Integer> heap = new MaxHeap<>(values, BuildMethod.OPTIMAL);
+        buildNanos = System.nanoTime() - start;
+
+        return heap;
+    }
+
+    /**
+     * Parses every integer of a file in parallel, into an array in file order.
+     *
+     * @param file the file to parse.
+     * @return the integers of the file.
+     * @throws IOException           if the file can't be read.
+     * @throws NumberFormatException if the file has something other than
+     *                               integers.
+     */
+    public Integer[] parse(Path file) throws IOException {
+        long start = System.nanoTime();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] boundaries = chunkBoundaries(channel, size);
+            int chunks = boundaries.length - 1;
+            int bufferSize = (int) Math.min(chunkBytes, MAX_BUFFER_SIZE);
+
+            // Parse every chunk on the pool, each with its own buffer
+            List<ForkJoinTask<IntFileLoader.IntArrayCollector>> parseTasks = new ArrayList<>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                long chunkStart = boundaries[c];
+                long chunkEnd = boundaries[c + 1];
+                parseTasks.add(pool.submit(() -> {
+                    IntFileLoader.IntArrayCollector collector = new IntFileLoader.IntArrayCollector();
+                    IntFileLoader.parseRange(channel, chunkStart, chunkEnd, ByteBuffer.allocate(bufferSize),
+                            collector);
+                    return collector;
+                }));
+            }
+            List<IntFileLoader.IntArrayCollector> parsed = new ArrayList<>(chunks);
+            for (ForkJoinTask<IntFileLoader.IntArrayCollector> task : parseTasks) {
+                parsed.add(await(task));
+            }
+
+            // Find where each chunk goes in the array
+            int[] offsets = new int[chunks + 1];
+            for (int c = 0; c < chunks; c++) {
+                long offset = (long) offsets[c] + parsed.get(c).getSize();
+                if (offset > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("Too many integers to fit in an array.");
+                }
+                offsets[c + 1] = (int) offset;
+            }
+
+            // Box every chunk into the array, also in parallel
+            Integer[] values = new Integer[offsets[chunks]];
+            List<ForkJoinTask<?>> boxTasks = new ArrayList<>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                IntFileLoader.IntArrayCollector collector = parsed.get(c);
+                int offset = offsets[c];
+                boxTasks.add(pool.submit(() -> {
+                    int[] chunkValues = collector.getValues();
+                    for (int i = 0; i < collector.getSize(); i++) {
+                        values[offset + i] = chunkValues[i];
+                    }
+                }));
+            }
+            for (ForkJoinTask<?> task : boxTasks) {
+                await(task);
+            }
+
+            numBytes = size;
+            numValues = values.length;
+            numChunks = chunks;
+            parseNanos = System.nanoTime() - start;
+            buildNanos = 0;
+
+            return values;
+        }
+    }
+
+    /**
+     * Splits a file into chunks of about chunkBytes bytes, where every chunk
+     * after the first starts right after a separator.
+     *
+     * @param channel the file.
+     * @param size    the size of the file.
+     * @return the start of every chunk, followed by the size of the file.
+     * @throws IOException if the file can't be read.
+     */
+    private long[] chunkBoundaries(FileChannel channel, long size) throws IOException {
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        long next = chunkBytes;
+        while (next < size) {
+            long boundary = nextSeparator(channel, next - 1, size, buffer) + 1;
+            if (boundary >= size) {
+                break;
+            }
+            boundaries.add(boundary);
+            next = boundary + chunkBytes;
+        }
+        boundaries.add(size);
+
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the first separator at or after a position.
+     *
+     * @param channel  the file.
+     * @param position the position to start looking at.
+     * @param size     the size of the file.
+     * @param buffer   the buffer to read into.
+     * @return the position of the separator, the size of the file if there is
+     *         none.
+     * @throws IOException if the file can't be read.
+     */
+    private static long nextSeparator(FileChannel channel, long position, long size, ByteBuffer buffer)
+            throws IOException {
+        byte[] bytes = buffer.array();
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (IntFileLoader.isSeparator(bytes[i])) {
+                    return position + i;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Waits for a task and rethrows what it threw.
+     *
+     * @param <V>  the result type of the task.
+     * @param task the task.
+     * @return the result of the task.
+     * @throws IOException if the task threw one.
+     */
+    private static <V> V await(ForkJoinTask<V> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading the file.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            // The pool rethrows a copy of the exception, with the original as its cause
+            if (cause != null && cause.getCause() != null && cause.getCause().getClass() == cause.getClass()) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Gets the number of bytes of the last file loaded.
+     *
+     * @return the number of bytes.
+     */
+    public long getNumBytes() {
+        return numBytes;
+    }
+
+    /**
+     * Gets the number of integers of the last file loaded.
+     *
+     * @return the number of integers.
+     */
+    public int getNumValues() {
+        return numValues;
+    }
+
+    /**
+     * Gets the number of chunks the last file loaded was split into.
+     *
+     * @return the number of chunks.
+     */
+    public int getNumChunks() {
+        return numChunks;
+    }
+
+    /**
+     * Gets the time the parse phase of the last load took.
+     *
+     * @return the time, in nanoseconds.
+     */
+    public long getParseNanos() {
+        return parseNanos;
+    }
+
+    /**
+     * Gets the time the build phase of the last load took (0 if the last file
+     * was only parsed).
+     *
+     * @return the time, in nanoseconds.
+     */
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * Gets the throughput of the parse phase of the last load.
+     *
+     * @return the number of megabytes parsed per second.
+     */
+    public double getParseThroughput() {
+        return parseNanos == 0 ? 0 : numBytes / 1e6 / (parseNanos / 1e9);
+    }
+
+    /**
+     * Gets the throughput of the build phase of the last load.
+     *
+     * @return the number of entries heapified per second.
+     */
+    public double getBuildThroughput() {
+        return buildNanos == 0 ? 0 : numValues / (buildNanos / 1e9);
+    }
+}
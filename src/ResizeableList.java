@@ -1,12 +1,26 @@
 package src;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
 /**
  * The ResizeableList class that implements the ListInterface interface.
  *
  * This class implements all the methods from the interface while also adding
- * functionality for doubling
+ * functionality for growing
  * the capacity of the list whenever we fill the list up.
  *
+ * How the list grows (and if it shrinks once it drains) is set by its
+ * GrowthPolicy. By default, it doubles its capacity up to MAX_CAPACITY and
+ * never shrinks.
+ *
+ * contains, getIndexOf and getFreqOf scan the whole list. A list can instead
+ * keep a hash index of its entries (see setIndexed(boolean)), which makes them
+ * O(1) on average.
+ *
  * The index of a ResizeableList object starts at 1.
  *
  * Each method is documented separately.
@@ -37,10 +51,35 @@ public class ResizeableList<T> implements ListInterface<T> {
      */
     private boolean integrityOk = false;
 
+    /**
+     * The metrics of the heap this list belongs to, or null if it has none (see
+     * HeapMetrics).
+     */
+    private HeapMetrics metrics;
+
+    /**
+     * How the list grows and shrinks.
+     */
+    private GrowthPolicy policy;
+
+    /**
+     * The capacity the list was created with. It never shrinks below it on its
+     * own.
+     */
+    private int minCapacity;
+
+    /**
+     * The hash index of the list, or null if it isn't indexed: every (non-null)
+     * entry, mapped to the indices it is at.
+     */
+    private Map<T, Positions> positions;
+
     /**
      * A static final field denoting the maximum capacity of any list.
+     *
+     * Lists that need to hold more entries than this should use a SegmentedList.
      */
-    private static final int MAX_CAPACITY = 10_000;
+    static final int MAX_CAPACITY = 10_000;
 
     /**
      * A static final field denoting the default capacity of a list.
@@ -67,8 +106,23 @@ public class ResizeableList<T> implements ListInterface<T> {
      * @param capacity The capacity we want the list to have.
      */
     public ResizeableList(int capacity) {
+        this(capacity, GrowthPolicy.DEFAULT);
+    }
+
+    /**
+     * Creates a ResizeableList given a capacity and a growth policy.
+     *
+     * @param capacity The capacity we want the list to have.
+     * @param policy   How the list grows and shrinks.
+     * @throws IllegalArgumentException if the policy is null.
+     */
+    public ResizeableList(int capacity, GrowthPolicy policy) {
         // Check that the capacity is within bounds
         checkCapacity(capacity);
+        if (policy == null)
+            throw new IllegalArgumentException("Attempted to create a list without a growth policy");
+        this.policy = policy;
+        this.minCapacity = capacity;
         // Create a pure generic-type array
         this.array = createArray(capacity);
         // Default the number of entries to 0 (the list has no entries)
@@ -111,47 +165,93 @@ public class ResizeableList<T> implements ListInterface<T> {
     }
 
     /**
-     * Continuously doubles the capacity while a provided index is larger than
-     * capacity.
+     * Grows the capacity, following the growth policy, if a provided index is
+     * larger than capacity.
+     *
+     * The policy is applied as many times as needed at once, so the entries are
+     * copied a single time even when the index is far past the end.
      *
+     * @throws IllegalArgumentException if the index needs a capacity past the cap
+     *                                  of the policy.
      * @param index The index we are checking if it is too large.
      */
     private void ensureCapacity(int index) {
-        // While the index is too large, double the capacity.
-        while (index >= array.length) {
-            doubleCapacity();
+        if (index < array.length) {
+            return;
+        }
+
+        // The array always keeps one slot past the last index
+        int newCapacity = policy.grow(array.length, index + 1);
+        if (newCapacity <= index) {
+            throw new IllegalArgumentException("Attempted to grow a list past its maximum capacity ("
+                    + policy.getCap() + ")");
+        }
+        resize(newCapacity);
+    }
+
+    /**
+     * Shrinks the capacity if the growth policy shrinks the list and the list
+     * has drained enough.
+     */
+    private void shrinkIfSparse() {
+        int newCapacity = policy.shrink(array.length, numOfEntries, minCapacity);
+        if (newCapacity < array.length) {
+            resize(newCapacity);
         }
     }
 
     /**
-     * Doubles the capacity of the array.
+     * Moves the entries to a new array of a given capacity.
      *
-     * This method also checks the new capacity with the checkCapacity(int) method,
-     * creates
-     * an array using createArray(int), and then copies the entries of the
-     * old array to the new one using copyEntries(T[]).
+     * This method creates an array using createArray(int), and then copies the
+     * entries of the old array to the new one with System.arraycopy.
+     *
+     * @param newCapacity The capacity of the new array (more than the number of
+     *                    entries).
      */
-    private void doubleCapacity() {
-        int newCapacity = array.length * 2;
-        checkCapacity(newCapacity);
+    private void resize(int newCapacity) {
         T[] newArray = createArray(newCapacity);
-        array = copyEntries(newArray);
+        System.arraycopy(array, 0, newArray, 0, numOfEntries);
+        array = newArray;
+        if (metrics != null) {
+            metrics.recordResize(numOfEntries);
+        }
     }
 
     /**
-     * Copies all the entries from this array into a new array
-     *
-     * @param newArray The array to copy the entries into
-     * @return The array with the copied entries
+     * Shrinks the capacity to the number of entries (plus the one slot the list
+     * always keeps past the last index), to give back the memory a burst left
+     * unused.
      */
-    private T[] copyEntries(T[] newArray) {
-        // Loop through each item in the old array
-        for (int i = 0; i < numOfEntries; i++) {
-            // Set the element in the new array
-            newArray[i] = array[i];
+    public void trimToSize() {
+        checkIntegrity();
+        if (array.length > numOfEntries + 1) {
+            resize(numOfEntries + 1);
         }
-        // Return the new array
-        return newArray;
+    }
+
+    /**
+     * Gets the growth policy of this list.
+     *
+     * @return The growth policy.
+     */
+    public GrowthPolicy getGrowthPolicy() {
+        checkIntegrity();
+        return policy;
+    }
+
+    /**
+     * Sets the growth policy of this list. It applies from the next time the list
+     * grows or shrinks.
+     *
+     * @param policy How the list grows and shrinks.
+     * @throws IllegalArgumentException if the policy is null.
+     */
+    public void setGrowthPolicy(GrowthPolicy policy) {
+        checkIntegrity();
+        if (policy == null)
+            throw new IllegalArgumentException("Attempted to set a null growth policy");
+        this.policy = policy;
     }
 
     /**
@@ -211,7 +311,8 @@ public class ResizeableList<T> implements ListInterface<T> {
 
         // If we are adding to anywhere other than the end of the list, we need to make
         // room for the element
-        if (index <= numOfEntries) {
+        boolean shifted = index <= numOfEntries;
+        if (shifted) {
             moveEntriesForward(index);
         }
 
@@ -221,6 +322,15 @@ public class ResizeableList<T> implements ListInterface<T> {
         // Calculate the new number of entries
         int factor = Math.max(1, index - numOfEntries);
         numOfEntries += factor;
+
+        // Keep the index up to date (every entry after the index moved)
+        if (positions != null) {
+            if (shifted) {
+                reindexFrom(index);
+            } else {
+                indexEntry(entry, index);
+            }
+        }
     }
 
     /**
@@ -234,6 +344,143 @@ public class ResizeableList<T> implements ListInterface<T> {
         add(numOfEntries + 1, entry);
     }
 
+    /**
+     * Adds every entry of an array to the end of the list, in order.
+     *
+     * @param entries The entries we want to add to the list.
+     */
+    @Override
+    public void addAll(T[] entries) {
+        checkIntegrity();
+        insertAll(numOfEntries + 1, entries);
+    }
+
+    /**
+     * Adds every entry of a Collection to the end of the list, in the order of
+     * its iterator.
+     *
+     * @param entries The entries we want to add to the list.
+     */
+    @Override
+    public void addAll(Collection<? extends T> entries) {
+        checkIntegrity();
+        insertAll(numOfEntries + 1, entries);
+    }
+
+    /**
+     * Inserts every entry of an array starting at an index, in order.
+     *
+     * Unlike calling add(int, T) for each entry, which shifts the rest of the
+     * list once per entry, the list grows at most once and the rest of the list
+     * is moved back in a single block, so inserting k entries costs O(k + n)
+     * instead of O(k * n).
+     *
+     * Like add(int, T), inserting past the end of the list leaves null entries
+     * in between.
+     *
+     * @param index   The index we want to add the first entry to.
+     * @param entries The entries we want to add to the list.
+     */
+    @Override
+    public void insertAll(int index, T[] entries) {
+        checkIntegrity();
+        if (index < 1) {
+            checkIndexInRange(index);
+        }
+        int count = entries.length;
+        if (count == 0) {
+            return;
+        }
+        // The entries could be our own backing array (see getArray())
+        if (entries == array) {
+            entries = Arrays.copyOf(entries, count);
+        }
+
+        // Grow once for every entry, keeping the slot past the last index
+        int before = Math.max(numOfEntries, index - 1);
+        ensureCapacity((int) Math.min((long) before + count, Integer.MAX_VALUE));
+
+        // Move the rest of the list back in one block, then copy the entries in
+        boolean shifted = index <= numOfEntries;
+        if (shifted) {
+            System.arraycopy(array, index - 1, array, index - 1 + count, numOfEntries - index + 1);
+        }
+        System.arraycopy(entries, 0, array, index - 1, count);
+        numOfEntries = before + count;
+
+        // Keep the index up to date
+        if (positions != null) {
+            if (shifted) {
+                reindexFrom(index);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    indexEntry(entries[i], index + i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts every entry of a Collection starting at an index, in the order of
+     * its iterator. This works the same way as insertAll(int, T[]).
+     *
+     * @param index   The index we want to add the first entry to.
+     * @param entries The entries we want to add to the list.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void insertAll(int index, Collection<? extends T> entries) {
+        insertAll(index, (T[]) entries.toArray());
+    }
+
+    /**
+     * Removes every element from index from to index to (both included).
+     *
+     * The elements after them are moved forward in a single block, so removing k
+     * elements costs O(n) instead of the O(k * n) of k calls to remove(int).
+     * Like remove(int), trailing "null" entries are then dropped from the end of
+     * the list.
+     *
+     * @throws IndexOutOfBoundsException if the range doesn't fall within the
+     *                                   range of the list [1-numOfEntries].
+     * @param from The index of the first element we want to remove.
+     * @param to   The index of the last element we want to remove (from - 1
+     *             removes nothing).
+     */
+    @Override
+    public void removeRange(int from, int to) {
+        checkIntegrity();
+        if (from < 1 || to > numOfEntries || to < from - 1) {
+            throw new IndexOutOfBoundsException("The range provided [" + from + "-" + to
+                    + "] does not fall within the range of the array [1-" + numOfEntries + "].");
+        }
+        int count = to - from + 1;
+        if (count == 0) {
+            return;
+        }
+
+        // Unindex the removed entries if nothing comes after them
+        boolean shifted = to < numOfEntries;
+        if (positions != null && !shifted) {
+            for (int i = from; i <= to; i++) {
+                unindexEntry(array[i - 1], i);
+            }
+        }
+
+        // Move the rest of the list forward in one block, and clear the freed slots
+        System.arraycopy(array, to, array, from - 1, numOfEntries - to);
+        Arrays.fill(array, numOfEntries - count, numOfEntries, null);
+        numOfEntries -= count;
+
+        // We also remove an entry for every trailing null
+        for (; numOfEntries != 0 && array[numOfEntries - 1] == null; numOfEntries--)
+            ;
+        if (positions != null && shifted) {
+            reindexFrom(from);
+        }
+        shrinkIfSparse();
+    }
+
     /**
      * Removes an element from the list given an index.
      *
@@ -259,6 +506,7 @@ public class ResizeableList<T> implements ListInterface<T> {
         checkIndexInRange(index);
 
         // Store the element we remove
+        boolean shifted = index < numOfEntries;
         T removed = moveEntriesBack(index);
 
         // We are definitely removing one entry
@@ -267,6 +515,16 @@ public class ResizeableList<T> implements ListInterface<T> {
         for (; numOfEntries != 0 && array[numOfEntries - 1] == null; numOfEntries--)
             ;
 
+        // Keep the index up to date (every entry after the index moved)
+        if (positions != null) {
+            if (shifted) {
+                reindexFrom(index);
+            } else {
+                unindexEntry(removed, index);
+            }
+        }
+        shrinkIfSparse();
+
         // Return the element we removed
         return removed;
     }
@@ -284,6 +542,45 @@ public class ResizeableList<T> implements ListInterface<T> {
         return remove(numOfEntries);
     }
 
+    /**
+     * Sets the metrics the growth of this list is recorded in.
+     *
+     * This is package-private so only the heaps can attach their metrics.
+     *
+     * @param metrics The metrics, or null to stop recording.
+     */
+    void setMetrics(HeapMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Drops every entry after the first count entries at once.
+     *
+     * This is package-private so the heaps can shrink by many entries without
+     * removing them one at a time (a heap never needs the entries shifted or the
+     * trailing nulls dropped).
+     *
+     * @param count The number of entries to keep.
+     */
+    void truncate(int count) {
+        checkIntegrity();
+        if (count < 0 || count > numOfEntries) {
+            throw new IndexOutOfBoundsException("The count provided (" + count
+                    + ") does not fall within the range of the list [0-" + numOfEntries + "].");
+        }
+
+        if (positions != null) {
+            for (int i = count + 1; i <= numOfEntries; i++) {
+                unindexEntry(array[i - 1], i);
+            }
+        }
+
+        // Clear the dropped slots so the entries can be garbage collected
+        Arrays.fill(array, count, numOfEntries, null);
+        numOfEntries = count;
+        shrinkIfSparse();
+    }
+
     /**
      * Removes an entry from a list by moving all proceeding elements back an index.
      *
@@ -296,10 +593,8 @@ public class ResizeableList<T> implements ListInterface<T> {
     private T moveEntriesBack(int index) {
         // Store the removed element
         T removed = array[index - 1];
-        // Start at the index and continuously move the next element back once.
-        for (int i = index; i <= numOfEntries; i++) {
-            array[i - 1] = array[i];
-        }
+        // Move every following element (and the empty slot past the end) back once, in one block.
+        System.arraycopy(array, index, array, index - 1, numOfEntries - index + 1);
         // Return the removed element
         return removed;
     }
@@ -314,11 +609,9 @@ public class ResizeableList<T> implements ListInterface<T> {
     private void moveEntriesForward(int index) {
         // Make sure we have enough room
         ensureCapacity(numOfEntries + 1);
-        // Start at 1 less than the end of the list and continuously set the next
-        // element to the current element
-        for (int i = numOfEntries; i >= index - 1; i--) {
-            array[i + 1] = array[i];
-        }
+        // Move every element from the index (and the empty slot past the end)
+        // forward once, in one block
+        System.arraycopy(array, index - 1, array, index, numOfEntries - index + 2);
     }
 
     /**
@@ -342,6 +635,11 @@ public class ResizeableList<T> implements ListInterface<T> {
         // Set the element to the entry we want
         array[index - 1] = entry;
 
+        if (positions != null) {
+            unindexEntry(removed, index);
+            indexEntry(entry, index);
+        }
+
         // Return the removed element
         return removed;
     }
@@ -379,6 +677,13 @@ public class ResizeableList<T> implements ListInterface<T> {
         T tempEntry = array[firstIndex - 1];
         array[firstIndex - 1] = array[secondIndex - 1];
         array[secondIndex - 1] = tempEntry;
+
+        if (positions != null && firstIndex != secondIndex) {
+            unindexEntry(tempEntry, firstIndex);
+            unindexEntry(array[firstIndex - 1], secondIndex);
+            indexEntry(array[firstIndex - 1], firstIndex);
+            indexEntry(tempEntry, secondIndex);
+        }
     }
 
     /**
@@ -392,6 +697,12 @@ public class ResizeableList<T> implements ListInterface<T> {
         // Check the integrity of the object
         checkIntegrity();
 
+        // With an index, the count is the number of indices of the entry
+        if (positions != null) {
+            Positions found = positions.get(entry);
+            return found == null ? 0 : found.size;
+        }
+
         // Initialize the counter variable
         int count = 0;
         // Loop through the array
@@ -421,25 +732,40 @@ public class ResizeableList<T> implements ListInterface<T> {
     public boolean contains(T entry) {
         // Check the integrity of the object
         checkIntegrity();
+        // With an index, the entry is in the list if it has indices
+        if (positions != null) {
+            return positions.containsKey(entry);
+        }
         // If the entry is in the array, return true
         return getIndexOf(entry) > -1;
     }
 
     /**
-     * Gets the index of a specified entry.
+     * Gets the index of the first occurence of a specified entry.
+     *
+     * Null entries (the gaps left by adding past the end of the list) are never
+     * found, like in getFreqOf(T).
      *
      * @param entry The entry we are scanning for.
-     * @return The index of the entry.
+     * @return The index of the entry, -1 if it is not in the list.
      */
     @Override
     public int getIndexOf(T entry) {
+        // Check the integrity of the object
+        checkIntegrity();
+
+        // With an index, only look at the indices of the entry
+        if (positions != null) {
+            Positions found = positions.get(entry);
+            return found == null ? -1 : found.first();
+        }
 
         // Loop through the array
         for (int i = 0; i < numOfEntries; i++) {
-            // If we find the element
-            if (array[i].equals(entry)) {
-                // Return the indes
-                return i;
+            // If we find the element (skipping null entries)
+            if (array[i] != null && array[i].equals(entry)) {
+                // Return its index (which starts at 1)
+                return i + 1;
             }
         }
 
@@ -447,6 +773,118 @@ public class ResizeableList<T> implements ListInterface<T> {
         return -1;
     }
 
+    /**
+     * Turns the hash index of the list on or off.
+     *
+     * While it is on, every non-null entry is mapped to the indices it is at,
+     * and the map is kept up to date on every change, so contains, getIndexOf
+     * and getFreqOf are O(1) on average (getIndexOf is O(k) for an entry that
+     * occurs k times). Adding or removing at the end of the list, set and swap
+     * stay O(1) on average. Adding or removing anywhere else moves the entries
+     * after the index, so it also reindexes them, which costs O(n) on top of
+     * the O(n) move.
+     *
+     * The index costs memory: on a 64-bit JVM with compressed pointers, about 85
+     * bytes for each different entry (a HashMap node and its table slot, and a
+     * small array of indices), plus 4 to 8 bytes for every repeated occurrence.
+     * That is about 20 times the 4 bytes of the reference the list already
+     * holds, so it is only worth it for lists that are searched often.
+     *
+     * The entries are hashed, so they must implement hashCode consistently with
+     * equals, and must not change while they are in an indexed list. Writes made
+     * straight to the array returned by getArray() bypass the index.
+     *
+     * @param indexed true to build the index from the current entries (O(n)),
+     *                false to drop it.
+     */
+    public void setIndexed(boolean indexed) {
+        checkIntegrity();
+
+        if (!indexed) {
+            positions = null;
+        } else if (positions == null) {
+            positions = new HashMap<>();
+            for (int i = 1; i <= numOfEntries; i++) {
+                indexEntry(array[i - 1], i);
+            }
+        }
+    }
+
+    /**
+     * Checks if the list keeps a hash index of its entries.
+     *
+     * @return true if it does, false if it doesn't.
+     */
+    public boolean isIndexed() {
+        checkIntegrity();
+        return positions != null;
+    }
+
+    /**
+     * Rebuilds the hash index from the array, after entries were moved straight
+     * inside it (by HeapSort, for example). Does nothing if the list isn't
+     * indexed.
+     */
+    void reindex() {
+        checkIntegrity();
+        if (positions != null) {
+            positions.clear();
+            for (int i = 1; i <= numOfEntries; i++) {
+                indexEntry(array[i - 1], i);
+            }
+        }
+    }
+
+    /**
+     * Adds an index to the indices of an entry in the hash index.
+     *
+     * @param entry The entry (null entries are not indexed).
+     * @param index The index it is at.
+     */
+    private void indexEntry(T entry, int index) {
+        if (entry != null) {
+            positions.computeIfAbsent(entry, key -> new Positions()).add(index);
+        }
+    }
+
+    /**
+     * Removes an index from the indices of an entry in the hash index.
+     *
+     * @param entry The entry (null entries are not indexed).
+     * @param index The index it was at.
+     */
+    private void unindexEntry(T entry, int index) {
+        if (entry == null) {
+            return;
+        }
+        Positions found = positions.get(entry);
+        found.remove(index);
+        if (found.size == 0) {
+            positions.remove(entry);
+        }
+    }
+
+    /**
+     * Reindexes every entry at and after an index, after they moved.
+     *
+     * Every stale index is dropped first (one pass over the different entries),
+     * then the entries are indexed at their new indices.
+     *
+     * @param from The first index whose entry may have moved.
+     */
+    private void reindexFrom(int from) {
+        for (Iterator<Positions> it = positions.values().iterator(); it.hasNext();) {
+            Positions found = it.next();
+            found.dropFrom(from);
+            if (found.size == 0) {
+                it.remove();
+            }
+        }
+        for (int i = from; i <= numOfEntries; i++) {
+            indexEntry(array[i - 1], i);
+        }
+    }
+
     /**
      * Gets the capacity of this list.
      * This is just this.array.length.
@@ -534,6 +972,30 @@ public class ResizeableList<T> implements ListInterface<T> {
         return array;
     }
 
+    /**
+     * Copies the entries of the list, in order, into an array of the type of the
+     * destination.
+     *
+     * Unlike getArray(), the array holds exactly the entries (or the destination
+     * is followed by a null), and changes to it are not reflected in the list.
+     *
+     * @param destination The array the entries are copied into, if they fit.
+     * @return An array of the entries of the list.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T[] toArray(T[] destination) {
+        checkIntegrity();
+        if (destination.length < numOfEntries) {
+            return (T[]) Arrays.copyOf(array, numOfEntries, destination.getClass());
+        }
+        System.arraycopy(array, 0, destination, 0, numOfEntries);
+        if (destination.length > numOfEntries) {
+            destination[numOfEntries] = null;
+        }
+        return destination;
+    }
+
     /**
      * Returns a readable String representation of a ResizeableList object.
      *
@@ -575,6 +1037,7 @@ public class ResizeableList<T> implements ListInterface<T> {
      * Returns a preview of the first 10 items of the list
      * @return The string preview of the list
      */
+    @Override
     public String preview(){
         checkIntegrity();
 
@@ -587,4 +1050,74 @@ public class ResizeableList<T> implements ListInterface<T> {
 
         return output;
     }
+
+    /**
+     * The indices an entry is at in an indexed list, in no particular order.
+     */
+    private static final class Positions {
+
+        /**
+         * The indices. Only the first size are used.
+         */
+        private int[] indices = new int[1];
+
+        /**
+         * The number of indices.
+         */
+        private int size;
+
+        /**
+         * Adds an index.
+         *
+         * @param index The index.
+         */
+        void add(int index) {
+            if (size == indices.length) {
+                indices = Arrays.copyOf(indices, size * 2);
+            }
+            indices[size++] = index;
+        }
+
+        /**
+         * Removes an index, moving the last index into its place.
+         *
+         * @param index The index.
+         */
+        void remove(int index) {
+            for (int i = 0; i < size; i++) {
+                if (indices[i] == index) {
+                    indices[i] = indices[--size];
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Removes every index at or after a given index.
+         *
+         * @param from The first index to remove.
+         */
+        void dropFrom(int from) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (indices[i] < from) {
+                    indices[kept++] = indices[i];
+                }
+            }
+            size = kept;
+        }
+
+        /**
+         * Gets the smallest index.
+         *
+         * @return The smallest index.
+         */
+        int first() {
+            int first = indices[0];
+            for (int i = 1; i < size; i++) {
+                first = Math.min(first, indices[i]);
+            }
+            return first;
+        }
+    }
 }
@@ -0,0 +1,871 @@
+package src;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * The SegmentedList class, a large-capacity implementation of the ListInterface
+ * interface.
+ *
+ * A ResizeableList keeps all of its entries in one array, so it is capped at
+ * ResizeableList.MAX_CAPACITY entries and every resize copies the whole array.
+ * A SegmentedList instead keeps its entries in fixed-size segments that are
+ * allocated as the list grows. Growing only allocates a new segment (and, once
+ * in a while, doubles the small directory of segment references), so no entry
+ * is ever copied and no single huge allocation is ever needed. Getting,
+ * setting, and swapping stay O(1): an index is split into a segment number and
+ * an offset with a shift and a mask.
+ *
+ * Like the ResizeableList, the index of a SegmentedList object starts at 1.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class SegmentedList<T> implements ListInterface<T> {
+
+    /**
+     * The number of bits of an (0-based) index that select the position inside a segment.
+     */
+    private static final int SEGMENT_SHIFT = 14;
+
+    /**
+     * The number of entries in each segment (16,384).
+     */
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+
+    /**
+     * The mask that selects the position inside a segment.
+     */
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /**
+     * A static final field denoting the maximum capacity of any list.
+     *
+     * This is the largest number of entries an int index can address.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * The directory of segments. Segments past numOfSegments are null.
+     */
+    private Object[][] segments;
+
+    /**
+     * The number of segments that have been allocated.
+     */
+    private int numOfSegments;
+
+    /**
+     * A field denoting the number of entries in our list.
+     */
+    private int numOfEntries;
+
+    /**
+     * A boolean denoting whether or not the constructor was called properly.
+     */
+    private boolean integrityOk = false;
+
+    /**
+     * The metrics of the heap this list belongs to, or null if it has none (see
+     * HeapMetrics).
+     */
+    private HeapMetrics metrics;
+
+    /**
+     * If the list releases its unused segments once it drains (see
+     * GrowthPolicy).
+     */
+    private boolean shrinking;
+
+    /**
+     * The number of segments the list was created with. It never releases
+     * segments below it on its own.
+     */
+    private int minSegments;
+
+    /**
+     * The default constructor.
+     *
+     * Creates a SegmentedList with room for one segment.
+     */
+    public SegmentedList() {
+        this(SEGMENT_SIZE);
+    }
+
+    /**
+     * The main constructor of our SegmentedList.
+     *
+     * Creates a SegmentedList with enough segments for the given capacity.
+     *
+     * @param capacity The capacity we want the list to have.
+     */
+    public SegmentedList(int capacity) {
+        // Check that the capacity is within bounds
+        checkCapacity(capacity);
+
+        // Allocate just enough segments for the capacity
+        int neededSegments = (int) (((long) capacity + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        this.segments = new Object[neededSegments][];
+        for (int i = 0; i < neededSegments; i++) {
+            segments[i] = new Object[SEGMENT_SIZE];
+        }
+        this.numOfSegments = neededSegments;
+        this.minSegments = neededSegments;
+
+        this.numOfEntries = 0;
+        this.integrityOk = true;
+    }
+
+    /**
+     * Throws an error if the capacity of the list is too large or too small.
+     *
+     * @throws IllegalArgumentException if the capacity is greater than the maximum
+     *                                  or less than 1.
+     * @param capacity The capacity we are checking.
+     */
+    private void checkCapacity(int capacity) {
+        // Default the error message and then append either "large" or "small"
+        String errorMessage = "Attempted to create a list with a capacity (" + capacity + ") which is too ";
+        // If it is too large
+        if (capacity > MAX_CAPACITY) {
+            errorMessage += "large";
+            throw new IllegalArgumentException(errorMessage);
+        }
+        // If it is too small
+        if (capacity < 1) {
+            errorMessage += "small";
+            throw new IllegalArgumentException(errorMessage);
+        }
+    }
+
+    /**
+     * Allocates segments until a provided (1-based) index fits in the list.
+     *
+     * @param index The index we are making room for.
+     */
+    private void ensureCapacity(int index) {
+        if (index > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Attempted to grow a list past its maximum capacity ("
+                    + MAX_CAPACITY + ")");
+        }
+
+        // While the index is past the last segment, add a segment
+        while (index > (long) numOfSegments << SEGMENT_SHIFT) {
+            addSegment();
+        }
+    }
+
+    /**
+     * Allocates one more segment, doubling the directory of segments if it is full.
+     *
+     * Only the directory (one reference per segment) is ever copied, never the entries.
+     */
+    private void addSegment() {
+        if (numOfSegments == segments.length) {
+            Object[][] newSegments = new Object[segments.length * 2][];
+            System.arraycopy(segments, 0, newSegments, 0, numOfSegments);
+            segments = newSegments;
+            if (metrics != null) {
+                metrics.recordResize(numOfSegments);
+            }
+        } else if (metrics != null) {
+            metrics.recordResize(0);
+        }
+        segments[numOfSegments++] = new Object[SEGMENT_SIZE];
+    }
+
+    /**
+     * Releases the unused segments if the list shrinks and has drained enough.
+     *
+     * This follows the same rule as GrowthPolicy: once the entries fit in a
+     * SHRINK_DIVISOR-th of the segments, the list keeps twice the segments they
+     * need, so it doesn't release and allocate segments back and forth.
+     */
+    private void shrinkIfSparse() {
+        if (!shrinking || numOfSegments <= minSegments) {
+            return;
+        }
+        int neededSegments = (int) Math.max(1, ((long) numOfEntries + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        if (neededSegments <= numOfSegments / GrowthPolicy.SHRINK_DIVISOR) {
+            releaseSegments(Math.max(minSegments, neededSegments * 2));
+        }
+    }
+
+    /**
+     * Releases every segment past the first count segments. No entry is copied.
+     *
+     * @param count The number of segments to keep.
+     */
+    private void releaseSegments(int count) {
+        for (int i = count; i < numOfSegments; i++) {
+            segments[i] = null;
+        }
+        numOfSegments = count;
+        if (metrics != null) {
+            metrics.recordResize(0);
+        }
+    }
+
+    /**
+     * Releases every segment the entries don't use, to give back the memory a
+     * burst left unused. The list keeps at least one segment.
+     */
+    public void trimToSize() {
+        checkIntegrity();
+        int neededSegments = (int) Math.max(1, ((long) numOfEntries + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        if (neededSegments < numOfSegments) {
+            releaseSegments(neededSegments);
+        }
+    }
+
+    /**
+     * Sets if the list releases its unused segments once it drains. Segments
+     * have a fixed size, so this is the only part of a GrowthPolicy that applies
+     * to a SegmentedList.
+     *
+     * @param shrinking true to release them, false to keep them.
+     */
+    public void setShrinking(boolean shrinking) {
+        checkIntegrity();
+        this.shrinking = shrinking;
+    }
+
+    /**
+     * Sets the metrics the growth of this list is recorded in.
+     *
+     * This is package-private so only the heaps can attach their metrics.
+     *
+     * @param metrics The metrics, or null to stop recording.
+     */
+    void setMetrics(HeapMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Reads the entry at a 0-based position without any checks.
+     *
+     * This is package-private so the heap sift engine can skip the checks of get(int).
+     *
+     * @param position The 0-based position of the entry.
+     * @return The entry at the position.
+     */
+    @SuppressWarnings("unchecked")
+    T elementAt(int position) {
+        return (T) segments[position >>> SEGMENT_SHIFT][position & SEGMENT_MASK];
+    }
+
+    /**
+     * Writes the entry at a 0-based position without any checks.
+     *
+     * This is package-private so the heap sift engine can skip the checks of set(int, T).
+     *
+     * @param position The 0-based position of the entry.
+     * @param entry    The entry to write.
+     */
+    void setElementAt(int position, T entry) {
+        segments[position >>> SEGMENT_SHIFT][position & SEGMENT_MASK] = entry;
+    }
+
+    /**
+     * Moves a block of entries to another 0-based position of the list, like
+     * System.arraycopy does inside one array (the two blocks may overlap).
+     *
+     * The block is copied one piece at a time, each piece staying inside one
+     * source segment and one destination segment, so every piece is a single
+     * System.arraycopy.
+     *
+     * @param from   The 0-based position of the first entry of the block.
+     * @param to     The 0-based position the first entry moves to.
+     * @param length The number of entries.
+     */
+    private void moveBlock(int from, int to, int length) {
+        if (to < from) {
+            // Moving forward: copy from the first piece to the last
+            while (length > 0) {
+                int piece = Math.min(length,
+                        Math.min(SEGMENT_SIZE - (from & SEGMENT_MASK), SEGMENT_SIZE - (to & SEGMENT_MASK)));
+                System.arraycopy(segments[from >>> SEGMENT_SHIFT], from & SEGMENT_MASK,
+                        segments[to >>> SEGMENT_SHIFT], to & SEGMENT_MASK, piece);
+                from += piece;
+                to += piece;
+                length -= piece;
+            }
+        } else if (to > from) {
+            // Moving back: copy from the last piece to the first, so no entry is
+            // overwritten before it moves
+            int fromEnd = from + length;
+            int toEnd = to + length;
+            while (length > 0) {
+                int piece = Math.min(length,
+                        Math.min(((fromEnd - 1) & SEGMENT_MASK) + 1, ((toEnd - 1) & SEGMENT_MASK) + 1));
+                fromEnd -= piece;
+                toEnd -= piece;
+                System.arraycopy(segments[fromEnd >>> SEGMENT_SHIFT], fromEnd & SEGMENT_MASK,
+                        segments[toEnd >>> SEGMENT_SHIFT], toEnd & SEGMENT_MASK, piece);
+                length -= piece;
+            }
+        }
+    }
+
+    /**
+     * Copies entries from an array into the list, one segment at a time.
+     *
+     * @param source    The array of the entries.
+     * @param sourcePos The position of the first entry in the array.
+     * @param to        The 0-based position of the list the first entry goes to.
+     * @param length    The number of entries.
+     */
+    private void copyIn(Object[] source, int sourcePos, int to, int length) {
+        while (length > 0) {
+            int piece = Math.min(length, SEGMENT_SIZE - (to & SEGMENT_MASK));
+            System.arraycopy(source, sourcePos, segments[to >>> SEGMENT_SHIFT], to & SEGMENT_MASK, piece);
+            sourcePos += piece;
+            to += piece;
+            length -= piece;
+        }
+    }
+
+    /**
+     * Copies entries from the list into an array, one segment at a time.
+     *
+     * @param from            The 0-based position of the first entry of the list.
+     * @param destination     The array the entries are copied into.
+     * @param destinationPos  The position of the array the first entry goes to.
+     * @param length          The number of entries.
+     */
+    private void copyOut(int from, Object[] destination, int destinationPos, int length) {
+        while (length > 0) {
+            int piece = Math.min(length, SEGMENT_SIZE - (from & SEGMENT_MASK));
+            System.arraycopy(segments[from >>> SEGMENT_SHIFT], from & SEGMENT_MASK, destination, destinationPos,
+                    piece);
+            from += piece;
+            destinationPos += piece;
+            length -= piece;
+        }
+    }
+
+    /**
+     * Sets every entry between two 0-based positions to null, one segment at a
+     * time, so the entries can be garbage collected.
+     *
+     * @param from The first position (included).
+     * @param to   The last position (excluded).
+     */
+    private void clearBlock(int from, int to) {
+        while (from < to) {
+            int piece = Math.min(to - from, SEGMENT_SIZE - (from & SEGMENT_MASK));
+            Arrays.fill(segments[from >>> SEGMENT_SHIFT], from & SEGMENT_MASK, (from & SEGMENT_MASK) + piece, null);
+            from += piece;
+        }
+    }
+
+    /**
+     * Checks the integrity of the SegmentedList to make sure the constructor was
+     * called.
+     *
+     * @throws SecurityException if the list object was corrupted in some way or the
+     *                           constructor wasn't run properly.
+     */
+    private void checkIntegrity() {
+        if (!integrityOk) {
+            throw new SecurityException("SegmentedList object is corrupt or was not initialized properly.");
+        }
+    }
+
+    /**
+     * Checks if a provided index is within the range of the list [1-numOfEntries]
+     *
+     * @throws IndexOutOfBoundsException if the index is not in the range
+     *                                   [1-numOfEntries]
+     * @param index The index we are checking.
+     */
+    private void checkIndexInRange(int index) {
+        if (index < 1 || index > numOfEntries) {
+            throw new IndexOutOfBoundsException("The index provided (" +
+                    index + ") does not fall within " +
+                    "the range of the list [1-" +
+                    numOfEntries + "].");
+        }
+    }
+
+    /**
+     * Adds an entry to the list given an index such that list[index] == entry.
+     *
+     * This follows the same rules as ResizeableList.add(int, T): entries at and
+     * after the index are moved forward, and adding past the end of the list
+     * grows the number of entries by index - numOfEntries.
+     *
+     * @param index The index we want to add the entry to.
+     * @param entry The element we want to add.
+     */
+    @Override
+    public void add(int index, T entry) {
+        // Make all our checks and ensure that we have the required capacity.
+        checkIntegrity();
+        if (index < 1) {
+            checkIndexInRange(index);
+        }
+        ensureCapacity(Math.max(index, numOfEntries + 1));
+
+        // If we are adding to anywhere other than the end of the list, we need to make
+        // room for the element
+        if (index <= numOfEntries) {
+            moveBlock(index - 1, index, numOfEntries - index + 1);
+        }
+
+        // Set the entry to the empty spot we made
+        setElementAt(index - 1, entry);
+
+        // Calculate the new number of entries
+        numOfEntries += Math.max(1, index - numOfEntries);
+    }
+
+    /**
+     * Adds an entry to the end of the list.
+     *
+     * @param entry The entry we want to add to the end of the list.
+     */
+    @Override
+    public void add(T entry) {
+        add(numOfEntries + 1, entry);
+    }
+
+    /**
+     * Adds every entry of an array to the end of the list, in order.
+     *
+     * @param entries The entries we want to add to the list.
+     */
+    @Override
+    public void addAll(T[] entries) {
+        checkIntegrity();
+        insertAll(numOfEntries + 1, entries);
+    }
+
+    /**
+     * Adds every entry of a Collection to the end of the list, in the order of
+     * its iterator.
+     *
+     * @param entries The entries we want to add to the list.
+     */
+    @Override
+    public void addAll(Collection<? extends T> entries) {
+        checkIntegrity();
+        insertAll(numOfEntries + 1, entries);
+    }
+
+    /**
+     * Inserts every entry of an array starting at an index, in order.
+     *
+     * This follows the same rules as ResizeableList.insertAll(int, T[]): the
+     * segments are allocated once, and the rest of the list is moved back in one
+     * block (one System.arraycopy per segment it spans).
+     *
+     * @param index   The index we want to add the first entry to.
+     * @param entries The entries we want to add to the list.
+     */
+    @Override
+    public void insertAll(int index, T[] entries) {
+        checkIntegrity();
+        if (index < 1) {
+            checkIndexInRange(index);
+        }
+        int count = entries.length;
+        if (count == 0) {
+            return;
+        }
+
+        // Allocate every segment the entries need at once
+        int before = Math.max(numOfEntries, index - 1);
+        ensureCapacity((int) Math.min((long) before + count, Integer.MAX_VALUE));
+
+        // Move the rest of the list back in one block, then copy the entries in
+        if (index <= numOfEntries) {
+            moveBlock(index - 1, index - 1 + count, numOfEntries - index + 1);
+        }
+        copyIn(entries, 0, index - 1, count);
+        numOfEntries = before + count;
+    }
+
+    /**
+     * Inserts every entry of a Collection starting at an index, in the order of
+     * its iterator. This works the same way as insertAll(int, T[]).
+     *
+     * @param index   The index we want to add the first entry to.
+     * @param entries The entries we want to add to the list.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void insertAll(int index, Collection<? extends T> entries) {
+        insertAll(index, (T[]) entries.toArray());
+    }
+
+    /**
+     * Removes every element from index from to index to (both included).
+     *
+     * This follows the same rules as ResizeableList.removeRange(int, int): the
+     * elements after them are moved forward in one block, and trailing "null"
+     * entries are dropped from the end of the list.
+     *
+     * @throws IndexOutOfBoundsException if the range doesn't fall within the
+     *                                   range of the list [1-numOfEntries].
+     * @param from The index of the first element we want to remove.
+     * @param to   The index of the last element we want to remove (from - 1
+     *             removes nothing).
+     */
+    @Override
+    public void removeRange(int from, int to) {
+        checkIntegrity();
+        if (from < 1 || to > numOfEntries || to < from - 1) {
+            throw new IndexOutOfBoundsException("The range provided [" + from + "-" + to
+                    + "] does not fall within the range of the list [1-" + numOfEntries + "].");
+        }
+        int count = to - from + 1;
+        if (count == 0) {
+            return;
+        }
+
+        // Move the rest of the list forward in one block, and clear the freed slots
+        moveBlock(to, from - 1, numOfEntries - to);
+        clearBlock(numOfEntries - count, numOfEntries);
+        numOfEntries -= count;
+
+        // We also remove an entry for every trailing null
+        for (; numOfEntries != 0 && elementAt(numOfEntries - 1) == null; numOfEntries--)
+            ;
+        shrinkIfSparse();
+    }
+
+    /**
+     * Removes an element from the list given an index.
+     *
+     * Entries after the index are moved back, and trailing "null" entries are
+     * dropped from the end of the list, like ResizeableList.remove(int).
+     *
+     * @param index The index of the element we want to remove.
+     * @return The removed element.
+     */
+    @Override
+    public T remove(int index) {
+        // Sanitize input
+        checkIntegrity();
+        checkIndexInRange(index);
+
+        // Store the element we remove and close the gap
+        T removed = elementAt(index - 1);
+        moveBlock(index, index - 1, numOfEntries - index);
+        setElementAt(numOfEntries - 1, null);
+
+        // We are definitely removing one entry
+        numOfEntries--;
+        // We also remove an entry for every trailing null
+        for (; numOfEntries != 0 && elementAt(numOfEntries - 1) == null; numOfEntries--)
+            ;
+        shrinkIfSparse();
+
+        return removed;
+    }
+
+    /**
+     * Drops every entry after the first count entries at once.
+     *
+     * This is package-private so the heaps can shrink by many entries without
+     * removing them one at a time (a heap never needs the entries shifted or the
+     * trailing nulls dropped).
+     *
+     * @param count The number of entries to keep.
+     */
+    void truncate(int count) {
+        checkIntegrity();
+        if (count < 0 || count > numOfEntries) {
+            throw new IndexOutOfBoundsException("The count provided (" + count
+                    + ") does not fall within the range of the list [0-" + numOfEntries + "].");
+        }
+
+        // Clear the dropped slots so the entries can be garbage collected
+        clearBlock(count, numOfEntries);
+        numOfEntries = count;
+        shrinkIfSparse();
+    }
+
+    /**
+     * Removes the last element from the list.
+     *
+     * @return The last element from the list (the removed element).
+     */
+    @Override
+    public T remove() {
+        checkIntegrity();
+        return remove(numOfEntries);
+    }
+
+    /**
+     * Sets an element at a specified index to the entry.
+     *
+     * @param index The index of the element we want to replace.
+     * @param entry The entry we want to replace the element with.
+     * @return The element we 'removed' from the list
+     */
+    @Override
+    public T set(int index, T entry) {
+        // Sanitize input
+        checkIntegrity();
+        checkIndexInRange(index);
+
+        T removed = elementAt(index - 1);
+        setElementAt(index - 1, entry);
+        return removed;
+    }
+
+    /**
+     * Retrieves an element from the list given its index.
+     *
+     * @param index The index of the element we want to get.
+     * @return The element we got from the list.
+     */
+    @Override
+    public T get(int index) {
+        // Sanitize input
+        checkIntegrity();
+        checkIndexInRange(index);
+
+        return elementAt(index - 1);
+    }
+
+    /**
+     * Swaps two elements in the list given two indicies.
+     *
+     * @param firstIndex  The index of the first element we're swapping
+     * @param secondIndex The index of the second element we're swapping
+     */
+    @Override
+    public void swap(int firstIndex, int secondIndex) {
+        // Sanitize input
+        checkIntegrity();
+        checkIndexInRange(firstIndex);
+        checkIndexInRange(secondIndex);
+
+        T tempEntry = elementAt(firstIndex - 1);
+        setElementAt(firstIndex - 1, elementAt(secondIndex - 1));
+        setElementAt(secondIndex - 1, tempEntry);
+    }
+
+    /**
+     * Counts how many times a specified entry occurs in the list.
+     *
+     * @param entry The entry we are scanning for.
+     * @return The number of times the element is present.
+     */
+    @Override
+    public int getFreqOf(T entry) {
+        checkIntegrity();
+
+        int count = 0;
+        for (int i = 0; i < numOfEntries; i++) {
+            T element = elementAt(i);
+            // Skip null entries
+            if (element != null && element.equals(entry)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Checks if an element is present in the list.
+     *
+     * @param entry The entry we are scanning for.
+     * @return true if the element is in the list, false if it isn't.
+     */
+    @Override
+    public boolean contains(T entry) {
+        checkIntegrity();
+        return getIndexOf(entry) > -1;
+    }
+
+    /**
+     * Gets the index of a specified entry.
+     *
+     * @param entry The entry we are scanning for.
+     * @return The index of the entry, -1 if it is not in the list.
+     */
+    @Override
+    public int getIndexOf(T entry) {
+        checkIntegrity();
+
+        for (int i = 0; i < numOfEntries; i++) {
+            T element = elementAt(i);
+            // Skip null entries
+            if (element != null && element.equals(entry)) {
+                // Return its index (which starts at 1)
+                return i + 1;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the capacity of this list.
+     * This is the number of allocated segments times the segment size.
+     *
+     * @return The capacity of the list.
+     */
+    @Override
+    public int getCapacity() {
+        checkIntegrity();
+        return (int) Math.min((long) numOfSegments << SEGMENT_SHIFT, MAX_CAPACITY);
+    }
+
+    /**
+     * Gets the number of entries of the list.
+     *
+     * @return The number of entries of the list.
+     */
+    @Override
+    public int getNumEntries() {
+        checkIntegrity();
+        return numOfEntries;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return true if the list is empty, false if it isn't.
+     */
+    @Override
+    public boolean isEmpty() {
+        checkIntegrity();
+        return numOfEntries == 0;
+    }
+
+    /**
+     * Checks if the list is full, using the same rule as ResizeableList.isFull().
+     *
+     * @return true if the list is full, false if it isn't
+     */
+    @Override
+    public boolean isFull() {
+        checkIntegrity();
+        return numOfEntries >= getCapacity() - 1;
+    }
+
+    /**
+     * Clears a list of all its entries.
+     *
+     * Every segment but the first is released so the memory can be reclaimed.
+     */
+    @Override
+    public void clear() {
+        checkIntegrity();
+
+        // Drop every segment but the first
+        for (int i = 1; i < numOfSegments; i++) {
+            segments[i] = null;
+        }
+        numOfSegments = Math.min(numOfSegments, 1);
+
+        // Null out the entries left in the first segment
+        if (numOfSegments == 1) {
+            Arrays.fill(segments[0], 0, Math.min(numOfEntries, SEGMENT_SIZE), null);
+        }
+        numOfEntries = 0;
+    }
+
+    /**
+     * Copies the entries of the list into a pure Java Array.
+     *
+     * Unlike ResizeableList.getArray(), there is no single backing array to
+     * return, so changes to the returned array are not reflected in the list.
+     *
+     * @return A generic-type array of the elements in the list
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T[] getArray() {
+        checkIntegrity();
+
+        T[] array = (T[]) new Object[numOfEntries];
+        copyOut(0, array, 0, numOfEntries);
+        return array;
+    }
+
+    /**
+     * Copies the entries of the list, in order, into an array of the type of the
+     * destination, one segment at a time.
+     *
+     * @param destination The array the entries are copied into, if they fit.
+     * @return An array of the entries of the list.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T[] toArray(T[] destination) {
+        checkIntegrity();
+        if (destination.length < numOfEntries) {
+            destination = (T[]) Array.newInstance(destination.getClass().getComponentType(), numOfEntries);
+        }
+        copyOut(0, destination, 0, numOfEntries);
+        if (destination.length > numOfEntries) {
+            destination[numOfEntries] = null;
+        }
+        return destination;
+    }
+
+    /**
+     * Returns a readable String representation of a SegmentedList object.
+     *
+     * The String follows the same format as ResizeableList.toString().
+     *
+     * @return The String representation of the SegmentedList object
+     */
+    @Override
+    public String toString() {
+        checkIntegrity();
+
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 0; i < numOfEntries; i++) {
+            output.append(elementAt(i));
+            if (i < numOfEntries - 1) {
+                output.append(", ");
+            }
+        }
+        output.append("]");
+
+        output.append("\nCapacity: ").append(getCapacity());
+        output.append("\nNumEntries: ").append(numOfEntries);
+
+        return output.toString();
+    }
+
+    /**
+     * Gets the total number of entries in this SegmentedList
+     *
+     * @return The numOfEntries instance field.
+     */
+    @Override
+    public int count() {
+        return numOfEntries;
+    }
+
+    /**
+     * Returns a preview of the first 10 items of the list
+     *
+     * @return The string preview of the list
+     */
+    @Override
+    public String preview() {
+        checkIntegrity();
+
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 0; i < numOfEntries - 1 && i < 10; i++) {
+            output.append(elementAt(i)).append(", ");
+        }
+
+        output.append("...]");
+
+        return output.toString();
+    }
+}
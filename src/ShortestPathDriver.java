@@ -0,0 +1,174 @@
+package src;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * The ShortestPathDriver class that runs Dijkstra's shortest path algorithm
+ * with an IndexedMaxHeap.
+ *
+ * Every vertex is added to the heap once. When a shorter path to a vertex is
+ * found, its distance is changed and the heap moves it up with increaseKey
+ * (the heap keeps the closest vertex at the top, so a shorter distance is a
+ * higher priority). The distances are checked against the usual version that
+ * adds a vertex to a PriorityQueue again for every shorter path, and skips the
+ * stale copies when they come out.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class ShortestPathDriver {
+
+    /**
+     * The number of vertices of the random graph.
+     */
+    private static final int VERTICES = 200_000;
+
+    /**
+     * The number of edges leaving every vertex.
+     */
+    private static final int EDGES_PER_VERTEX = 8;
+
+    /**
+     * The largest weight of an edge.
+     */
+    private static final int MAX_WEIGHT = 1000;
+
+    /**
+     * A vertex, and the shortest distance found to it so far. Its equals and
+     * hashCode are the ones of Object, so they don't depend on the distance.
+     */
+    private static final class Vertex {
+
+        /**
+         * The number of the vertex.
+         */
+        private final int id;
+
+        /**
+         * The shortest distance found to the vertex so far.
+         */
+        private long distance = Long.MAX_VALUE;
+
+        /**
+         * Initialize a vertex.
+         *
+         * @param id the number of the vertex.
+         */
+        private Vertex(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Runs both versions on a random graph and prints the times and the check.
+     *
+     * @param args The basic String[] args for any main method in Java.
+     */
+    public static void main(String[] args) {
+        // Every vertex has EDGES_PER_VERTEX edges to random vertices
+        Random random = new Random();
+        int[] targets = new int[VERTICES * EDGES_PER_VERTEX];
+        int[] weights = new int[VERTICES * EDGES_PER_VERTEX];
+        for (int e = 0; e < targets.length; e++) {
+            targets[e] = random.nextInt(VERTICES);
+            weights[e] = 1 + random.nextInt(MAX_WEIGHT);
+        }
+
+        System.out.println("*** SHORTEST PATH TEST (" + VERTICES + " vertices, " + targets.length + " edges) ***");
+
+        long start = System.nanoTime();
+        IndexedMaxHeap<Vertex> heap = new IndexedMaxHeap<>(VERTICES,
+                Comparator.comparingLong((Vertex vertex) -> vertex.distance).reversed());
+        long[] indexed = indexedDijkstra(targets, weights, heap);
+        System.out.printf("IndexedMaxHeap:        %8.1f ms (%d swaps)%n", (System.nanoTime() - start) / 1e6,
+                heap.getNumSwaps());
+
+        start = System.nanoTime();
+        long[] lazy = lazyDijkstra(targets, weights);
+        System.out.printf("PriorityQueue (lazy):  %8.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        System.out.println("Distances match: " + (Arrays.equals(indexed, lazy) ? "PASSED" : "FAILED"));
+    }
+
+    /**
+     * Finds the shortest distance from vertex 0 to every vertex, with an
+     * IndexedMaxHeap.
+     *
+     * @param targets the target of every edge, EDGES_PER_VERTEX per vertex.
+     * @param weights the weight of every edge.
+     * @param heap    an empty heap that keeps the closest vertex at the top.
+     * @return the distance of every vertex, Long.MAX_VALUE if it can't be
+     *         reached.
+     */
+    private static long[] indexedDijkstra(int[] targets, int[] weights, IndexedMaxHeap<Vertex> heap) {
+        Vertex[] vertices = new Vertex[VERTICES];
+        for (int v = 0; v < VERTICES; v++) {
+            vertices[v] = new Vertex(v);
+        }
+        vertices[0].distance = 0;
+        heap.add(vertices[0]);
+
+        long[] distances = new long[VERTICES];
+        Arrays.fill(distances, Long.MAX_VALUE);
+        while (!heap.isEmpty()) {
+            Vertex closest = heap.remove();
+            distances[closest.id] = closest.distance;
+
+            for (int e = closest.id * EDGES_PER_VERTEX; e < (closest.id + 1) * EDGES_PER_VERTEX; e++) {
+                Vertex target = vertices[targets[e]];
+                long distance = closest.distance + weights[e];
+                if (distance >= target.distance) {
+                    continue;
+                }
+
+                // A shorter distance is a higher priority
+                target.distance = distance;
+                if (heap.contains(target)) {
+                    heap.increaseKey(target);
+                } else {
+                    heap.add(target);
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Finds the shortest distance from vertex 0 to every vertex, with a
+     * PriorityQueue that may hold several copies of a vertex.
+     *
+     * @param targets the target of every edge, EDGES_PER_VERTEX per vertex.
+     * @param weights the weight of every edge.
+     * @return the distance of every vertex, Long.MAX_VALUE if it can't be
+     *         reached.
+     */
+    private static long[] lazyDijkstra(int[] targets, int[] weights) {
+        long[] distances = new long[VERTICES];
+        Arrays.fill(distances, Long.MAX_VALUE);
+        boolean[] done = new boolean[VERTICES];
+
+        // Each element is {distance, vertex}
+        PriorityQueue<long[]> queue = new PriorityQueue<>(Comparator.comparingLong((long[] element) -> element[0]));
+        distances[0] = 0;
+        queue.add(new long[] { 0, 0 });
+        while (!queue.isEmpty()) {
+            int vertex = (int) queue.remove()[1];
+            if (done[vertex]) {
+                continue;
+            }
+            done[vertex] = true;
+
+            for (int e = vertex * EDGES_PER_VERTEX; e < (vertex + 1) * EDGES_PER_VERTEX; e++) {
+                long distance = distances[vertex] + weights[e];
+                if (distance < distances[targets[e]]) {
+                    distances[targets[e]] = distance;
+                    queue.add(new long[] { distance, targets[e] });
+                }
+            }
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,146 @@
+package src;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The SortDriver class that compares the HeapSort class with Arrays.sort and
+ * Arrays.parallelSort.
+ *
+ * For each size, every sort runs on a copy of the same random array, both as
+ * an int[] and as an Integer[], and the result is checked against
+ * Arrays.sort. The parallel heapsort runs on a pool of at least
+ * MIN_POOL_THREADS threads, so it splits the array and merges the partitions
+ * even on a machine with a single processor.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class SortDriver {
+
+    /**
+     * The sizes of the arrays we sort.
+     */
+    private static final int[] SIZES = { 100_000, 1_000_000, 4_000_000 };
+
+    /**
+     * The number of times each sort runs (the first runs warm up the JIT, the
+     * fastest run is reported).
+     */
+    private static final int RUNS = 3;
+
+    /**
+     * The smallest number of threads of the pool of the parallel heapsort.
+     */
+    private static final int MIN_POOL_THREADS = 4;
+
+    /**
+     * Runs every sort for every size and prints the times and the checks.
+     *
+     * @param args The basic String[] args for any main method in Java.
+     */
+    public static void main(String[] args) {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(MIN_POOL_THREADS, Runtime.getRuntime().availableProcessors()));
+        try {
+            System.out.println("*** SORT TEST (" + pool.getParallelism() + " pool threads) ***");
+            System.out.printf("%-8s %10s %12s %16s %12s %20s %8s%n", "type", "entries", "heapsort ms",
+                    "par heapsort ms", "Arrays ms", "Arrays parallel ms", "checks");
+
+            Random random = new Random();
+            for (int size : SIZES) {
+                int[] values = random.ints(size).toArray();
+                int[] expected = values.clone();
+                Arrays.sort(expected);
+
+                // Primitive ints
+                boolean passed = true;
+                long[] nanos = new long[4];
+                Arrays.fill(nanos, Long.MAX_VALUE);
+                for (int run = 0; run < RUNS; run++) {
+                    int[][] copies = { values.clone(), values.clone(), values.clone(), values.clone() };
+                    nanos[0] = Math.min(nanos[0], time(() -> HeapSort.sort(copies[0])));
+                    nanos[1] = Math.min(nanos[1], time(() -> HeapSort.parallelSort(copies[1], pool)));
+                    nanos[2] = Math.min(nanos[2], time(() -> Arrays.sort(copies[2])));
+                    nanos[3] = Math.min(nanos[3], time(() -> Arrays.parallelSort(copies[3])));
+                    for (int[] copy : copies) {
+                        passed &= Arrays.equals(copy, expected);
+                    }
+                }
+                print("int", size, nanos, passed);
+
+                // Boxed Integers
+                Integer[] boxed = Arrays.stream(values).boxed().toArray(Integer[]::new);
+                passed = true;
+                Arrays.fill(nanos, Long.MAX_VALUE);
+                for (int run = 0; run < RUNS; run++) {
+                    Integer[][] copies = { boxed.clone(), boxed.clone(), boxed.clone(), boxed.clone() };
+                    nanos[0] = Math.min(nanos[0], time(() -> HeapSort.sort(copies[0])));
+                    nanos[1] = Math.min(nanos[1],
+                            time(() -> HeapSort.parallelSort(copies[1], Integer::compare, pool)));
+                    nanos[2] = Math.min(nanos[2], time(() -> Arrays.sort(copies[2])));
+                    nanos[3] = Math.min(nanos[3], time(() -> Arrays.parallelSort(copies[3])));
+                    for (Integer[] copy : copies) {
+                        for (int i = 0; i < size; i++) {
+                            passed &= copy[i] == expected[i];
+                        }
+                    }
+                }
+                print("Integer", size, nanos, passed);
+            }
+
+            // A ResizeableList is sorted inside its own backing array
+            ResizeableList<Integer> list = new ResizeableList<>(1000);
+            for (int i = 0; i < 1000; i++) {
+                list.add(random.nextInt(100));
+            }
+            HeapSort.sort(list);
+            boolean sorted = true;
+            for (int i = 2; i <= list.getNumEntries(); i++) {
+                sorted &= list.get(i - 1) <= list.get(i);
+            }
+            System.out.println("ResizeableList of 1000 entries sorted: " + (sorted ? "PASSED" : "FAILED"));
+
+            // Sorting an indexed list must keep its index in step with the array
+            ResizeableList<Integer> indexed = new ResizeableList<>(1000);
+            indexed.setIndexed(true);
+            for (int i = 0; i < 1000; i++) {
+                indexed.add(random.nextInt(100));
+            }
+            HeapSort.sort(indexed);
+            boolean found = true;
+            for (int i = 1; i <= indexed.getNumEntries(); i++) {
+                found &= indexed.get(indexed.getIndexOf(indexed.get(i))).equals(indexed.get(i))
+                        && (i == 1 || indexed.get(i - 1) <= indexed.get(i));
+            }
+            System.out.println("Indexed ResizeableList of 1000 entries sorted: " + (found ? "PASSED" : "FAILED"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Times a sort.
+     *
+     * @param sort the sort to run.
+     * @return the time it took, in nanoseconds.
+     */
+    private static long time(Runnable sort) {
+        long start = System.nanoTime();
+        sort.run();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Prints a row of the table.
+     *
+     * @param type   the type of the entries.
+     * @param size   the number of entries.
+     * @param nanos  the time of every sort, in nanoseconds.
+     * @param passed if every sort gave the right result.
+     */
+    private static void print(String type, int size, long[] nanos, boolean passed) {
+        System.out.printf("%-8s %10d %12.1f %16.1f %12.1f %20.1f %8s%n", type, size, nanos[0] / 1e6, nanos[1] / 1e6,
+                nanos[2] / 1e6, nanos[3] / 1e6, passed ? "PASSED" : "FAILED");
+    }
+}
@@ -0,0 +1,444 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * The TopK class, which keeps the K largest entries of a stream of any
+ * length.
+ *
+ * Putting every entry into a MaxHeap and removing K of them keeps the whole
+ * stream in memory. A TopK keeps a MinHeap of at most K entries instead: the
+ * top of the MinHeap is the smallest entry we kept, so a new entry is either
+ * smaller and thrown away after one comparison, or it takes the place of that
+ * smallest entry with one replaceTop. Each entry costs at most O(log(K)), and
+ * the memory stays at K entries no matter how long the stream is.
+ *
+ * A TopK is not thread-safe. To use several threads, give each thread its own
+ * TopK and merge them at the end (the collector method does this for parallel
+ * streams). The static methods for int and long sources do the same work on
+ * primitive heaps, without boxing the values.
+ *
+ * Each method is documented separately.
+ *
+ * @author George Matta
+ * @version 1.0
+ */
+public class TopK<T> {
+
+    /**
+     * The largest initial capacity of the heap, so a huge K doesn't allocate
+     * memory before we have that many entries.
+     */
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    /**
+     * The number of entries we keep.
+     */
+    private final int k;
+
+    /**
+     * The order of the entries. The entries that compare greatest are kept.
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * The entries we kept, with the smallest at the top.
+     */
+    private final MinHeap<T> heap;
+
+    /**
+     * Initialize a TopK that keeps the K largest entries in their natural order.
+     *
+     * @param k the number of entries to keep.
+     */
+    public TopK(int k) {
+        this(k, AbstractHeap.naturalOrder());
+    }
+
+    /**
+     * Initialize a TopK that keeps the K entries that compare greatest under a
+     * Comparator.
+     *
+     * @param k          the number of entries to keep.
+     * @param comparator the order of the entries.
+     * @throws IllegalArgumentException if k is less than 1 or the comparator is
+     *                                  null.
+     */
+    public TopK(int k, Comparator<? super T> comparator) {
+        if (k < 1)
+            throw new IllegalArgumentException("Attempted to create a TopK with a k (" + k + ") which is too small");
+        if (comparator == null)
+            throw new IllegalArgumentException("Attempted to create a TopK without a comparator");
+
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new MinHeap<>(Math.min(k, MAX_INITIAL_CAPACITY), k >= ResizeableList.MAX_CAPACITY,
+                AbstractHeap.DEFAULT_ARITY, comparator);
+    }
+
+    /**
+     * Offers an entry. It is kept if we have fewer than K entries, or if it is
+     * larger than the smallest entry we kept (which is then thrown away).
+     *
+     * @param entry The entry
+     * @return true if the entry was kept, false if it was thrown away
+     */
+    public boolean offer(T entry) {
+        if (heap.getSize() < k) {
+            heap.add(entry);
+            return true;
+        }
+
+        // Ties keep the entry that came first
+        if (comparator.compare(entry, heap.getMin()) <= 0) {
+            return false;
+        }
+        heap.replaceTop(entry);
+        return true;
+    }
+
+    /**
+     * Offers every entry of an Iterator.
+     *
+     * @param entries The entries
+     */
+    public void offerAll(Iterator<? extends T> entries) {
+        while (entries.hasNext()) {
+            offer(entries.next());
+        }
+    }
+
+    /**
+     * Offers every entry of an Iterable (such as any Collection).
+     *
+     * @param entries The entries
+     */
+    public void offerAll(Iterable<? extends T> entries) {
+        offerAll(entries.iterator());
+    }
+
+    /**
+     * Offers every entry of a Stream, in order. For a parallel stream, collect it
+     * with the collector method instead.
+     *
+     * @param entries The entries
+     */
+    public void offerAll(Stream<? extends T> entries) {
+        entries.sequential().forEachOrdered(this::offer);
+    }
+
+    /**
+     * Merges the entries of another TopK into this one, for example the partial
+     * result of another thread. The other TopK is emptied.
+     *
+     * @param other The TopK to merge
+     */
+    public void merge(TopK<? extends T> other) {
+        while (!other.heap.isEmpty()) {
+            offer(other.heap.remove());
+        }
+    }
+
+    /**
+     * Gets the number of entries we keep.
+     *
+     * @return K
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Gets the number of entries we kept so far (K once we have seen K entries).
+     *
+     * @return The number of entries
+     */
+    public int getSize() {
+        return heap.getSize();
+    }
+
+    /**
+     * Gets the smallest entry we kept. Once we have K entries, any entry that
+     * isn't larger than it is thrown away.
+     *
+     * @return the smallest entry we kept, null if we haven't kept any.
+     */
+    public T getThreshold() {
+        return heap.getMin();
+    }
+
+    /**
+     * Gets the entries we kept, from the largest to the smallest. The TopK isn't
+     * modified.
+     *
+     * @return The entries, largest first
+     */
+    public List<T> toList() {
+        // Drain the heap (smallest first), then put everything back
+        List<T> entries = new ArrayList<>(heap.getSize());
+        while (!heap.isEmpty()) {
+            entries.add(heap.remove());
+        }
+        heap.addAll(entries);
+
+        Collections.reverse(entries);
+        return entries;
+    }
+
+    /**
+     * Gets a Collector that keeps the K largest entries of a Stream, in their
+     * natural order. It works with parallel streams, by merging the TopK of each
+     * part of the stream.
+     *
+     * @param <T> the type of the entries.
+     * @param k   the number of entries to keep.
+     * @return the Collector, whose result is the entries, largest first.
+     */
+    public static <T> Collector<T, ?, List<T>> collector(int k) {
+        return collector(k, AbstractHeap.naturalOrder());
+    }
+
+    /**
+     * Gets a Collector that keeps the K entries of a Stream that compare greatest
+     * under a Comparator. It works with parallel streams, by merging the TopK of
+     * each part of the stream.
+     *
+     * @param <T>        the type of the entries.
+     * @param k          the number of entries to keep.
+     * @param comparator the order of the entries.
+     * @return the Collector, whose result is the entries, largest first.
+     */
+    public static <T> Collector<T, ?, List<T>> collector(int k, Comparator<? super T> comparator) {
+        BinaryOperator<TopK<T>> combiner = (first, second) -> {
+            first.merge(second);
+            return first;
+        };
+        return Collector.of(() -> new TopK<T>(k, comparator), TopK::offer, combiner, TopK::toList);
+    }
+
+    /**
+     * Gets the K largest values of an int[].
+     *
+     * @param k      the number of values to keep.
+     * @param values the values.
+     * @return the K largest values, largest first.
+     */
+    public static int[] largest(int k, int[] values) {
+        return largest(k, IntStream.of(values));
+    }
+
+    /**
+     * Gets the K largest values of an IntStream. Parallel streams are merged like
+     * the collector method does.
+     *
+     * @param k      the number of values to keep.
+     * @param values the values.
+     * @return the K largest values, largest first.
+     */
+    public static int[] largest(int k, IntStream values) {
+        return values.collect(() -> new IntSelector(k), IntSelector::offer, IntSelector::merge).toArray();
+    }
+
+    /**
+     * Gets the K largest values of a primitive int iterator.
+     *
+     * @param k      the number of values to keep.
+     * @param values the values.
+     * @return the K largest values, largest first.
+     */
+    public static int[] largest(int k, PrimitiveIterator.OfInt values) {
+        IntSelector selector = new IntSelector(k);
+        while (values.hasNext()) {
+            selector.offer(values.nextInt());
+        }
+        return selector.toArray();
+    }
+
+    /**
+     * Gets the K largest values of a long[].
+     *
+     * @param k      the number of values to keep.
+     * @param values the values.
+     * @return the K largest values, largest first.
+     */
+    public static long[] largest(int k, long[] values) {
+        return largest(k, LongStream.of(values));
+    }
+
+    /**
+     * Gets the K largest values of a LongStream. Parallel streams are merged like
+     * the collector method does.
+     *
+     * @param k      the number of values to keep.
+     * @param values the values.
+     * @return the K largest values, largest first.
+     */
+    public static long[] largest(int k, LongStream values) {
+        return values.collect(() -> new LongSelector(k), LongSelector::offer, LongSelector::merge).toArray();
+    }
+
+    /**
+     * Gets the K largest values of a primitive long iterator.
+     *
+     * @param k      the number of values to keep.
+     * @param values the values.
+     * @return the K largest values, largest first.
+     */
+    public static long[] largest(int k, PrimitiveIterator.OfLong values) {
+        LongSelector selector = new LongSelector(k);
+        while (values.hasNext()) {
+            selector.offer(values.nextLong());
+        }
+        return selector.toArray();
+    }
+
+    /**
+     * Keeps the K largest ints in an IntMaxHeap.
+     *
+     * The heap holds the complement (~value) of every value, which reverses their
+     * order without overflowing, so the max of the heap is the smallest value we
+     * kept.
+     */
+    private static class IntSelector {
+
+        /**
+         * The number of values we keep.
+         */
+        private final int k;
+
+        /**
+         * The complements of the values we kept.
+         */
+        private final IntMaxHeap heap;
+
+        /**
+         * Initialize the selector.
+         *
+         * @param k the number of values to keep.
+         */
+        private IntSelector(int k) {
+            if (k < 1)
+                throw new IllegalArgumentException("Attempted to create a TopK with a k (" + k
+                        + ") which is too small");
+            this.k = k;
+            this.heap = new IntMaxHeap(Math.min(k, MAX_INITIAL_CAPACITY));
+        }
+
+        /**
+         * Offers a value.
+         *
+         * @param value the value.
+         */
+        private void offer(int value) {
+            if (heap.getSize() < k) {
+                heap.add(~value);
+            } else if (~value < heap.getMax()) {
+                // The value is larger than the smallest value we kept
+                heap.replaceMax(~value);
+            }
+        }
+
+        /**
+         * Merges the values of another selector into this one, emptying it.
+         *
+         * @param other the other selector.
+         */
+        private void merge(IntSelector other) {
+            while (!other.heap.isEmpty()) {
+                offer(~other.heap.remove());
+            }
+        }
+
+        /**
+         * Gets the values we kept, emptying the selector.
+         *
+         * @return the values, largest first.
+         */
+        private int[] toArray() {
+            // The heap gives the values smallest first, so fill the array from the end
+            int[] values = new int[heap.getSize()];
+            for (int i = values.length - 1; i >= 0; i--) {
+                values[i] = ~heap.remove();
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Keeps the K largest longs in a LongMaxHeap, the same way as IntSelector.
+     */
+    private static class LongSelector {
+
+        /**
+         * The number of values we keep.
+         */
+        private final int k;
+
+        /**
+         * The complements of the values we kept.
+         */
+        private final LongMaxHeap heap;
+
+        /**
+         * Initialize the selector.
+         *
+         * @param k the number of values to keep.
+         */
+        private LongSelector(int k) {
+            if (k < 1)
+                throw new IllegalArgumentException("Attempted to create a TopK with a k (" + k
+                        + ") which is too small");
+            this.k = k;
+            this.heap = new LongMaxHeap(Math.min(k, MAX_INITIAL_CAPACITY));
+        }
+
+        /**
+         * Offers a value.
+         *
+         * @param value the value.
+         */
+        private void offer(long value) {
+            if (heap.getSize() < k) {
+                heap.add(~value);
+            } else if (~value < heap.getMax()) {
+                // The value is larger than the smallest value we kept
+                heap.replaceMax(~value);
+            }
+        }
+
+        /**
+         * Merges the values of another selector into this one, emptying it.
+         *
+         * @param other the other selector.
+         */
+        private void merge(LongSelector other) {
+            while (!other.heap.isEmpty()) {
+                offer(~other.heap.remove());
+            }
+        }
+
+        /**
+         * Gets the values we kept, emptying the selector.
+         *
+         * @return the values, largest first.
+         */
+        private long[] toArray() {
+            // The heap gives the values smallest first, so fill the array from the end
+            long[] values = new long[heap.getSize()];
+            for (int i = values.length - 1; i >= 0; i--) {
+                values[i] = ~heap.remove();
+            }
+            return values;
+        }
+    }
+}